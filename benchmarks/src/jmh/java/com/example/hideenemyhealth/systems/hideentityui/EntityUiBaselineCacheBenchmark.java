@@ -0,0 +1,122 @@
+package com.example.hideenemyhealth.systems.hideentityui;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link EntityUiBaselineCache}: key building, lookups on the apply path and the GC sweep.
+ *
+ * <p>The cache holds {@link #entities} baselines spread over {@link #STORES} worlds (dense entity indexes per
+ * store, 80% NPCs). Lookups cycle through the cached entities; the churn benchmark uses keys of a store that is
+ * never cached, so every put is a miss.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityUiBaselineCacheBenchmark {
+
+    private static final int STORES = 4;
+
+    @Param({"1000", "100000"})
+    public int entities;
+
+    private Ref<EntityStore>[] refs;
+    private long[] keys;
+    private long[] missKeys;
+    private int[][] lists;
+    private LongHashSet aliveInStore0;
+    private int store0;
+    private int cursor;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        EntityUiBaselineCache.clearAll();
+        UiIdFixture.installAssets();
+        lists = UiIdFixture.entityLists(1024, 0.8, 7L);
+
+        final Store<EntityStore>[] stores = new Store[STORES];
+        for (int s = 0; s < STORES; s++) stores[s] = new Store<>();
+        final Store<EntityStore> uncached = new Store<>();
+        store0 = System.identityHashCode(stores[0]);
+
+        refs = new Ref[entities];
+        keys = new long[entities];
+        missKeys = new long[entities];
+        aliveInStore0 = new LongHashSet(entities / STORES * 2);
+        for (int i = 0; i < entities; i++) {
+            final Store<EntityStore> store = stores[i % STORES];
+            refs[i] = new Ref<>(store, i / STORES);
+            keys[i] = EntityUiBaselineCache.entityKey(refs[i]);
+            missKeys[i] = EntityUiBaselineCache.entityKey(new Ref<>(uncached, i));
+
+            final byte kind = (i % 5 == 0) ? EntityUiBaselineCache.KIND_PLAYER : EntityUiBaselineCache.KIND_NPC;
+            EntityUiBaselineCache.putBaselineIfAbsent(keys[i], lists[i & 1023], kind);
+            if (store == stores[0]) aliveInStore0.add(keys[i]);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        EntityUiBaselineCache.clearAll();
+    }
+
+    @Benchmark
+    public long entityKey() {
+        return EntityUiBaselineCache.entityKey(refs[next()]);
+    }
+
+    @Benchmark
+    public int[] getBaseline() {
+        return EntityUiBaselineCache.getBaseline(keys[next()]);
+    }
+
+    @Benchmark
+    public int[] putBaselineIfAbsentHit() {
+        final int i = next();
+        return EntityUiBaselineCache.putBaselineIfAbsent(keys[i], lists[i & 1023], EntityUiBaselineCache.KIND_NPC);
+    }
+
+    @Benchmark
+    public int[] putThenRemoveMiss() {
+        final int i = next();
+        final long key = missKeys[i];
+        final int[] stored = EntityUiBaselineCache.putBaselineIfAbsent(key, lists[i & 1023], EntityUiBaselineCache.KIND_NPC);
+        EntityUiBaselineCache.remove(key);
+        return stored;
+    }
+
+    /**
+     * Steady-state GC sweep of one world: every cached entity of it is alive, so nothing is removed.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int sweepOneStore() {
+        return EntityUiBaselineCache.sweepOrphanedForStore(store0, aliveInStore0,
+                EntityUiBaselineCache.KIND_PLAYER | EntityUiBaselineCache.KIND_NPC);
+    }
+
+    private int next() {
+        final int i = cursor;
+        cursor = (i + 1 == entities) ? 0 : i + 1;
+        return i;
+    }
+}
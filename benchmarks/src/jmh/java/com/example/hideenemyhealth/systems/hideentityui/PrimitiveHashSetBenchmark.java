@@ -0,0 +1,135 @@
+package com.example.hideenemyhealth.systems.hideentityui;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashSet;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The GC pass's primitive sets against boxed {@link HashSet}s: {@link LongHashSet} (alive entity keys) and
+ * {@link IntHashSet} (distinct store ids seen in the scan).
+ *
+ * <p>Keys are real {@link EntityUiBaselineCache#entityKey(Ref)} values: the store hash in the high half and dense
+ * entity indexes in the low half, the pattern a weak mixer handles worst. They are spread over {@link #STORES}
+ * stores. Probes are half hits, half misses. Build / collect benchmarks report time per full scan.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrimitiveHashSetBenchmark {
+
+    private static final int PROBES = 1024;
+    private static final int STORES = 4;
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private long[] entityKeys;
+    private long[] entityProbes;
+
+    private LongHashSet longSet;
+    private HashSet<Long> boxedLongSet;
+
+    private int cursor;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        final SplittableRandom random = new SplittableRandom(11L);
+        final Store<EntityStore>[] stores = new Store[STORES];
+        for (int s = 0; s < STORES; s++) stores[s] = new Store<>();
+
+        entityKeys = new long[size];
+        for (int i = 0; i < size; i++) {
+            entityKeys[i] = EntityUiBaselineCache.entityKey(new Ref<>(stores[i % STORES], i / STORES));
+        }
+        entityProbes = new long[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            final int index = random.nextInt(size * 2);
+            entityProbes[i] = EntityUiBaselineCache.entityKey(new Ref<>(stores[index % STORES], index / STORES));
+        }
+
+        longSet = buildLongSet();
+        boxedLongSet = buildBoxedLongSet();
+    }
+
+    @Benchmark
+    public boolean longSetContains() {
+        return longSet.contains(entityProbes[next()]);
+    }
+
+    @Benchmark
+    public boolean boxedLongSetContains() {
+        return boxedLongSet.contains(entityProbes[next()]);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public LongHashSet longSetBuild() {
+        return buildLongSet();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public HashSet<Long> boxedLongSetBuild() {
+        return buildBoxedLongSet();
+    }
+
+    /**
+     * Distinct store ids of a scan, then one pass over them (what the GC pass does per sweep).
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int intSetCollectStoreIds() {
+        final IntHashSet set = new IntHashSet(8);
+        for (long key : entityKeys) set.add(EntityUiBaselineCache.storeIdFromKey(key));
+        int acc = 0;
+        for (int i = 0; i < set.capacity(); i++) {
+            if (set.isUsedAt(i)) acc ^= set.getValueAt(i);
+        }
+        return acc;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int boxedIntSetCollectStoreIds() {
+        final HashSet<Integer> set = new HashSet<>(8);
+        for (long key : entityKeys) set.add(EntityUiBaselineCache.storeIdFromKey(key));
+        int acc = 0;
+        for (int id : set) acc ^= id;
+        return acc;
+    }
+
+    private LongHashSet buildLongSet() {
+        final LongHashSet set = new LongHashSet(256);
+        for (long key : entityKeys) set.add(key);
+        return set;
+    }
+
+    private HashSet<Long> buildBoxedLongSet() {
+        final HashSet<Long> set = new HashSet<>();
+        for (long key : entityKeys) set.add(key);
+        return set;
+    }
+
+    private int next() {
+        return cursor++ & (PROBES - 1);
+    }
+}
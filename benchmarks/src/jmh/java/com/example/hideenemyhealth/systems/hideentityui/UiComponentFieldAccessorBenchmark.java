@@ -0,0 +1,77 @@
+package com.example.hideenemyhealth.systems.hideentityui;
+
+import com.hypixel.hytale.server.core.modules.entityui.UIComponentList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link UiComponentFieldAccessor}: reflective reads and writes of {@code UIComponentList.componentIds}.
+ *
+ * <p>The stand-in {@link UIComponentList} keeps the IDs in a private field, like the server class, so the
+ * accessor goes through the same {@code Field.get} / {@code Field.set} path.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UiComponentFieldAccessorBenchmark {
+
+    private static final int LISTS = 1024;
+
+    private UIComponentList[] lists;
+    private int[][] ids;
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        UiIdFixture.installAssets();
+        ids = UiIdFixture.entityLists(LISTS, 0.8, 3L);
+        lists = new UIComponentList[LISTS];
+        for (int i = 0; i < LISTS; i++) {
+            lists[i] = new UIComponentList(ids[i]);
+        }
+        if (UiComponentFieldAccessor.getComponentIds(lists[0]) != ids[0]) {
+            throw new IllegalStateException("componentIds accessor did not resolve");
+        }
+    }
+
+    @Benchmark
+    public int[] get() {
+        return UiComponentFieldAccessor.getComponentIds(lists[next()]);
+    }
+
+    @Benchmark
+    public void set() {
+        final int i = next();
+        UiComponentFieldAccessor.setComponentIds(lists[i], ids[i]);
+    }
+
+    /**
+     * One hide apply's field traffic: read, filter, write back.
+     */
+    @Benchmark
+    public int[] getFilterSet() {
+        final UIComponentList list = lists[next()];
+        final int[] current = UiComponentFieldAccessor.getComponentIds(list);
+        final int[] desired = UiComponentListFilterSupport.computeDesiredIds(current, 1);
+        // Write the unfiltered list back so every invocation starts from the same state.
+        UiComponentFieldAccessor.setComponentIds(list, current);
+        return desired;
+    }
+
+    private int next() {
+        return cursor++ & (LISTS - 1);
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.hideenemyhealth.systems.hideentityui;
+
+import com.example.hideenemyhealth.config.CompiledPolicy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntPredicate;
+
+/**
+ * {@link UiComponentListFilterSupport}: the per-apply list rewrite.
+ *
+ * <p>Each call processes the next list of a fixed pool of mixed player / NPC lists ({@link UiIdFixture}), so
+ * branch history does not collapse onto one shape.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UiComponentListFilterBenchmark {
+
+    private static final int LISTS = 1024;
+    private static final IntPredicate COMBAT_TEXT = UiComponentCache::isCombatTextId;
+
+    /** Hide mask: 1 = HP, 2 = combat text, 3 = both. */
+    @Param({"1", "2", "3"})
+    public int hideMask;
+
+    private int[][] current;
+    private int[][] baselines;
+    private int[][] withoutCombatText;
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        UiIdFixture.installAssets();
+        current = UiIdFixture.entityLists(LISTS, 0.8, 42L);
+        baselines = new int[LISTS][];
+        withoutCombatText = new int[LISTS][];
+        for (int i = 0; i < LISTS; i++) {
+            baselines[i] = UiComponentListFilterSupport.buildBaselineFromCurrent(current[i]);
+            // The case appendMissingFromBaseline exists for: combat text not attached (yet) on the live list.
+            withoutCombatText[i] = UiComponentListFilterSupport.computeDesiredIds(
+                    current[i], hideMask | CompiledPolicy.HIDE_COMBAT_TEXT);
+        }
+    }
+
+    @Benchmark
+    public int[] computeDesiredIds() {
+        return UiComponentListFilterSupport.computeDesiredIds(current[next()], hideMask);
+    }
+
+    @Benchmark
+    public int[] appendMissingFromBaseline() {
+        final int i = next();
+        return UiComponentListFilterSupport.appendMissingFromBaseline(withoutCombatText[i], baselines[i], COMBAT_TEXT);
+    }
+
+    @Benchmark
+    public int[] computeThenAppend() {
+        final int i = next();
+        final int[] desired = UiComponentListFilterSupport.computeDesiredIds(current[i], hideMask);
+        if ((hideMask & CompiledPolicy.HIDE_COMBAT_TEXT) != 0) return desired;
+        return UiComponentListFilterSupport.appendMissingFromBaseline(desired, baselines[i], COMBAT_TEXT);
+    }
+
+    private int next() {
+        return cursor++ & (LISTS - 1);
+    }
+}
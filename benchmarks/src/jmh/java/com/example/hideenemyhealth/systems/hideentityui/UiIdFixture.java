@@ -0,0 +1,116 @@
+package com.example.hideenemyhealth.systems.hideentityui;
+
+import com.hypixel.hytale.protocol.EntityUIType;
+import com.hypixel.hytale.server.core.modules.entityui.asset.EntityUIComponent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Overhead UI asset table and entity ID lists shaped like a live server.
+ *
+ * <p>The table has {@link #ASSET_COUNT} components: one health bar, one other stat bar (stamina-like), two
+ * combat text components (damage / heal numbers) and stat bars for other stats. NPC lists carry the health bar,
+ * usually damage numbers and zero to two other bars; player lists carry health, stamina, both combat texts and
+ * up to two more. Lists are generated from a fixed seed, so runs are comparable.</p>
+ */
+final class UiIdFixture {
+
+    static final int ASSET_COUNT = 48;
+
+    static final int HEALTH_BAR = 5;
+    static final int STAMINA_BAR = 6;
+    static final int DAMAGE_TEXT = 12;
+    static final int HEAL_TEXT = 13;
+
+    private static final int HEALTH_STAT_INDEX = 0;
+    private static final int STAMINA_STAT_INDEX = 3;
+
+    private UiIdFixture() {
+    }
+
+    /**
+     * Install the asset table and build {@link UiComponentCache} from it.
+     */
+    static void installAssets() {
+        final List<EntityUIComponent> assets = new ArrayList<>(ASSET_COUNT);
+        for (int i = 0; i < ASSET_COUNT; i++) {
+            if (i == HEALTH_BAR) {
+                assets.add(new EntityUIComponent(EntityUIType.EntityStat, HEALTH_STAT_INDEX));
+            } else if (i == STAMINA_BAR) {
+                assets.add(new EntityUIComponent(EntityUIType.EntityStat, STAMINA_STAT_INDEX));
+            } else if (i == DAMAGE_TEXT || i == HEAL_TEXT) {
+                assets.add(new EntityUIComponent(EntityUIType.CombatText, 0));
+            } else {
+                assets.add(new EntityUIComponent(EntityUIType.EntityStat, 10 + i));
+            }
+        }
+        EntityUIComponent.setAssets(assets);
+        UiComponentCache.resetCache();
+        if (!UiComponentCache.ensureCache()) {
+            throw new IllegalStateException("UI component cache did not build");
+        }
+    }
+
+    /**
+     * @param count     number of lists (power of two, so callers can cycle with a mask)
+     * @param npcShare  fraction of NPC-shaped lists, the rest are player-shaped
+     */
+    static int[][] entityLists(final int count, final double npcShare, final long seed) {
+        final SplittableRandom random = new SplittableRandom(seed);
+        final int[][] out = new int[count][];
+        for (int i = 0; i < count; i++) {
+            out[i] = random.nextDouble() < npcShare ? npcList(random) : playerList(random);
+        }
+        return out;
+    }
+
+    private static int[] npcList(final SplittableRandom random) {
+        final int[] ids = new int[5];
+        int n = 0;
+        ids[n++] = HEALTH_BAR;
+        if (random.nextDouble() < 0.8) ids[n++] = DAMAGE_TEXT;
+        final int extra = random.nextInt(3);
+        for (int i = 0; i < extra; i++) ids[n++] = otherBar(random, ids, n);
+        return shuffle(Arrays.copyOf(ids, n), random);
+    }
+
+    private static int[] playerList(final SplittableRandom random) {
+        final int[] ids = new int[6];
+        int n = 0;
+        ids[n++] = HEALTH_BAR;
+        ids[n++] = STAMINA_BAR;
+        ids[n++] = DAMAGE_TEXT;
+        ids[n++] = HEAL_TEXT;
+        final int extra = random.nextInt(3);
+        for (int i = 0; i < extra; i++) ids[n++] = otherBar(random, ids, n);
+        return shuffle(Arrays.copyOf(ids, n), random);
+    }
+
+    /**
+     * @return a bar that is neither one of the classified IDs nor already in {@code ids[0..n)}
+     */
+    private static int otherBar(final SplittableRandom random, final int[] ids, final int n) {
+        outer:
+        while (true) {
+            final int id = random.nextInt(ASSET_COUNT);
+            if (id == HEALTH_BAR || id == STAMINA_BAR || id == DAMAGE_TEXT || id == HEAL_TEXT) continue;
+            for (int i = 0; i < n; i++) {
+                if (ids[i] == id) continue outer;
+            }
+            return id;
+        }
+    }
+
+    private static int[] shuffle(final int[] ids, final SplittableRandom random) {
+        for (int i = ids.length - 1; i > 0; i--) {
+            final int j = random.nextInt(i + 1);
+            final int t = ids[i];
+            ids[i] = ids[j];
+            ids[j] = t;
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.hideenemyhealth.systems.hidenameplate;
+
+import com.example.hideenemyhealth.util.ComponentCopierFactory;
+import com.hypixel.hytale.server.core.entity.nameplate.Nameplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link NameplateCopySupport#copy(Nameplate)} and the {@link ComponentCopierFactory} strategies behind it.
+ *
+ * <p>The nameplate stand-in implements the ECS clone contract (strategy 1). The two plain classes below only
+ * qualify for the reflective {@code clone()} (strategy 2) and the constructor + field copy (strategy 3), which
+ * is what a server build without a usable {@code clone()} ends up on. {@link PartialClone} has a {@code clone()}
+ * that fails for every other instance: the first failure falls through to the field copy, which then serves
+ * both instances without further failures.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NameplateCopyBenchmark {
+
+    private Nameplate nameplate;
+    private ReflectiveClone reflectiveClone;
+    private FieldCopy fieldCopy;
+    private PartialClone[] partialClones;
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        nameplate = new Nameplate("Steve");
+        reflectiveClone = new ReflectiveClone("Steve", 0xFFFFFF);
+        fieldCopy = new FieldCopy("Steve", 0xFFFFFF, true);
+        partialClones = new PartialClone[]{new PartialClone("Steve"), new PartialClone(null)};
+        if (NameplateCopySupport.copy(nameplate) == nameplate
+                || ComponentCopierFactory.tryCopy(reflectiveClone) == null
+                || ComponentCopierFactory.tryCopy(fieldCopy) == null
+                || ComponentCopierFactory.tryCopy(partialClones[0]) == null
+                || ComponentCopierFactory.tryCopy(partialClones[1]) == null) {
+            throw new IllegalStateException("copy strategy did not resolve");
+        }
+    }
+
+    @Benchmark
+    public Nameplate nameplateCopy() {
+        return NameplateCopySupport.copy(nameplate);
+    }
+
+    @Benchmark
+    public ReflectiveClone reflectiveCloneCopy() {
+        return ComponentCopierFactory.tryCopy(reflectiveClone);
+    }
+
+    @Benchmark
+    public FieldCopy fieldCopy() {
+        return ComponentCopierFactory.tryCopy(fieldCopy);
+    }
+
+    @Benchmark
+    public PartialClone partialCloneFallthroughCopy() {
+        return ComponentCopierFactory.tryCopy(partialClones[cursor++ & 1]);
+    }
+
+    /**
+     * Not an ECS component, but declares {@code clone()}.
+     */
+    public static final class ReflectiveClone implements Cloneable {
+        private final String text;
+        private final int color;
+
+        ReflectiveClone(final String text, final int color) {
+            this.text = text;
+            this.color = color;
+        }
+
+        @Override
+        protected ReflectiveClone clone() {
+            return new ReflectiveClone(text, color);
+        }
+    }
+
+    /**
+     * Neither a component nor cloneable: only the no-arg constructor + field copy applies.
+     */
+    public static final class FieldCopy {
+        private String text;
+        private int color;
+        private boolean visible;
+
+        private FieldCopy() {
+        }
+
+        FieldCopy(final String text, final int color, final boolean visible) {
+            this.text = text;
+            this.color = color;
+            this.visible = visible;
+        }
+    }
+
+    /**
+     * Declares a {@code clone()} that fails without text; the constructor + field copy handles those instances.
+     */
+    public static final class PartialClone implements Cloneable {
+        private String text;
+
+        private PartialClone() {
+        }
+
+        PartialClone(final String text) {
+            this.text = text;
+        }
+
+        @Override
+        protected PartialClone clone() {
+            if (text == null) throw new IllegalStateException("no text");
+            return new PartialClone(text);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.hideenemyhealth.systems.hidenameplate;
+
+import com.example.hideenemyhealth.config.CompiledPolicy;
+import com.example.hideenemyhealth.config.HideEnemyHealthConfig;
+import com.example.hideenemyhealth.config.WorldPolicyIndex;
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.entity.nameplate.Nameplate;
+import com.hypixel.hytale.server.core.universe.Universe;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link HidePlayerNameplateApplier}'s nameplate event path ({@code applyForPlayer} with the event's component).
+ *
+ * <p>{@link #players} players live in one world; each call handles the next player's event. Scenarios:</p>
+ * <ul>
+ *     <li>{@code visible}: nothing hidden anywhere, the common case (early return).</li>
+ *     <li>{@code hidden}: players hidden globally and the server rewrites the nameplate (copy + remove).</li>
+ *     <li>{@code worldOverride}: visible globally, hidden by the players' world override; other worlds are bound
+ *     too, so the store lookup has something to search.</li>
+ * </ul>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayerNameplateEventBenchmark {
+
+    private static final int OTHER_WORLDS = 8;
+
+    @Param({"visible", "hidden", "worldOverride"})
+    public String scenario;
+
+    @Param({"1000"})
+    public int players;
+
+    private Ref<EntityStore>[] refs;
+    private Store<EntityStore> store;
+    private CommandBuffer<EntityStore> buffer;
+    private Nameplate rewritten;
+    private int cursor;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        NameplateBaselineCache.clearAll();
+
+        final HideEnemyHealthConfig cfg = new HideEnemyHealthConfig();
+        cfg.players.hideNameplate = "hidden".equals(scenario);
+        for (int w = 0; w < OTHER_WORLDS; w++) {
+            Universe.get().addWorld(new World("other-" + w));
+            cfg.worlds.put("other-" + w, override(false));
+        }
+        final World arena = new World("arena");
+        Universe.get().addWorld(arena);
+        if ("worldOverride".equals(scenario)) cfg.worlds.put("arena", override(true));
+
+        final CompiledPolicy policy = CompiledPolicy.compile(cfg);
+        WorldPolicyIndex.bind(policy);
+        HideNameplateConfigRegistry.setPolicy(policy);
+
+        store = arena.getEntityStore().getStore();
+        buffer = new CommandBuffer<>();
+        rewritten = new Nameplate("Player");
+        refs = new Ref[players];
+        for (int i = 0; i < players; i++) {
+            refs[i] = new Ref<>(store, i);
+            // First apply: creates the baseline entry (and hides, where the policy says so).
+            HidePlayerNameplateApplier.applyForPlayer(refs[i], store, buffer, rewritten);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        NameplateBaselineCache.clearAll();
+    }
+
+    @Benchmark
+    public boolean nameplateEvent() {
+        return HidePlayerNameplateApplier.applyForPlayer(refs[next()], store, buffer, rewritten);
+    }
+
+    private static HideEnemyHealthConfig.WorldOverride override(final boolean hideNameplate) {
+        final HideEnemyHealthConfig.WorldOverride override = new HideEnemyHealthConfig.WorldOverride();
+        override.players = new HideEnemyHealthConfig.TargetOverride();
+        override.players.hideNameplate = hideNameplate;
+        return override;
+    }
+
+    private int next() {
+        final int i = cursor;
+        cursor = (i + 1 == players) ? 0 : i + 1;
+        return i;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.hideenemyhealth.systems.hideentityui;
+
+import java.util.List;
+
+/**
+ * Benchmark stand-in for the tick budget: the real class reaches the whole ECS applier, and benchmarks only need
+ * what {@code PluginMetrics.snapshot()} reads.
+ */
+public final class TickBudget {
+
+    private TickBudget() {
+    }
+
+    public static List<String> degradedWorlds() {
+        return List.of();
+    }
+}
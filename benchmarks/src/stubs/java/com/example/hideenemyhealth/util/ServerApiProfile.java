@@ -0,0 +1,54 @@
+package com.example.hideenemyhealth.util;
+
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.ComponentType;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.reflect.Method;
+
+/**
+ * Benchmark stand-in for the server API profile: only the reflective {@code removeComponent} lookups, resolved
+ * against the stand-in ECS classes the same way the real profile resolves them against the server's.
+ */
+public final class ServerApiProfile {
+
+    private static final ServerApiProfile INSTANCE = new ServerApiProfile();
+
+    @Nullable
+    private final Method bufferRemoveComponent = find(CommandBuffer.class);
+
+    @Nullable
+    private final Method storeRemoveComponent = find(Store.class);
+
+    private ServerApiProfile() {
+    }
+
+    @Nonnull
+    public static ServerApiProfile get() {
+        return INSTANCE;
+    }
+
+    @Nullable
+    public Method bufferRemoveComponent() {
+        return bufferRemoveComponent;
+    }
+
+    @Nullable
+    public Method storeRemoveComponent() {
+        return storeRemoveComponent;
+    }
+
+    @Nullable
+    private static Method find(@Nonnull final Class<?> host) {
+        try {
+            final Method m = host.getMethod("removeComponent", Ref.class, ComponentType.class);
+            m.setAccessible(true);
+            return m;
+        } catch (Throwable t) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.hideenemyhealth.util;
+
+import com.hypixel.hytale.server.core.universe.world.World;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Benchmark stand-in for the world thread executor: the real class probes the server API through
+ * {@code ServerApiProfile}, which reaches the plugin entry point.
+ */
+public final class WorldThreadExecutor {
+
+    private WorldThreadExecutor() {
+    }
+
+    @Nonnull
+    public static String safeWorldName(@Nonnull final World world) {
+        return world.getName();
+    }
+}
@@ -0,0 +1,23 @@
+package com.hypixel.hytale.assetstore.map;
+
+import java.util.List;
+
+/**
+ * Benchmark stand-in for an index-addressed asset map.
+ */
+public class IndexedLookupTableAssetMap<K, T> {
+
+    private final List<T> assets;
+
+    public IndexedLookupTableAssetMap(final List<T> assets) {
+        this.assets = assets;
+    }
+
+    public int getNextIndex() {
+        return assets.size();
+    }
+
+    public T getAsset(final int index) {
+        return assets.get(index);
+    }
+}
@@ -0,0 +1,24 @@
+package com.hypixel.hytale.component;
+
+/**
+ * Benchmark stand-in for an ECS command buffer: commands are counted and dropped.
+ */
+public class CommandBuffer<ECS_TYPE> {
+
+    private long commands;
+
+    public <T extends Component<ECS_TYPE>> void putComponent(final Ref<ECS_TYPE> ref,
+                                                             final ComponentType<ECS_TYPE, T> type,
+                                                             final T component) {
+        commands++;
+    }
+
+    public <T extends Component<ECS_TYPE>> void removeComponent(final Ref<ECS_TYPE> ref,
+                                                                final ComponentType<ECS_TYPE, T> type) {
+        commands++;
+    }
+
+    public long commands() {
+        return commands;
+    }
+}
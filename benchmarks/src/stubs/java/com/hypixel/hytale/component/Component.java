@@ -0,0 +1,9 @@
+package com.hypixel.hytale.component;
+
+/**
+ * Benchmark stand-in for the ECS component contract.
+ */
+public interface Component<ECS_TYPE> extends Cloneable {
+
+    Component<ECS_TYPE> clone();
+}
@@ -0,0 +1,7 @@
+package com.hypixel.hytale.component;
+
+/**
+ * Benchmark stand-in for a registered component type.
+ */
+public final class ComponentType<ECS_TYPE, T extends Component<ECS_TYPE>> {
+}
@@ -0,0 +1,27 @@
+package com.hypixel.hytale.component;
+
+/**
+ * Benchmark stand-in for an entity reference: a store plus an index.
+ */
+public class Ref<ECS_TYPE> {
+
+    private final Store<ECS_TYPE> store;
+    private final int index;
+
+    public Ref(final Store<ECS_TYPE> store, final int index) {
+        this.store = store;
+        this.index = index;
+    }
+
+    public Store<ECS_TYPE> getStore() {
+        return store;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public boolean isValid() {
+        return true;
+    }
+}
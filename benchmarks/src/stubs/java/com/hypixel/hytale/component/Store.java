@@ -0,0 +1,21 @@
+package com.hypixel.hytale.component;
+
+/**
+ * Benchmark stand-in for an ECS store. Component reads return null and writes are dropped; benchmarks pass the
+ * components they work on directly.
+ */
+public class Store<ECS_TYPE> {
+
+    public <T extends Component<ECS_TYPE>> T getComponent(final Ref<ECS_TYPE> ref, final ComponentType<ECS_TYPE, T> type) {
+        return null;
+    }
+
+    public <T extends Component<ECS_TYPE>> void putComponent(final Ref<ECS_TYPE> ref,
+                                                             final ComponentType<ECS_TYPE, T> type,
+                                                             final T component) {
+    }
+
+    public <T extends Component<ECS_TYPE>> void removeComponent(final Ref<ECS_TYPE> ref,
+                                                                final ComponentType<ECS_TYPE, T> type) {
+    }
+}
@@ -0,0 +1,33 @@
+package com.hypixel.hytale.logger;
+
+import java.util.logging.Level;
+
+/**
+ * Benchmark stand-in for the server logger: accepts every call and prints nothing.
+ */
+public final class HytaleLogger {
+
+    private static final HytaleLogger INSTANCE = new HytaleLogger();
+    private static final Api API = new Api();
+
+    private HytaleLogger() {
+    }
+
+    public static HytaleLogger forEnclosingClass() {
+        return INSTANCE;
+    }
+
+    public Api at(final Level level) {
+        return API;
+    }
+
+    public static final class Api {
+
+        public Api withCause(final Throwable cause) {
+            return this;
+        }
+
+        public void log(final String message, final Object... args) {
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.hypixel.hytale.protocol;
+
+/**
+ * Benchmark stand-in for the overhead UI component packet.
+ */
+public class EntityUIComponent {
+
+    public EntityUIType type;
+    public int entityStatIndex;
+}
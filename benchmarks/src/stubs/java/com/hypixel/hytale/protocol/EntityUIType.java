@@ -0,0 +1,9 @@
+package com.hypixel.hytale.protocol;
+
+/**
+ * Benchmark stand-in for the overhead UI component type.
+ */
+public enum EntityUIType {
+    EntityStat,
+    CombatText
+}
@@ -0,0 +1,22 @@
+package com.hypixel.hytale.server.core.entity.entities;
+
+import com.hypixel.hytale.component.Component;
+import com.hypixel.hytale.component.ComponentType;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+/**
+ * Benchmark stand-in for the player component.
+ */
+public class Player implements Component<EntityStore> {
+
+    private static final ComponentType<EntityStore, Player> TYPE = new ComponentType<>();
+
+    public static ComponentType<EntityStore, Player> getComponentType() {
+        return TYPE;
+    }
+
+    @Override
+    public Player clone() {
+        return new Player();
+    }
+}
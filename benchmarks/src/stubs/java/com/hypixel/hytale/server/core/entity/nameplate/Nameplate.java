@@ -0,0 +1,40 @@
+package com.hypixel.hytale.server.core.entity.nameplate;
+
+import com.hypixel.hytale.component.Component;
+import com.hypixel.hytale.component.ComponentType;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+/**
+ * Benchmark stand-in for the nameplate component.
+ */
+public class Nameplate implements Component<EntityStore> {
+
+    private static final ComponentType<EntityStore, Nameplate> TYPE = new ComponentType<>();
+
+    private String text;
+
+    public Nameplate() {
+        this("");
+    }
+
+    public Nameplate(final String text) {
+        this.text = text;
+    }
+
+    public static ComponentType<EntityStore, Nameplate> getComponentType() {
+        return TYPE;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public void setText(final String text) {
+        this.text = text;
+    }
+
+    @Override
+    public Nameplate clone() {
+        return new Nameplate(text);
+    }
+}
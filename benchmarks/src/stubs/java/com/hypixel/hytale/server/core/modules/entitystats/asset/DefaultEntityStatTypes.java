@@ -0,0 +1,17 @@
+package com.hypixel.hytale.server.core.modules.entitystats.asset;
+
+/**
+ * Benchmark stand-in for the default stat indices.
+ */
+public final class DefaultEntityStatTypes {
+
+    private DefaultEntityStatTypes() {
+    }
+
+    public static void update() {
+    }
+
+    public static int getHealth() {
+        return 0;
+    }
+}
@@ -0,0 +1,33 @@
+package com.hypixel.hytale.server.core.modules.entityui;
+
+import com.hypixel.hytale.component.Component;
+import com.hypixel.hytale.component.ComponentType;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+/**
+ * Benchmark stand-in for the overhead UI component list. Like the server class, the IDs live in a private field
+ * that the plugin reaches through reflection.
+ */
+public class UIComponentList implements Component<EntityStore> {
+
+    private static final ComponentType<EntityStore, UIComponentList> TYPE = new ComponentType<>();
+
+    private int[] componentIds;
+
+    public UIComponentList() {
+        this(new int[0]);
+    }
+
+    public UIComponentList(final int[] componentIds) {
+        this.componentIds = componentIds;
+    }
+
+    public static ComponentType<EntityStore, UIComponentList> getComponentType() {
+        return TYPE;
+    }
+
+    @Override
+    public UIComponentList clone() {
+        return new UIComponentList(componentIds.clone());
+    }
+}
@@ -0,0 +1,35 @@
+package com.hypixel.hytale.server.core.modules.entityui.asset;
+
+import com.hypixel.hytale.assetstore.map.IndexedLookupTableAssetMap;
+import com.hypixel.hytale.protocol.EntityUIType;
+
+import java.util.List;
+
+/**
+ * Benchmark stand-in for the overhead UI component asset. Benchmarks install the asset table with
+ * {@link #setAssets(List)}.
+ */
+public class EntityUIComponent {
+
+    private static volatile IndexedLookupTableAssetMap<String, EntityUIComponent> assetMap;
+
+    private final com.hypixel.hytale.protocol.EntityUIComponent packet;
+
+    public EntityUIComponent(final EntityUIType type, final int entityStatIndex) {
+        packet = new com.hypixel.hytale.protocol.EntityUIComponent();
+        packet.type = type;
+        packet.entityStatIndex = entityStatIndex;
+    }
+
+    public static IndexedLookupTableAssetMap<String, EntityUIComponent> getAssetMap() {
+        return assetMap;
+    }
+
+    public static void setAssets(final List<EntityUIComponent> assets) {
+        assetMap = new IndexedLookupTableAssetMap<>(assets);
+    }
+
+    public com.hypixel.hytale.protocol.EntityUIComponent toPacket() {
+        return packet;
+    }
+}
@@ -0,0 +1,31 @@
+package com.hypixel.hytale.server.core.universe;
+
+import com.hypixel.hytale.server.core.universe.world.World;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Benchmark stand-in for the universe. Benchmarks register the worlds they need with {@link #addWorld(World)}.
+ */
+public final class Universe {
+
+    private static final Universe INSTANCE = new Universe();
+
+    private final Map<String, World> worlds = new ConcurrentHashMap<>();
+
+    private Universe() {
+    }
+
+    public static Universe get() {
+        return INSTANCE;
+    }
+
+    public Map<String, World> getWorlds() {
+        return worlds;
+    }
+
+    public void addWorld(final World world) {
+        worlds.put(world.getName(), world);
+    }
+}
@@ -0,0 +1,24 @@
+package com.hypixel.hytale.server.core.universe.world;
+
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+/**
+ * Benchmark stand-in for a world.
+ */
+public class World {
+
+    private final String name;
+    private final EntityStore entityStore = new EntityStore();
+
+    public World(final String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public EntityStore getEntityStore() {
+        return entityStore;
+    }
+}
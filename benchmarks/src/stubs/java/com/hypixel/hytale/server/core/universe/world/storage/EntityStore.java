@@ -0,0 +1,15 @@
+package com.hypixel.hytale.server.core.universe.world.storage;
+
+import com.hypixel.hytale.component.Store;
+
+/**
+ * Benchmark stand-in for a world's entity store.
+ */
+public class EntityStore {
+
+    private final Store<EntityStore> store = new Store<>();
+
+    public Store<EntityStore> getStore() {
+        return store;
+    }
+}
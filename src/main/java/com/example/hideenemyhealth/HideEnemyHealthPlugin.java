@@ -1,18 +1,43 @@
 package com.example.hideenemyhealth;
 
 import com.example.hideenemyhealth.commands.HideEnemyHealthPluginCommand;
+import com.example.hideenemyhealth.config.CompiledPolicy;
+import com.example.hideenemyhealth.config.ConfigFileWatcher;
 import com.example.hideenemyhealth.config.ConfigManager;
+import com.example.hideenemyhealth.config.ConfigPersister;
 import com.example.hideenemyhealth.config.HideEnemyHealthConfig;
+import com.example.hideenemyhealth.config.WorldPolicyIndex;
+import com.example.hideenemyhealth.metrics.BandwidthEstimator;
+import com.example.hideenemyhealth.metrics.CacheSizeLog;
+import com.example.hideenemyhealth.metrics.PluginMetrics;
+import com.example.hideenemyhealth.metrics.PrometheusExporter;
+import com.example.hideenemyhealth.metrics.WorldEntityCounts;
+import com.example.hideenemyhealth.metrics.jfr.ConfigReloadEvent;
+import com.example.hideenemyhealth.systems.CombatRevealDamageSystem;
+import com.example.hideenemyhealth.systems.CombatRevealTickSystem;
+import com.example.hideenemyhealth.systems.HideEntityUiRegionSystem;
 import com.example.hideenemyhealth.systems.HideEntityUiSystem;
+import com.example.hideenemyhealth.systems.HideNpcNameplateChangeSystem;
+import com.example.hideenemyhealth.systems.HideNpcNameplateSystem;
 import com.example.hideenemyhealth.systems.HidePlayerNameplateChangeSystem;
+import com.example.hideenemyhealth.systems.HidePlayerNameplateProximitySystem;
 import com.example.hideenemyhealth.systems.HidePlayerNameplateSystem;
+import com.example.hideenemyhealth.systems.TickBudgetSystem;
 import com.example.hideenemyhealth.systems.hideentityui.EntityUiBaselineCache;
+import com.example.hideenemyhealth.systems.hideentityui.RegionTransitionTracker;
+import com.example.hideenemyhealth.systems.hideentityui.TickBudget;
 import com.example.hideenemyhealth.systems.hideentityui.UiComponentCache;
+import com.example.hideenemyhealth.ui.DashboardStatsTicker;
+import com.example.hideenemyhealth.util.ServerApiProfile;
+import com.example.hideenemyhealth.util.WorldThreadExecutor;
 import com.example.hideenemyhealth.worldmap.PlayerMapMarkerController;
 import com.hypixel.hytale.event.EventRegistry;
 import com.hypixel.hytale.logger.HytaleLogger;
 import com.hypixel.hytale.server.core.plugin.JavaPlugin;
 import com.hypixel.hytale.server.core.plugin.JavaPluginInit;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.events.AddWorldEvent;
+import com.hypixel.hytale.server.core.universe.world.events.RemoveWorldEvent;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -21,6 +46,7 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 
 /**
@@ -48,8 +74,16 @@ public final class HideEnemyHealthPlugin extends JavaPlugin {
     /** Canonical config path for this plugin. */
     private final File configFile = new File("mods/ServerHideSettings/config.json");
 
+    /** Write-behind persistence: coalesces rapid edits into one background write. */
+    private final ConfigPersister configPersister =
+            new ConfigPersister(configManager, configFile, this::getConfig, 250L);
+
+    /** Current config snapshot. Treated as read-only once published; edits go through {@link #updateConfig}. */
     @Nullable
-    private HideEnemyHealthConfig config;
+    private volatile HideEnemyHealthConfig config;
+
+    /** Compiled form of {@link #config}, published to ECS systems. */
+    private volatile CompiledPolicy policy = CompiledPolicy.DEFAULTS;
 
     @Nullable
     private ScheduledExecutorService backgroundScheduler;
@@ -57,6 +91,12 @@ public final class HideEnemyHealthPlugin extends JavaPlugin {
     @Nullable
     private ScheduledFuture<?> baselineGcFuture;
 
+    @Nullable
+    private PrometheusExporter metricsExporter;
+
+    @Nullable
+    private ConfigFileWatcher configWatcher;
+
     /**
      * Standard Hytale plugin constructor.
      */
@@ -76,26 +116,60 @@ public final class HideEnemyHealthPlugin extends JavaPlugin {
     }
 
     /**
-     * @return current in-memory config. If not loaded yet, returns normalized defaults.
+     * @return current in-memory config snapshot (do not mutate; use {@link #updateConfig}).
+     *         If not loaded yet, returns normalized defaults.
      */
     @Nonnull
     public HideEnemyHealthConfig getConfig() {
-        if (config == null) {
-            final HideEnemyHealthConfig cfg = new HideEnemyHealthConfig();
+        HideEnemyHealthConfig cfg = config;
+        if (cfg == null) {
+            cfg = new HideEnemyHealthConfig();
             cfg.normalize();
             config = cfg;
         }
-        return config;
+        return cfg;
+    }
+
+    /**
+     * @return compiled policy for the current config
+     */
+    @Nonnull
+    public CompiledPolicy getPolicy() {
+        return policy;
     }
 
     /**
-     * Persist the current config to disk.
+     * Copy-on-write config edit: copy the current snapshot, apply {@code editor} to the copy, then normalize,
+     * publish and persist it. The previously published snapshot is never mutated.
+     *
+     * @return the newly published config
+     */
+    @Nonnull
+    public synchronized HideEnemyHealthConfig updateConfig(@Nonnull final Consumer<HideEnemyHealthConfig> editor) {
+        final HideEnemyHealthConfig next = getConfig().copy();
+        editor.accept(next);
+        next.normalize();
+        publishConfig(next);
+        saveConfig();
+        return next;
+    }
+
+    /**
+     * Request the current config to be persisted. The write happens shortly after on a background thread;
+     * repeated requests within the coalescing window produce a single write.
      */
     public void saveConfig() {
-        final HideEnemyHealthConfig cfg = config;
-        if (cfg == null) return;
-        cfg.normalize();
-        configManager.save(configFile, cfg);
+        if (config == null) return;
+        configPersister.request();
+    }
+
+    /**
+     * Persist the current config synchronously and fsync it (shutdown / explicit flush).
+     */
+    public void flushConfig() {
+        if (config == null) return;
+        configPersister.request();
+        configPersister.flush(true);
     }
 
     /**
@@ -118,18 +192,87 @@ public final class HideEnemyHealthPlugin extends JavaPlugin {
      * Reload config from disk and publish it to ECS systems and world-map marker controller.
      */
     public void reloadConfig() {
-        config = loadConfig();
-        HideEntityUiSystem.setConfig(config);
-        HidePlayerNameplateSystem.setConfig(config);
+        final ConfigReloadEvent jfr = new ConfigReloadEvent();
+        jfr.begin();
+        final CompiledPolicy previous = policy;
+        publishConfig(loadConfig());
 
         // Apply map marker settings to loaded worlds.
         try {
-            PlayerMapMarkerController.applyToAllLoadedWorlds(config);
+            PlayerMapMarkerController.applyToAllLoadedWorlds(policy);
         } catch (Throwable ignored) {
         }
 
         // Background jobs are config-driven (debug.baselineGc.enabled etc.).
         restartBackgroundJobs();
+
+        // Hot reload watcher settings may have changed as well.
+        restartConfigWatcher();
+        jfr.finish("reload", policy.diff(previous));
+    }
+
+    /**
+     * Apply a config re-read by the hot reload watcher.
+     *
+     * <p>Unlike {@link #reloadConfig()} this only triggers the refresh passes whose compiled settings actually
+     * changed. Saving the file without effective changes publishes the new snapshot and does no world work.</p>
+     */
+    private void applyReloadedConfig(@Nonnull final HideEnemyHealthConfig cfg) {
+        final ConfigReloadEvent jfr = new ConfigReloadEvent();
+        jfr.begin();
+        final int changed;
+        synchronized (this) {
+            final CompiledPolicy previous = policy;
+            publishConfig(cfg);
+            changed = policy.diff(previous);
+        }
+
+        if (changed == 0) {
+            LOGGER.at(Level.FINE).log("%s Config file changed (no effective changes)", LOG_PREFIX);
+            jfr.finish("watcher", 0);
+            return;
+        }
+
+        LOGGER.at(Level.INFO).log("%s Config reloaded from disk (changed=0x%s)", LOG_PREFIX, Integer.toHexString(changed));
+
+        if ((changed & CompiledPolicy.CHANGED_PLAYERS_UI) != 0) {
+            HideEntityUiSystem.refreshLoadedPlayers();
+        }
+        if ((changed & CompiledPolicy.CHANGED_NPCS_UI) != 0) {
+            HideEntityUiSystem.refreshLoadedNpcs();
+        }
+        if ((changed & CompiledPolicy.CHANGED_NAMEPLATES) != 0) {
+            HidePlayerNameplateSystem.refreshLoadedPlayers();
+        }
+        if ((changed & CompiledPolicy.CHANGED_MAP) != 0) {
+            try {
+                PlayerMapMarkerController.applyToAllLoadedWorlds(policy);
+            } catch (Throwable ignored) {
+            }
+        }
+        if ((changed & CompiledPolicy.CHANGED_BACKGROUND) != 0) {
+            restartBackgroundJobs();
+        }
+        if ((changed & CompiledPolicy.CHANGED_HOT_RELOAD) != 0) {
+            restartConfigWatcher();
+        }
+        jfr.finish("watcher", changed);
+    }
+
+    /**
+     * Compile a (normalized) config snapshot and publish it to ECS systems atomically.
+     */
+    private synchronized void publishConfig(@Nonnull final HideEnemyHealthConfig cfg) {
+        final CompiledPolicy compiled = CompiledPolicy.compile(cfg);
+        // Bind per-world overrides to stores before publishing; the binding travels with the policy, so a reader
+        // never pairs one policy with another's overrides.
+        WorldPolicyIndex.bind(compiled);
+        config = cfg;
+        policy = compiled;
+        HideEntityUiSystem.setPolicy(compiled);
+        HidePlayerNameplateSystem.setPolicy(compiled);
+        PluginMetrics.setSampleRate(compiled.latencySampleRate);
+        TickBudget.configure(compiled.tickBudgetNanos, compiled.tickBudgetDrainPerTick);
     }
 
     /**
@@ -140,6 +283,9 @@ public final class HideEnemyHealthPlugin extends JavaPlugin {
         instance = this;
         LOGGER.at(Level.INFO).log("%s Setting up...", LOG_PREFIX);
 
+        // Server API capabilities: probe once so hot paths only read the resolved dispatch table.
+        ServerApiProfile.get().logReport();
+
         // Config
         reloadConfig();
 
@@ -160,7 +306,7 @@ public final class HideEnemyHealthPlugin extends JavaPlugin {
 
         // Apply map marker settings to already loaded worlds
         try {
-            PlayerMapMarkerController.applyToAllLoadedWorlds(getConfig());
+            PlayerMapMarkerController.applyToAllLoadedWorlds(policy);
         } catch (Throwable ignored) {
         }
 
@@ -185,12 +331,16 @@ public final class HideEnemyHealthPlugin extends JavaPlugin {
 
         // Stop background jobs early to avoid work during teardown.
         stopBackgroundJobs();
+        stopConfigWatcher();
+        DashboardStatsTicker.shutdown();
 
-        // Best-effort save.
+        // Best-effort save (synchronous + fsync; drains any pending write-behind request).
         try {
-            saveConfig();
+            flushConfig();
         } catch (Throwable t) {
             LOGGER.at(Level.WARNING).withCause(t).log("%s Failed to persist config on shutdown", LOG_PREFIX);
+        } finally {
+            configPersister.close();
         }
 
         // Best-effort restore map marker providers (avoid leaving overrides on hot reload).
@@ -210,6 +360,9 @@ public final class HideEnemyHealthPlugin extends JavaPlugin {
             EntityUiBaselineCache.clearAll();
             com.example.hideenemyhealth.systems.hidenameplate.NameplateBaselineCache.clearAll();
             UiComponentCache.resetCache();
+            WorldEntityCounts.clearAll();
+            TickBudget.clearAll();
+            BandwidthEstimator.clearAll();
         } catch (Throwable ignored) {
         }
 
@@ -222,12 +375,16 @@ public final class HideEnemyHealthPlugin extends JavaPlugin {
     private synchronized void restartBackgroundJobs() {
         stopBackgroundJobs();
 
-        final HideEnemyHealthConfig cfg = getConfig();
-        if (cfg.debug == null || cfg.debug.baselineGc == null || !cfg.debug.baselineGc.enabled) {
-            return;
+        final CompiledPolicy current = policy;
+        if (current.metricsExportMode == CompiledPolicy.EXPORT_HTTP) {
+            // Served on its own virtual threads; needs no scheduler.
+            metricsExporter = PrometheusExporter.startHttp(current.metricsExportPort);
         }
 
-        final int intervalSeconds = cfg.debug.baselineGc.intervalSeconds;
+        final boolean exportFile = current.metricsExportMode == CompiledPolicy.EXPORT_FILE;
+        if (!current.baselineGcEnabled && !exportFile) {
+            return;
+        }
 
         backgroundScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
             final Thread t = new Thread(r, "ServerHideSettings-Background");
@@ -235,6 +392,22 @@ public final class HideEnemyHealthPlugin extends JavaPlugin {
             return t;
         });
 
+        if (exportFile) {
+            final File metricsFile = new File(configFile.getParentFile(), "metrics.prom");
+            metricsExporter = PrometheusExporter.startFile(
+                    backgroundScheduler, metricsFile.toPath(), current.metricsExportIntervalSeconds);
+        }
+
+        if (!current.baselineGcEnabled) {
+            return;
+        }
+
+        final int intervalSeconds = current.baselineGcIntervalSeconds;
+
+        if (current.baselineGcCsv) {
+            CacheSizeLog.start(backgroundScheduler, new File(configFile.getParentFile(), "cache-sizes.csv").toPath());
+        }
+
         baselineGcFuture = backgroundScheduler.scheduleAtFixedRate(() -> {
             try {
                 HideEntityUiSystem.gcBaselineCache();
@@ -250,6 +423,16 @@ public final class HideEnemyHealthPlugin extends JavaPlugin {
      * Stop background jobs and shutdown their executor (if any).
      */
     private synchronized void stopBackgroundJobs() {
+        CacheSizeLog.stop();
+
+        if (metricsExporter != null) {
+            try {
+                metricsExporter.stop();
+            } catch (Throwable ignored) {
+            }
+            metricsExporter = null;
+        }
+
         if (baselineGcFuture != null) {
             try {
                 baselineGcFuture.cancel(false);
@@ -267,6 +450,36 @@ public final class HideEnemyHealthPlugin extends JavaPlugin {
         }
     }
 
+    /**
+     * Start/stop the config file watcher depending on the active config.
+     */
+    private synchronized void restartConfigWatcher() {
+        stopConfigWatcher();
+
+        final CompiledPolicy current = policy;
+        if (!current.hotReloadEnabled) {
+            return;
+        }
+
+        final ConfigFileWatcher watcher = new ConfigFileWatcher(
+                configFile, configManager, this::applyReloadedConfig, current.hotReloadDebounceMillis);
+        watcher.start();
+        configWatcher = watcher;
+    }
+
+    /**
+     * Stop the config file watcher (if any).
+     */
+    private synchronized void stopConfigWatcher() {
+        if (configWatcher != null) {
+            try {
+                configWatcher.stop();
+            } catch (Throwable ignored) {
+            }
+            configWatcher = null;
+        }
+    }
+
     /**
      * Register ECS systems.
      */
@@ -281,12 +494,33 @@ public final class HideEnemyHealthPlugin extends JavaPlugin {
             getEntityStoreRegistry().registerSystem(new HideEntityUiSystem(HideEntityUiSystem.Target.ALL));
             LOGGER.at(Level.INFO).log("%s Registered HideEntityUiSystem (ALL)", LOG_PREFIX);
 
+            getEntityStoreRegistry().registerSystem(new HideEntityUiRegionSystem());
+            LOGGER.at(Level.INFO).log("%s Registered HideEntityUiRegionSystem", LOG_PREFIX);
+
             getEntityStoreRegistry().registerSystem(new HidePlayerNameplateSystem());
             getEntityStoreRegistry().registerSystem(new HidePlayerNameplateChangeSystem());
+            getEntityStoreRegistry().registerSystem(new HidePlayerNameplateProximitySystem());
             LOGGER.at(Level.INFO).log("%s Registered HidePlayerNameplate systems", LOG_PREFIX);
+
+            getEntityStoreRegistry().registerSystem(new HideNpcNameplateSystem());
+            getEntityStoreRegistry().registerSystem(new HideNpcNameplateChangeSystem());
+            LOGGER.at(Level.INFO).log("%s Registered HideNpcNameplate systems", LOG_PREFIX);
+
+            getEntityStoreRegistry().registerSystem(new TickBudgetSystem());
+            LOGGER.at(Level.INFO).log("%s Registered TickBudgetSystem", LOG_PREFIX);
         } catch (Throwable t) {
             LOGGER.at(Level.WARNING).withCause(t).log("%s Failed to register ECS systems", LOG_PREFIX);
         }
+
+        // Combat reveal depends on the damage module; keep it separate so a missing module does not take the
+        // core systems down with it.
+        try {
+            getEntityStoreRegistry().registerSystem(new CombatRevealDamageSystem());
+            getEntityStoreRegistry().registerSystem(new CombatRevealTickSystem());
+            LOGGER.at(Level.INFO).log("%s Registered CombatReveal systems", LOG_PREFIX);
+        } catch (Throwable t) {
+            LOGGER.at(Level.WARNING).withCause(t).log("%s Failed to register combat reveal systems", LOG_PREFIX);
+        }
     }
 
     /**
@@ -307,6 +541,28 @@ public final class HideEnemyHealthPlugin extends JavaPlugin {
     private void registerListeners() {
         final EventRegistry eventBus = getEventRegistry();
         try {
+            // World hooks: keep per-world policy bindings in sync with loaded worlds.
+            eventBus.registerGlobal(AddWorldEvent.class, event -> {
+                try {
+                    final World world = event.getWorld();
+                    WorldPolicyIndex.bindWorld(world);
+                    // The world's store may only become available once the world thread runs; bind again there.
+                    WorldThreadExecutor.runQuiet(world, () -> WorldPolicyIndex.bindWorld(world));
+                } catch (Throwable ignored) {
+                }
+            });
+            eventBus.registerGlobal(RemoveWorldEvent.class, event -> {
+                try {
+                    WorldPolicyIndex.unbindWorld(event.getWorld());
+                    WorldEntityCounts.forget(event.getWorld());
+                    TickBudget.forget(event.getWorld());
+                    RegionTransitionTracker.forget(event.getWorld());
+                    BandwidthEstimator.forget(event.getWorld());
+                    HideEntityUiSystem.forgetWorldBaselines(event.getWorld());
+                } catch (Throwable ignored) {
+                }
+            });
+
             // World hooks: apply player map-marker settings for new worlds.
             PlayerMapMarkerController.register(eventBus);
             LOGGER.at(Level.FINE).log("%s Listeners registered", LOG_PREFIX);
@@ -36,5 +36,6 @@ public class HelpSubCommand extends CommandBase {
         commandContext.sendMessage(Message.raw("  /hid info - show current settings"));
         commandContext.sendMessage(Message.raw("  /hid ui - open the settings dashboard (admin, permission: " + HideEnemyHealthPlugin.ADMIN_PERMISSION + ")"));
         commandContext.sendMessage(Message.raw("  /hid reload - reload config from disk (admin)"));
+        commandContext.sendMessage(Message.raw("  /hid stats - show performance stats (admin)"));
     }
 }
@@ -10,6 +10,7 @@ import com.hypixel.hytale.server.core.command.system.basecommands.AbstractComman
  *   <li>/hid help</li>
  *   <li>/hid info</li>
  *   <li>/hid reload</li>
+ *   <li>/hid stats</li>
  *   <li>/hid ui</li>
  * </ul>
  * </p>
@@ -25,6 +26,7 @@ public class HideEnemyHealthPluginCommand extends AbstractCommandCollection {
         this.addSubCommand(new HelpSubCommand());
         this.addSubCommand(new InfoSubCommand());
         this.addSubCommand(new ReloadSubCommand());
+        this.addSubCommand(new StatsSubCommand());
         this.addSubCommand(new UISubCommand());
     }
 
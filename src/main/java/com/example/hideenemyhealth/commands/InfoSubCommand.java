@@ -2,6 +2,7 @@ package com.example.hideenemyhealth.commands;
 
 import com.example.hideenemyhealth.HideEnemyHealthPlugin;
 import com.example.hideenemyhealth.config.HideEnemyHealthConfig;
+import com.example.hideenemyhealth.util.ServerApiProfile;
 import com.hypixel.hytale.server.core.Message;
 import com.hypixel.hytale.server.core.command.system.CommandContext;
 import com.hypixel.hytale.server.core.command.system.basecommands.CommandBase;
@@ -42,8 +43,25 @@ public class InfoSubCommand extends CommandBase {
         commandContext.sendMessage(Message.raw("  players.hideOverheadUI: " + playersHide));
         commandContext.sendMessage(Message.raw("  players.hideNameplates: " + cfg.getPlayers().hideNameplate));
         commandContext.sendMessage(Message.raw("  npcs.hideOverheadUI: " + npcsHide));
+        commandContext.sendMessage(Message.raw("  npcs.hideNameplates: " + cfg.getNpcs().hideNameplate));
+        if (cfg.nameplateProximity != null) {
+            commandContext.sendMessage(Message.raw("  nameplateProximity: " + cfg.nameplateProximity.enabled
+                    + " (" + cfg.nameplateProximity.blocks + " blocks)"));
+        }
         commandContext.sendMessage(Message.raw("  map.hidePlayerMarkers: " + cfg.getMap().hidePlayerMarkers));
+        commandContext.sendMessage(Message.raw("  map.markerRadiusChunks: " + cfg.getMap().markerRadiusChunks));
+        commandContext.sendMessage(Message.raw("  map.markerMinMoveBlocks: " + cfg.getMap().markerMinMoveBlocks
+                + " (max interval " + cfg.getMap().markerMaxIntervalMillis + " ms)"));
+        commandContext.sendMessage(Message.raw("  map.teams: "
+                + (cfg.getMap().teams != null ? cfg.getMap().teams.size() : 0)));
+        commandContext.sendMessage(Message.raw("  npc role rules: " + (cfg.npcRoles != null ? cfg.npcRoles.size() : 0)));
+        commandContext.sendMessage(Message.raw("  world overrides: "
+                + (cfg.worlds != null && !cfg.worlds.isEmpty() ? String.join(", ", cfg.worlds.keySet()) : "none")));
         commandContext.sendMessage(Message.raw("  admin permission: " + HideEnemyHealthPlugin.ADMIN_PERMISSION));
         commandContext.sendMessage(Message.raw("  open UI: /hid ui"));
+        commandContext.sendMessage(Message.raw("  server API:"));
+        for (String line : ServerApiProfile.get().describe()) {
+            commandContext.sendMessage(Message.raw("    " + line));
+        }
     }
 }
@@ -0,0 +1,47 @@
+package com.example.hideenemyhealth.commands;
+
+import com.example.hideenemyhealth.HideEnemyHealthPlugin;
+import com.example.hideenemyhealth.metrics.PluginMetrics;
+import com.example.hideenemyhealth.metrics.StatsFormat;
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.basecommands.CommandBase;
+import org.checkerframework.checker.nullness.compatqual.NonNullDecl;
+
+/**
+ * /hid stats - print plugin metrics (admin). Reads the metrics snapshot only; no world is scanned.
+ */
+public class StatsSubCommand extends CommandBase {
+
+    /**
+     * Create the stats subcommand.
+     */
+    public StatsSubCommand() {
+        super("stats", "Show plugin performance stats (admin)");
+        this.setPermissionGroup(null);
+    }
+
+    /**
+     * No auto-generated permission node.
+     */
+    @Override
+    protected boolean canGeneratePermission() {
+        return false;
+    }
+
+    /**
+     * Print the current metrics snapshot (runs synchronously).
+     */
+    @Override
+    protected void executeSync(@NonNullDecl CommandContext commandContext) {
+        if (!(commandContext.sender().hasPermission(HideEnemyHealthPlugin.ADMIN_PERMISSION))) {
+            commandContext.sendMessage(Message.raw("No permission: " + HideEnemyHealthPlugin.ADMIN_PERMISSION));
+            return;
+        }
+
+        commandContext.sendMessage(Message.raw(HideEnemyHealthPlugin.DISPLAY_NAME + " stats:"));
+        for (String line : StatsFormat.describe(PluginMetrics.snapshot())) {
+            commandContext.sendMessage(Message.raw("  " + line));
+        }
+    }
+}
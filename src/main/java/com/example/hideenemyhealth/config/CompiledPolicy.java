@@ -0,0 +1,457 @@
+package com.example.hideenemyhealth.config;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, hot-path friendly snapshot of {@link HideEnemyHealthConfig}.
+ *
+ * <p>The mutable config object is what we persist and what admins edit. ECS callbacks and refresh passes never
+ * read it directly; instead the plugin compiles it into a {@code CompiledPolicy} and publishes the reference
+ * atomically. Readers load one reference and then only touch final primitive fields.</p>
+ *
+ * <p>The global {@code enabled} switch is folded into every derived flag and mask, so hot paths do not need
+ * to check it separately.</p>
+ *
+ * <p>Per-world overrides compile into child policies ({@link #forWorld(String)}). Hot paths do not look them up
+ * by name; {@link WorldPolicyIndex} binds them to world stores by identity. That binding lives on the global
+ * policy itself (the only field that changes after publication, as worlds load and unload), so a reader always
+ * pairs a policy with its own overrides.</p>
+ */
+public final class CompiledPolicy {
+
+    /** UI hide mask bit: {@code EntityStat(Health)} components (HP bar). */
+    public static final int HIDE_HEALTH = 1;
+
+    /** UI hide mask bit: {@code CombatText} components (damage/heal numbers). */
+    public static final int HIDE_COMBAT_TEXT = 2;
+
+    /** Diff bit: player overhead UI settings changed. */
+    public static final int CHANGED_PLAYERS_UI = 1;
+
+    /** Diff bit: NPC overhead UI settings changed. */
+    public static final int CHANGED_NPCS_UI = 2;
+
+    /** Diff bit: player nameplate settings changed. */
+    public static final int CHANGED_NAMEPLATES = 4;
+
+    /** Diff bit: map marker settings changed. */
+    public static final int CHANGED_MAP = 8;
+
+    /** Metrics export mode: disabled. */
+    public static final int EXPORT_OFF = 0;
+
+    /** Metrics export mode: periodically written {@code metrics.prom} file. */
+    public static final int EXPORT_FILE = 1;
+
+    /** Metrics export mode: loopback HTTP endpoint. */
+    public static final int EXPORT_HTTP = 2;
+
+    /** Diff bit: background job settings changed (baseline GC, metrics export). */
+    public static final int CHANGED_BACKGROUND = 16;
+
+    /** Diff bit: config hot reload settings changed. */
+    public static final int CHANGED_HOT_RELOAD = 32;
+
+    /** Diff bit: settings without world-side effects changed (e.g. debug logging). */
+    public static final int CHANGED_OTHER = 64;
+
+    /** Policy compiled from a default config (used before the plugin publishes the real one). */
+    public static final CompiledPolicy DEFAULTS = compile(defaultConfig());
+
+    /** Global on/off switch (as configured). */
+    public final boolean enabled;
+
+    /** Overhead UI hide mask for players ({@link #HIDE_HEALTH} / {@link #HIDE_COMBAT_TEXT}). */
+    public final int playerUiMask;
+
+    /** Overhead UI hide mask for NPCs ({@link #HIDE_HEALTH} / {@link #HIDE_COMBAT_TEXT}). */
+    public final int npcUiMask;
+
+    /** NPC role rules (null if there are none or the plugin is disabled). Shared by all world policies. */
+    @Nullable
+    public final NpcRoleRules npcRoleRules;
+
+    /** Regions of this world (only on per-world policies; null if the world has none). */
+    @Nullable
+    public final RegionIndex regions;
+
+    /** True if either target (or any NPC role rule / region) hides some overhead UI. */
+    public final boolean anyUiHidden;
+
+    /** Effective "hide player nameplates" flag. */
+    public final boolean hidePlayerNameplates;
+
+    /** Effective "hide NPC nameplates" flag. */
+    public final boolean hideNpcNameplates;
+
+    /** Proximity nameplates: cell size in blocks (0 = off; player nameplates are always shown unless hidden). */
+    public final int nameplateProximityBlocks;
+
+    /** Effective "hide player map markers" flag. */
+    public final boolean hidePlayerMarkers;
+
+    /** Player marker radius in chunks (0 = server view radius). */
+    public final int markerRadiusChunks;
+
+    /** Marker throttling: significant move distance in blocks (0 = throttling off). */
+    public final double markerMinMoveBlocks;
+
+    /** Marker throttling: maximum time between republishes (milliseconds). */
+    public final int markerMaxIntervalMillis;
+
+    /**
+     * Marker teams (null if none are configured or the plugin is disabled). While markers are hidden, teammates
+     * still see each other. Shared by all world policies.
+     */
+    @Nullable
+    public final MarkerTeams markerTeams;
+
+    /** Combat reveal enabled (HP bars shown temporarily after damage). */
+    public final boolean combatRevealEnabled;
+
+    /** Combat reveal duration (milliseconds). */
+    public final long combatRevealMillis;
+
+    /** Per-tick callback budget (nanoseconds, 0 = off). */
+    public final long tickBudgetNanos;
+
+    /** Deferred entities re-applied per tick while the budget is on. */
+    public final int tickBudgetDrainPerTick;
+
+    /** Config file hot reload enabled. */
+    public final boolean hotReloadEnabled;
+
+    /** Config file hot reload debounce window (milliseconds, already clamped). */
+    public final int hotReloadDebounceMillis;
+
+    /** Debug: log per-pass refresh stats. */
+    public final boolean logRefreshStats;
+
+    /** Debug: apply latency sample rate (0 = off, N = about one apply in N). */
+    public final int latencySampleRate;
+
+    /** Metrics export mode ({@link #EXPORT_OFF} / {@link #EXPORT_FILE} / {@link #EXPORT_HTTP}). */
+    public final int metricsExportMode;
+
+    /** Metrics export: file rewrite interval (seconds, already clamped). */
+    public final int metricsExportIntervalSeconds;
+
+    /** Metrics export: loopback HTTP port. */
+    public final int metricsExportPort;
+
+    /** Debug: periodic baseline cache GC. */
+    public final boolean baselineGcEnabled;
+
+    /** Debug: baseline GC interval (seconds, already clamped). */
+    public final int baselineGcIntervalSeconds;
+
+    /** Debug: append cache sizes to a CSV after every baseline GC sweep. */
+    public final boolean baselineGcCsv;
+
+    /** World this policy was compiled for, or null for the global policy. */
+    @Nullable
+    public final String worldName;
+
+    /** Per-world child policies (only populated on the global policy). */
+    @Nonnull
+    private final Map<String, CompiledPolicy> worldPolicies;
+
+    /**
+     * World store -> override policy (only populated on the global policy). Maintained by
+     * {@link WorldPolicyIndex}; the map is replaced, never mutated.
+     */
+    @Nonnull
+    volatile Map<Object, CompiledPolicy> storeOverrides = Map.of();
+
+    private CompiledPolicy(final boolean enabled,
+                           final int playerUiMask,
+                           final int npcUiMask,
+                           @Nullable final NpcRoleRules npcRoleRules,
+                           @Nullable final RegionIndex regions,
+                           final boolean hidePlayerNameplates,
+                           final boolean hideNpcNameplates,
+                           final int nameplateProximityBlocks,
+                           final boolean hidePlayerMarkers,
+                           final int markerRadiusChunks,
+                           final double markerMinMoveBlocks,
+                           final int markerMaxIntervalMillis,
+                           @Nullable final MarkerTeams markerTeams,
+                           final boolean combatRevealEnabled,
+                           final long combatRevealMillis,
+                           final long tickBudgetNanos,
+                           final int tickBudgetDrainPerTick,
+                           final boolean hotReloadEnabled,
+                           final int hotReloadDebounceMillis,
+                           final boolean logRefreshStats,
+                           final int latencySampleRate,
+                           final int metricsExportMode,
+                           final int metricsExportIntervalSeconds,
+                           final int metricsExportPort,
+                           final boolean baselineGcEnabled,
+                           final int baselineGcIntervalSeconds,
+                           final boolean baselineGcCsv,
+                           @Nullable final String worldName,
+                           @Nonnull final Map<String, CompiledPolicy> worldPolicies) {
+        this.enabled = enabled;
+        this.playerUiMask = playerUiMask;
+        this.npcUiMask = npcUiMask;
+        this.npcRoleRules = npcRoleRules;
+        this.regions = regions;
+        this.anyUiHidden = (playerUiMask | npcUiMask) != 0
+                || (npcRoleRules != null && npcRoleRules.anyHides())
+                || (regions != null && regions.anyUiHidden());
+        this.hidePlayerNameplates = hidePlayerNameplates;
+        this.hideNpcNameplates = hideNpcNameplates;
+        this.nameplateProximityBlocks = nameplateProximityBlocks;
+        this.hidePlayerMarkers = hidePlayerMarkers;
+        this.markerRadiusChunks = markerRadiusChunks;
+        this.markerMinMoveBlocks = markerMinMoveBlocks;
+        this.markerMaxIntervalMillis = markerMaxIntervalMillis;
+        this.markerTeams = markerTeams;
+        this.combatRevealEnabled = combatRevealEnabled;
+        this.combatRevealMillis = combatRevealMillis;
+        this.tickBudgetNanos = tickBudgetNanos;
+        this.tickBudgetDrainPerTick = tickBudgetDrainPerTick;
+        this.hotReloadEnabled = hotReloadEnabled;
+        this.hotReloadDebounceMillis = hotReloadDebounceMillis;
+        this.logRefreshStats = logRefreshStats;
+        this.latencySampleRate = latencySampleRate;
+        this.metricsExportMode = metricsExportMode;
+        this.metricsExportIntervalSeconds = metricsExportIntervalSeconds;
+        this.metricsExportPort = metricsExportPort;
+        this.baselineGcEnabled = baselineGcEnabled;
+        this.baselineGcIntervalSeconds = baselineGcIntervalSeconds;
+        this.baselineGcCsv = baselineGcCsv;
+        this.worldName = worldName;
+        this.worldPolicies = worldPolicies;
+    }
+
+    /**
+     * Compile a config into an immutable policy. The config is only read (never normalized or mutated here).
+     *
+     * @param cfg source config (expected to be normalized by the caller)
+     * @return compiled policy
+     */
+    @Nonnull
+    public static CompiledPolicy compile(@Nonnull final HideEnemyHealthConfig cfg) {
+        final NpcRoleRules rules = cfg.enabled ? NpcRoleRules.compile(cfg.npcRoles) : null;
+        final MarkerTeams teams = cfg.enabled && cfg.map != null ? MarkerTeams.compile(cfg.map.teams) : null;
+
+        Map<String, CompiledPolicy> children = Collections.emptyMap();
+        if (cfg.worlds != null && !cfg.worlds.isEmpty()) {
+            children = new HashMap<>();
+            for (Map.Entry<String, HideEnemyHealthConfig.WorldOverride> e : cfg.worlds.entrySet()) {
+                final String name = e.getKey();
+                final HideEnemyHealthConfig effective = cfg.effectiveForWorld(name);
+                if (effective == null) continue;
+
+                RegionIndex regions = null;
+                final List<HideEnemyHealthConfig.RegionSettings> regionSettings = e.getValue().regions;
+                if (regionSettings != null && !regionSettings.isEmpty()) {
+                    final CompiledPolicy[] regionPolicies = new CompiledPolicy[regionSettings.size()];
+                    for (int i = 0; i < regionPolicies.length; i++) {
+                        final HideEnemyHealthConfig regionCfg = cfg.effectiveForWorld(name, regionSettings.get(i));
+                        regionPolicies[i] = compile(regionCfg != null ? regionCfg : effective,
+                                rules, teams, name, Collections.emptyMap(), null);
+                    }
+                    regions = RegionIndex.build(regionSettings, regionPolicies);
+                }
+
+                children.put(name, compile(effective, rules, teams, name, Collections.emptyMap(), regions));
+            }
+            children = Collections.unmodifiableMap(children);
+        }
+        return compile(cfg, rules, teams, null, children, null);
+    }
+
+    @Nonnull
+    private static CompiledPolicy compile(@Nonnull final HideEnemyHealthConfig cfg,
+                                          @Nullable final NpcRoleRules rules,
+                                          @Nullable final MarkerTeams teams,
+                                          @Nullable final String worldName,
+                                          @Nonnull final Map<String, CompiledPolicy> worldPolicies,
+                                          @Nullable final RegionIndex regions) {
+        final boolean enabled = cfg.enabled;
+
+        final HideEnemyHealthConfig.TargetSettings players = cfg.players;
+        final HideEnemyHealthConfig.TargetSettings npcs = cfg.npcs;
+        final HideEnemyHealthConfig.MapSettings map = cfg.map;
+        final HideEnemyHealthConfig.CombatRevealSettings reveal = cfg.combatReveal;
+        final HideEnemyHealthConfig.NameplateProximitySettings proximity = cfg.nameplateProximity;
+        final HideEnemyHealthConfig.TickBudgetSettings budget = cfg.tickBudget;
+        final HideEnemyHealthConfig.HotReloadSettings hotReload = cfg.hotReload;
+        final HideEnemyHealthConfig.MetricsExportSettings export = cfg.metricsExport;
+        final HideEnemyHealthConfig.DebugSettings debug = cfg.debug;
+        final HideEnemyHealthConfig.BaselineGcSettings gc = debug != null ? debug.baselineGc : null;
+
+        return new CompiledPolicy(
+                enabled,
+                enabled ? uiMask(players) : 0,
+                enabled ? uiMask(npcs) : 0,
+                rules,
+                regions,
+                enabled && players != null && players.hideNameplate,
+                enabled && npcs != null && npcs.hideNameplate,
+                enabled && proximity != null && proximity.enabled ? proximity.blocks : 0,
+                enabled && map != null && map.hidePlayerMarkers,
+                enabled && map != null ? map.markerRadiusChunks : 0,
+                enabled && map != null ? map.markerMinMoveBlocks : 0d,
+                map != null ? map.markerMaxIntervalMillis : 1000,
+                teams,
+                enabled && reveal != null && reveal.enabled,
+                (reveal != null ? reveal.seconds : 5) * 1000L,
+                budget != null && budget.enabled ? budget.micros * 1000L : 0L,
+                budget != null ? budget.drainPerTick : 32,
+                hotReload == null || hotReload.enabled,
+                hotReload != null ? hotReload.debounceMillis : 500,
+                debug != null && debug.logRefreshStats,
+                debug != null ? debug.latencySampleRate : 0,
+                exportMode(export),
+                export != null ? export.intervalSeconds : 15,
+                export != null ? export.port : 9465,
+                gc != null && gc.enabled,
+                gc != null ? gc.intervalSeconds : 300,
+                gc != null && gc.csv,
+                worldName,
+                worldPolicies
+        );
+    }
+
+    /**
+     * Resolve the effective policy for a world by name (not for hot paths; see {@link WorldPolicyIndex}).
+     *
+     * @return the world's override policy, or this policy if the world has no override
+     */
+    @Nonnull
+    public CompiledPolicy forWorld(@Nullable final String name) {
+        if (name == null || worldPolicies.isEmpty()) return this;
+        final CompiledPolicy p = worldPolicies.get(name);
+        return p != null ? p : this;
+    }
+
+    /**
+     * Resolve the policy for a region of this world.
+     *
+     * @param regionId id from {@link RegionIndex#regionAt(double, double, double)} (0 = outside)
+     * @return region policy, or this policy
+     */
+    @Nonnull
+    public CompiledPolicy forRegion(final int regionId) {
+        final RegionIndex r = regions;
+        return r != null ? r.policy(regionId, this) : this;
+    }
+
+    /**
+     * @return number of per-world overrides compiled into this policy
+     */
+    public int worldOverrideCount() {
+        return worldPolicies.size();
+    }
+
+    /**
+     * Structural diff against a previously active policy.
+     *
+     * @param previous policy that was active before this one
+     * @return bitmask of {@code CHANGED_*} flags (0 if nothing changed)
+     */
+    public int diff(@Nonnull final CompiledPolicy previous) {
+        int changed = 0;
+        changed |= diffEffective(previous);
+
+        // World overrides: any world whose effective settings changed (or that gained/lost an override).
+        if (!worldPolicies.isEmpty() || !previous.worldPolicies.isEmpty()) {
+            for (Map.Entry<String, CompiledPolicy> e : worldPolicies.entrySet()) {
+                changed |= e.getValue().diffEffective(previous.forWorld(e.getKey()));
+            }
+            for (String name : previous.worldPolicies.keySet()) {
+                if (!worldPolicies.containsKey(name)) {
+                    changed |= this.diffEffective(previous.forWorld(name));
+                }
+            }
+        }
+
+        if (baselineGcEnabled != previous.baselineGcEnabled
+                || baselineGcIntervalSeconds != previous.baselineGcIntervalSeconds
+                || baselineGcCsv != previous.baselineGcCsv
+                || metricsExportMode != previous.metricsExportMode
+                || metricsExportIntervalSeconds != previous.metricsExportIntervalSeconds
+                || metricsExportPort != previous.metricsExportPort) {
+            changed |= CHANGED_BACKGROUND;
+        }
+        if (hotReloadEnabled != previous.hotReloadEnabled
+                || hotReloadDebounceMillis != previous.hotReloadDebounceMillis) {
+            changed |= CHANGED_HOT_RELOAD;
+        }
+        if (enabled != previous.enabled || logRefreshStats != previous.logRefreshStats
+                || latencySampleRate != previous.latencySampleRate
+                || tickBudgetNanos != previous.tickBudgetNanos
+                || tickBudgetDrainPerTick != previous.tickBudgetDrainPerTick
+                || combatRevealEnabled != previous.combatRevealEnabled
+                || combatRevealMillis != previous.combatRevealMillis) {
+            changed |= CHANGED_OTHER;
+        }
+        return changed;
+    }
+
+    /**
+     * Diff of the world-visible settings only.
+     */
+    private int diffEffective(@Nonnull final CompiledPolicy previous) {
+        int changed = 0;
+        if (playerUiMask != previous.playerUiMask) changed |= CHANGED_PLAYERS_UI;
+        if (npcUiMask != previous.npcUiMask
+                || !NpcRoleRules.sameRules(npcRoleRules, previous.npcRoleRules)) {
+            changed |= CHANGED_NPCS_UI;
+        }
+        if (hidePlayerNameplates != previous.hidePlayerNameplates
+                || hideNpcNameplates != previous.hideNpcNameplates
+                || nameplateProximityBlocks != previous.nameplateProximityBlocks) {
+            changed |= CHANGED_NAMEPLATES;
+        }
+        if (hidePlayerMarkers != previous.hidePlayerMarkers
+                || markerRadiusChunks != previous.markerRadiusChunks
+                || markerMinMoveBlocks != previous.markerMinMoveBlocks
+                || markerMaxIntervalMillis != previous.markerMaxIntervalMillis
+                || !MarkerTeams.sameTeams(markerTeams, previous.markerTeams)) {
+            changed |= CHANGED_MAP;
+        }
+        if (!RegionIndex.sameRegions(regions, previous.regions)) changed |= CHANGED_PLAYERS_UI | CHANGED_NPCS_UI;
+        return changed;
+    }
+
+    /**
+     * @return overhead UI hide mask for a target category
+     */
+    public int uiMask(final boolean isPlayer, final boolean isNpc) {
+        return isPlayer ? playerUiMask : (isNpc ? npcUiMask : 0);
+    }
+
+    private static int uiMask(final HideEnemyHealthConfig.TargetSettings settings) {
+        if (settings == null) return 0;
+        int mask = 0;
+        if (settings.hideHealthBar) mask |= HIDE_HEALTH;
+        if (settings.hideDamageNumbers) mask |= HIDE_COMBAT_TEXT;
+        return mask;
+    }
+
+    private static int exportMode(@Nullable final HideEnemyHealthConfig.MetricsExportSettings settings) {
+        if (settings == null || settings.mode == null) return EXPORT_OFF;
+        return switch (settings.mode) {
+            case "file" -> EXPORT_FILE;
+            case "http" -> EXPORT_HTTP;
+            default -> EXPORT_OFF;
+        };
+    }
+
+    @Nonnull
+    private static HideEnemyHealthConfig defaultConfig() {
+        final HideEnemyHealthConfig cfg = new HideEnemyHealthConfig();
+        cfg.normalize();
+        return cfg;
+    }
+}
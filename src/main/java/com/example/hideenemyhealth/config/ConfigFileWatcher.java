@@ -0,0 +1,169 @@
+package com.example.hideenemyhealth.config;
+
+import com.hypixel.hytale.logger.HytaleLogger;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+/**
+ * Background watcher for {@code config.json}.
+ *
+ * <p>We watch the parent directory (WatchService cannot watch single files) and filter events by file name.
+ * Editors and our own atomic save produce several events per logical write (temp file, move, modify), so after the
+ * first relevant event we keep draining events until the directory has been quiet for the debounce window, then
+ * re-read the file once.</p>
+ *
+ * <p>Parsing happens on the watcher thread. Only a successfully parsed config is handed to the callback; malformed
+ * or half-written files are ignored (see {@link ConfigManager#tryLoad(java.io.File)}).</p>
+ */
+public final class ConfigFileWatcher {
+
+    private static final HytaleLogger LOGGER = HytaleLogger.forEnclosingClass();
+
+    @Nonnull
+    private final java.io.File file;
+
+    @Nonnull
+    private final ConfigManager configManager;
+
+    @Nonnull
+    private final Consumer<HideEnemyHealthConfig> onChange;
+
+    private final long debounceMillis;
+
+    private volatile boolean running;
+    private volatile WatchService service;
+    private volatile Thread thread;
+
+    /**
+     * @param file           config file to watch
+     * @param configManager  manager used to re-read the file
+     * @param onChange       callback receiving a freshly parsed, normalized config (runs on the watcher thread)
+     * @param debounceMillis quiet period before re-reading
+     */
+    public ConfigFileWatcher(@Nonnull final java.io.File file,
+                             @Nonnull final ConfigManager configManager,
+                             @Nonnull final Consumer<HideEnemyHealthConfig> onChange,
+                             final long debounceMillis) {
+        this.file = file;
+        this.configManager = configManager;
+        this.onChange = onChange;
+        this.debounceMillis = Math.max(1L, debounceMillis);
+    }
+
+    /**
+     * Start watching. Safe to call once; failures are logged and leave the watcher stopped.
+     */
+    public synchronized void start() {
+        if (running) return;
+
+        final Path dir = file.toPath().toAbsolutePath().getParent();
+        if (dir == null) return;
+
+        try {
+            final WatchService ws = FileSystems.getDefault().newWatchService();
+            dir.register(ws,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+            service = ws;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.at(Level.WARNING).withCause(e)
+                    .log("[ServerHideSettings] Config hot reload unavailable (cannot watch %s)", dir);
+            return;
+        }
+
+        running = true;
+        final Thread t = new Thread(this::loop, "ServerHideSettings-ConfigWatcher");
+        t.setDaemon(true);
+        thread = t;
+        t.start();
+    }
+
+    /**
+     * Stop watching. May be called from the watcher thread itself (e.g. from the change callback).
+     */
+    public synchronized void stop() {
+        running = false;
+
+        final WatchService ws = service;
+        service = null;
+        if (ws != null) {
+            try {
+                ws.close();
+            } catch (IOException ignored) {
+            }
+        }
+
+        final Thread t = thread;
+        thread = null;
+        if (t != null && t != Thread.currentThread()) {
+            t.interrupt();
+        }
+    }
+
+    private void loop() {
+        final WatchService ws = service;
+        if (ws == null) return;
+
+        final String fileName = file.getName();
+
+        try {
+            while (running) {
+                final WatchKey key = ws.take();
+                if (!drain(key, fileName)) continue;
+
+                // Debounce: wait until no further events arrive for the whole window.
+                while (running) {
+                    final WatchKey next = ws.poll(debounceMillis, TimeUnit.MILLISECONDS);
+                    if (next == null) break;
+                    drain(next, fileName);
+                }
+                if (!running) break;
+
+                final HideEnemyHealthConfig cfg = configManager.tryLoad(file);
+                if (cfg == null) continue;
+
+                try {
+                    onChange.accept(cfg);
+                } catch (Throwable t) {
+                    LOGGER.at(Level.WARNING).withCause(t).log("[ServerHideSettings] Failed to apply reloaded config");
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException ignored) {
+            // Stopped.
+        } catch (Throwable t) {
+            LOGGER.at(Level.WARNING).withCause(t).log("[ServerHideSettings] Config watcher stopped unexpectedly");
+        }
+    }
+
+    /**
+     * Consume all events of a key and re-arm it.
+     *
+     * @return true if any event refers to the watched file name
+     */
+    private static boolean drain(@Nonnull final WatchKey key, @Nonnull final String fileName) {
+        boolean relevant = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                relevant = true;
+                continue;
+            }
+            final Object ctx = event.context();
+            if (ctx instanceof Path p && fileName.equals(p.getFileName().toString())) {
+                relevant = true;
+            }
+        }
+        key.reset();
+        return relevant;
+    }
+}
@@ -6,14 +6,17 @@ import com.google.gson.JsonSyntaxException;
 import com.hypixel.hytale.logger.HytaleLogger;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.io.Reader;
-import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
 import java.util.logging.Level;
 
 /**
@@ -31,6 +34,13 @@ public final class ConfigManager {
             .disableHtmlEscaping()
             .create();
 
+    /**
+     * Content hash of the last file we wrote ourselves (0 = none yet). Lets the hot reload watcher tell our own
+     * saves apart from external edits without parsing the file. Cleared once an external edit is loaded: from then
+     * on the active config no longer matches our last write, so reverting the file to it is a real change.
+     */
+    private volatile int lastWrittenHash;
+
     /**
      * Load config from disk, or create a default config if the file doesn't exist.
      *
@@ -74,6 +84,46 @@ public final class ConfigManager {
         }
     }
 
+    /**
+     * Re-read a config file after an external change.
+     *
+     * <p>Unlike {@link #loadOrCreate(java.io.File)} this never creates or resets the file: a half-written or
+     * malformed file is left alone and null is returned, so the caller keeps the active config.</p>
+     *
+     * @param filePath config file path
+     * @return parsed and normalized config, or null if the file is missing, malformed, or identical to our last write
+     */
+    @Nullable
+    public HideEnemyHealthConfig tryLoad(@Nonnull final java.io.File filePath) {
+        final Path path = filePath.toPath();
+
+        try {
+            if (!Files.exists(path)) return null;
+
+            final byte[] bytes = Files.readAllBytes(path);
+            if (lastWrittenHash != 0 && Arrays.hashCode(bytes) == lastWrittenHash) {
+                // Our own save (dashboard toggle / command): the active config already matches.
+                return null;
+            }
+
+            final HideEnemyHealthConfig cfg = gson.fromJson(new String(bytes, StandardCharsets.UTF_8), HideEnemyHealthConfig.class);
+            if (cfg == null) return null;
+            cfg.normalize();
+            lastWrittenHash = 0;
+            return cfg;
+
+        } catch (JsonSyntaxException jse) {
+            LOGGER.at(Level.WARNING)
+                    .log("[ServerHideSettings] Ignoring malformed config edit (keeping active config): %s", jse.getMessage());
+            return null;
+
+        } catch (Exception e) {
+            LOGGER.at(Level.WARNING).withCause(e)
+                    .log("[ServerHideSettings] Failed to re-read config: %s", path.toAbsolutePath());
+            return null;
+        }
+    }
+
     /**
      * Save config to disk using an atomic write pattern:
      * write to a temp file and then move into place.
@@ -82,6 +132,18 @@ public final class ConfigManager {
      * @param cfg      config to persist
      */
     public void save(@Nonnull final java.io.File filePath, @Nonnull final HideEnemyHealthConfig cfg) {
+        save(filePath, cfg, false);
+    }
+
+    /**
+     * Save config to disk using an atomic write pattern, optionally forcing the data to stable storage.
+     *
+     * @param filePath config file path
+     * @param cfg      config to persist
+     * @param fsync    fsync the temp file before the move (used for shutdown / explicit flush only)
+     * @return true if the file was written, false if the save failed (logged)
+     */
+    public boolean save(@Nonnull final java.io.File filePath, @Nonnull final HideEnemyHealthConfig cfg, final boolean fsync) {
         final Path path = filePath.toPath();
 
         try {
@@ -89,15 +151,22 @@ public final class ConfigManager {
 
             final Path tmp = path.resolveSibling(path.getFileName().toString() + ".tmp");
 
-            try (Writer w = Files.newBufferedWriter(
+            final byte[] bytes = gson.toJson(cfg).getBytes(StandardCharsets.UTF_8);
+            try (FileChannel ch = FileChannel.open(
                     tmp,
-                    StandardCharsets.UTF_8,
                     StandardOpenOption.CREATE,
                     StandardOpenOption.TRUNCATE_EXISTING,
                     StandardOpenOption.WRITE
             )) {
-                gson.toJson(cfg, w);
+                final ByteBuffer buf = ByteBuffer.wrap(bytes);
+                while (buf.hasRemaining()) {
+                    ch.write(buf);
+                }
+                if (fsync) {
+                    ch.force(true);
+                }
             }
+            lastWrittenHash = Arrays.hashCode(bytes);
 
             try {
                 Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
@@ -105,10 +174,12 @@ public final class ConfigManager {
                 // Some file systems don't support atomic moves (e.g., cross-device or certain mounts).
                 Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING);
             }
+            return true;
 
         } catch (Exception e) {
             LOGGER.at(Level.WARNING).withCause(e)
                     .log("[ServerHideSettings] Failed to save config: %s", path.toAbsolutePath());
+            return false;
         }
     }
 }
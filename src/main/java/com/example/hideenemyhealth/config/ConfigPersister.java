@@ -0,0 +1,113 @@
+package com.example.hideenemyhealth.config;
+
+import com.hypixel.hytale.logger.HytaleLogger;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+
+/**
+ * Write-behind persistence for the plugin config.
+ *
+ * <p>{@link #request()} only marks the config dirty and schedules one write after a short coalescing window, so a
+ * burst of dashboard toggles results in a single write of the latest snapshot. Writes run on a virtual thread and
+ * are not fsynced; {@link #flush(boolean)} writes synchronously (optionally with fsync) and is used on shutdown.</p>
+ */
+public final class ConfigPersister {
+
+    private static final HytaleLogger LOGGER = HytaleLogger.forEnclosingClass();
+
+    @Nonnull
+    private final ConfigManager configManager;
+
+    @Nonnull
+    private final java.io.File file;
+
+    @Nonnull
+    private final Supplier<HideEnemyHealthConfig> source;
+
+    private final long coalesceMillis;
+
+    /** True while a write is scheduled but has not started yet. */
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+    /** True if the published config may differ from what is on disk. */
+    private final AtomicBoolean dirty = new AtomicBoolean(false);
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofVirtual().name("ServerHideSettings-ConfigWriter").factory());
+
+    /**
+     * @param configManager  manager doing the actual (atomic) write
+     * @param file           config file path
+     * @param source         supplier of the latest published config snapshot
+     * @param coalesceMillis window in which repeated requests collapse into one write
+     */
+    public ConfigPersister(@Nonnull final ConfigManager configManager,
+                           @Nonnull final java.io.File file,
+                           @Nonnull final Supplier<HideEnemyHealthConfig> source,
+                           final long coalesceMillis) {
+        this.configManager = configManager;
+        this.file = file;
+        this.source = source;
+        this.coalesceMillis = Math.max(0L, coalesceMillis);
+    }
+
+    /**
+     * Mark the config dirty and schedule a background write (no-op if one is already pending).
+     */
+    public void request() {
+        dirty.set(true);
+        if (!scheduled.compareAndSet(false, true)) return;
+
+        try {
+            executor.schedule(this::writeScheduled, coalesceMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Closed (shutdown in progress): the final flush will persist it.
+            scheduled.set(false);
+        }
+    }
+
+    /**
+     * Write the latest snapshot now on the calling thread if anything is pending.
+     *
+     * @param fsync force file contents to stable storage
+     */
+    public void flush(final boolean fsync) {
+        write(fsync);
+    }
+
+    /**
+     * Stop the background writer. Pending requests are not written; call {@link #flush(boolean)} first.
+     */
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private void writeScheduled() {
+        // Clear before writing: requests arriving during the write schedule a follow-up write.
+        scheduled.set(false);
+        write(false);
+    }
+
+    private synchronized void write(final boolean fsync) {
+        // Cleared up front so requests arriving during the write mark it dirty again.
+        if (!dirty.getAndSet(false)) return;
+
+        boolean saved = false;
+        try {
+            saved = configManager.save(file, source.get(), fsync);
+        } catch (Throwable t) {
+            LOGGER.at(Level.WARNING).withCause(t).log("[ServerHideSettings] Failed to persist config");
+        }
+        if (!saved) {
+            // Keep it pending: the next request or the shutdown flush retries.
+            dirty.set(true);
+        }
+    }
+}
@@ -3,6 +3,13 @@ package com.example.hideenemyhealth.config;
 import com.google.gson.annotations.SerializedName;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 /**
  * Runtime configuration for HideEnemyHealth.
@@ -23,10 +30,51 @@ public class HideEnemyHealthConfig {
     @SerializedName("npcs")
     public TargetSettings npcs = TargetSettings.defaultsForNpcs();
 
+    /**
+     * NPC role rules (first match wins). Matching NPCs use the rule's values instead of {@link #npcs};
+     * NPCs without a matching rule keep using {@link #npcs}.
+     */
+    @SerializedName("npcRoles")
+    public List<NpcRoleRule> npcRoles = new ArrayList<>();
+
+    /**
+     * Combat reveal: temporarily show hidden HP bars on entities that take or deal damage.
+     */
+    @SerializedName("combatReveal")
+    public CombatRevealSettings combatReveal = new CombatRevealSettings();
+
+    /**
+     * Proximity nameplates: player nameplates are only shown while another player is nearby.
+     */
+    @SerializedName("nameplateProximity")
+    public NameplateProximitySettings nameplateProximity = new NameplateProximitySettings();
+
     /** World map / minimap related settings. */
     @SerializedName("map")
     public MapSettings map = new MapSettings();
 
+    /**
+     * Per-world overrides keyed by world name. Unset values inherit the global settings above.
+     */
+    @SerializedName("worlds")
+    public Map<String, WorldOverride> worlds = new LinkedHashMap<>();
+
+    /**
+     * Per-tick overhead budget for the plugin's ECS callbacks (off by default).
+     */
+    @SerializedName("tickBudget")
+    public TickBudgetSettings tickBudget = new TickBudgetSettings();
+
+    /**
+     * Optional Prometheus metrics export (off by default).
+     */
+    @SerializedName("metricsExport")
+    public MetricsExportSettings metricsExport = new MetricsExportSettings();
+
+    /** Config file hot reload (watches config.json for external edits). */
+    @SerializedName("hotReload")
+    public HotReloadSettings hotReload = new HotReloadSettings();
+
     /** Optional debug / maintenance settings (disabled by default). */
     @SerializedName("debug")
     public DebugSettings debug = new DebugSettings();
@@ -58,6 +106,44 @@ public class HideEnemyHealthConfig {
         return map;
     }
 
+    /**
+     * Deep copy of this config.
+     *
+     * <p>Published configs are treated as read-only snapshots. Editors (dashboard, reload) copy, mutate the copy,
+     * and then publish it, so world threads never observe a half-applied change.</p>
+     */
+    @Nonnull
+    public HideEnemyHealthConfig copy() {
+        final HideEnemyHealthConfig out = new HideEnemyHealthConfig();
+        out.enabled = enabled;
+        out.players = players != null ? players.copy() : null;
+        out.npcs = npcs != null ? npcs.copy() : null;
+        out.map = map != null ? map.copy() : null;
+        if (npcRoles != null) {
+            out.npcRoles = new ArrayList<>(npcRoles.size());
+            for (NpcRoleRule rule : npcRoles) {
+                out.npcRoles.add(rule != null ? rule.copy() : null);
+            }
+        } else {
+            out.npcRoles = null;
+        }
+        if (worlds != null) {
+            out.worlds = new LinkedHashMap<>();
+            for (Map.Entry<String, WorldOverride> e : worlds.entrySet()) {
+                out.worlds.put(e.getKey(), e.getValue() != null ? e.getValue().copy() : null);
+            }
+        } else {
+            out.worlds = null;
+        }
+        out.combatReveal = combatReveal != null ? combatReveal.copy() : null;
+        out.nameplateProximity = nameplateProximity != null ? nameplateProximity.copy() : null;
+        out.tickBudget = tickBudget != null ? tickBudget.copy() : null;
+        out.metricsExport = metricsExport != null ? metricsExport.copy() : null;
+        out.hotReload = hotReload != null ? hotReload.copy() : null;
+        out.debug = debug != null ? debug.copy() : null;
+        return out;
+    }
+
     /**
      * Normalize config after load: ensure nested objects are never null.
      */
@@ -65,6 +151,7 @@ public class HideEnemyHealthConfig {
         if (players == null) players = TargetSettings.defaultsForPlayers();
         if (npcs == null) npcs = TargetSettings.defaultsForNpcs();
         if (map == null) map = new MapSettings();
+        map.normalize();
 
         // Current client/server builds can treat overhead HP bars and combat text as a single UI layer.
         // To avoid misleading configurations (e.g., hide HP but keep damage), we normalize both flags
@@ -78,10 +165,496 @@ public class HideEnemyHealthConfig {
         npcs.hideHealthBar = npcsHide;
         npcs.hideDamageNumbers = npcsHide;
 
+        if (npcRoles == null) npcRoles = new ArrayList<>();
+        npcRoles.removeIf(rule -> rule == null || rule.role == null || rule.role.isBlank());
+        for (NpcRoleRule rule : npcRoles) {
+            rule.normalize();
+        }
+
+        if (worlds == null) worlds = new LinkedHashMap<>();
+        final Iterator<Map.Entry<String, WorldOverride>> it = worlds.entrySet().iterator();
+        while (it.hasNext()) {
+            final Map.Entry<String, WorldOverride> e = it.next();
+            if (e.getKey() == null || e.getKey().isBlank() || e.getValue() == null) {
+                it.remove();
+                continue;
+            }
+            e.getValue().normalize();
+        }
+
+        if (combatReveal == null) combatReveal = new CombatRevealSettings();
+        combatReveal.normalize();
+
+        if (nameplateProximity == null) nameplateProximity = new NameplateProximitySettings();
+        nameplateProximity.normalize();
+
+        if (tickBudget == null) tickBudget = new TickBudgetSettings();
+        tickBudget.normalize();
+
+        if (metricsExport == null) metricsExport = new MetricsExportSettings();
+        metricsExport.normalize();
+
+        if (hotReload == null) hotReload = new HotReloadSettings();
+        hotReload.normalize();
+
         if (debug == null) debug = new DebugSettings();
         debug.normalize();
     }
 
+    /**
+     * Build the effective config for one world: a copy of this config with the world's override applied.
+     *
+     * @return effective config (without nested world overrides), or null if no override exists for the world
+     */
+    @Nullable
+    public HideEnemyHealthConfig effectiveForWorld(@Nonnull final String worldName) {
+        return effectiveForWorld(worldName, null);
+    }
+
+    /**
+     * Build the effective config for a region inside a world (world override first, then region values).
+     *
+     * @param region region settings, or null for the world itself
+     * @return effective config (without nested world overrides), or null if no override exists for the world
+     */
+    @Nullable
+    public HideEnemyHealthConfig effectiveForWorld(@Nonnull final String worldName,
+                                                   @Nullable final RegionSettings region) {
+        final WorldOverride override = worlds != null ? worlds.get(worldName) : null;
+        if (override == null) return null;
+
+        final HideEnemyHealthConfig out = copy();
+        out.worlds = new LinkedHashMap<>();
+        if (override.players != null) override.players.applyTo(out.getPlayers());
+        if (override.npcs != null) override.npcs.applyTo(out.getNpcs());
+        if (override.map != null && override.map.hidePlayerMarkers != null) {
+            out.getMap().hidePlayerMarkers = override.map.hidePlayerMarkers;
+        }
+        if (override.map != null && override.map.markerRadiusChunks != null) {
+            out.getMap().markerRadiusChunks = MapSettings.clampRadius(override.map.markerRadiusChunks);
+        }
+        if (region != null) {
+            if (region.players != null) applyUiOnly(region.players, out.getPlayers());
+            if (region.npcs != null) applyUiOnly(region.npcs, out.getNpcs());
+        }
+        return out;
+    }
+
+    private static void applyUiOnly(@Nonnull final TargetOverride from, @Nonnull final TargetSettings to) {
+        if (from.hideHealthBar != null) to.hideHealthBar = from.hideHealthBar;
+        if (from.hideDamageNumbers != null) to.hideDamageNumbers = from.hideDamageNumbers;
+    }
+
+    /**
+     * NPC role rule.
+     */
+    public static final class NpcRoleRule {
+
+        /**
+         * Role name to match (case-insensitive). {@code *} matches any run of characters,
+         * e.g. {@code "Skeleton_*"} or {@code "*_Boss"}.
+         */
+        @SerializedName("role")
+        public String role;
+
+        /** Hide the HP bar for matching NPCs. */
+        @SerializedName("hideHealthBar")
+        public boolean hideHealthBar = true;
+
+        /** Hide damage numbers for matching NPCs. */
+        @SerializedName("hideDamageNumbers")
+        public boolean hideDamageNumbers = false;
+
+        /** Trim the pattern and apply the HP/combat text coupling used for {@link TargetSettings}. */
+        public void normalize() {
+            role = role.trim();
+            final boolean hide = hideHealthBar || hideDamageNumbers;
+            hideHealthBar = hide;
+            hideDamageNumbers = hide;
+        }
+
+        /** Copy. */
+        @Nonnull
+        public NpcRoleRule copy() {
+            final NpcRoleRule out = new NpcRoleRule();
+            out.role = role;
+            out.hideHealthBar = hideHealthBar;
+            out.hideDamageNumbers = hideDamageNumbers;
+            return out;
+        }
+    }
+
+    /**
+     * Per-world override section. Every field is optional; null means "inherit the global value".
+     */
+    public static final class WorldOverride {
+
+        /** Player overrides for this world. */
+        @SerializedName("players")
+        public TargetOverride players;
+
+        /** NPC overrides for this world. */
+        @SerializedName("npcs")
+        public TargetOverride npcs;
+
+        /** Map overrides for this world. */
+        @SerializedName("map")
+        public MapOverride map;
+
+        /**
+         * Axis-aligned regions with their own overhead UI settings (first match wins).
+         * Entities outside every region use this world's settings.
+         */
+        @SerializedName("regions")
+        public List<RegionSettings> regions;
+
+        /** Normalize nested overrides. */
+        public void normalize() {
+            if (players != null) players.normalize();
+            if (npcs != null) npcs.normalize();
+            if (regions != null) {
+                regions.removeIf(r -> r == null);
+                for (RegionSettings r : regions) {
+                    r.normalize();
+                }
+            }
+        }
+
+        /** Deep copy. */
+        @Nonnull
+        public WorldOverride copy() {
+            final WorldOverride out = new WorldOverride();
+            out.players = players != null ? players.copy() : null;
+            out.npcs = npcs != null ? npcs.copy() : null;
+            out.map = map != null ? map.copy() : null;
+            if (regions != null) {
+                out.regions = new ArrayList<>(regions.size());
+                for (RegionSettings r : regions) {
+                    out.regions.add(r != null ? r.copy() : null);
+                }
+            }
+            return out;
+        }
+    }
+
+    /**
+     * Axis-aligned box region (block coordinates, inclusive) with overhead UI overrides.
+     *
+     * <p>Only HP bar / damage number values apply inside regions; {@code hideNameplate} is ignored.</p>
+     */
+    public static final class RegionSettings {
+
+        /** Name (diagnostics only). */
+        @SerializedName("name")
+        public String name = "";
+
+        /** Lower X bound (blocks, inclusive). */
+        @SerializedName("minX")
+        public double minX;
+
+        /** Lower Y bound (blocks, inclusive; default effectively unbounded). */
+        @SerializedName("minY")
+        public double minY = -1_000_000d;
+
+        /** Lower Z bound (blocks, inclusive). */
+        @SerializedName("minZ")
+        public double minZ;
+
+        /** Upper X bound (blocks, inclusive). */
+        @SerializedName("maxX")
+        public double maxX;
+
+        /** Upper Y bound (blocks, inclusive; default effectively unbounded). */
+        @SerializedName("maxY")
+        public double maxY = 1_000_000d;
+
+        /** Upper Z bound (blocks, inclusive). */
+        @SerializedName("maxZ")
+        public double maxZ;
+
+        /** Player overrides inside this region. */
+        @SerializedName("players")
+        public TargetOverride players;
+
+        /** NPC overrides inside this region. */
+        @SerializedName("npcs")
+        public TargetOverride npcs;
+
+        /** Ensure min <= max on every axis and normalize target overrides. */
+        public void normalize() {
+            if (name == null) name = "";
+            if (minX > maxX) { final double t = minX; minX = maxX; maxX = t; }
+            if (minY > maxY) { final double t = minY; minY = maxY; maxY = t; }
+            if (minZ > maxZ) { final double t = minZ; minZ = maxZ; maxZ = t; }
+            if (players != null) players.normalize();
+            if (npcs != null) npcs.normalize();
+        }
+
+        /** Deep copy. */
+        @Nonnull
+        public RegionSettings copy() {
+            final RegionSettings out = new RegionSettings();
+            out.name = name;
+            out.minX = minX;
+            out.minY = minY;
+            out.minZ = minZ;
+            out.maxX = maxX;
+            out.maxY = maxY;
+            out.maxZ = maxZ;
+            out.players = players != null ? players.copy() : null;
+            out.npcs = npcs != null ? npcs.copy() : null;
+            return out;
+        }
+    }
+
+    /**
+     * Optional per-world target values (see {@link TargetSettings}).
+     */
+    public static final class TargetOverride {
+
+        @SerializedName("hideHealthBar")
+        public Boolean hideHealthBar;
+
+        @SerializedName("hideDamageNumbers")
+        public Boolean hideDamageNumbers;
+
+        @SerializedName("hideNameplate")
+        public Boolean hideNameplate;
+
+        /**
+         * Mirror the global HP/combat text coupling: if only one of the two is set, the other follows it;
+         * if both are set, both become the OR of the two.
+         */
+        public void normalize() {
+            if (hideHealthBar == null && hideDamageNumbers == null) return;
+            final boolean hide = Boolean.TRUE.equals(hideHealthBar) || Boolean.TRUE.equals(hideDamageNumbers);
+            hideHealthBar = hide;
+            hideDamageNumbers = hide;
+        }
+
+        /** Overwrite the set values on {@code target}. */
+        public void applyTo(@Nonnull final TargetSettings target) {
+            if (hideHealthBar != null) target.hideHealthBar = hideHealthBar;
+            if (hideDamageNumbers != null) target.hideDamageNumbers = hideDamageNumbers;
+            if (hideNameplate != null) target.hideNameplate = hideNameplate;
+        }
+
+        /** Copy. */
+        @Nonnull
+        public TargetOverride copy() {
+            final TargetOverride out = new TargetOverride();
+            out.hideHealthBar = hideHealthBar;
+            out.hideDamageNumbers = hideDamageNumbers;
+            out.hideNameplate = hideNameplate;
+            return out;
+        }
+    }
+
+    /**
+     * Optional per-world map values (see {@link MapSettings}).
+     */
+    public static final class MapOverride {
+
+        @SerializedName("hidePlayerMarkers")
+        public Boolean hidePlayerMarkers;
+
+        @SerializedName("markerRadiusChunks")
+        public Integer markerRadiusChunks;
+
+        /** Copy. */
+        @Nonnull
+        public MapOverride copy() {
+            final MapOverride out = new MapOverride();
+            out.hidePlayerMarkers = hidePlayerMarkers;
+            out.markerRadiusChunks = markerRadiusChunks;
+            return out;
+        }
+    }
+
+    /**
+     * Combat reveal settings.
+     */
+    public static final class CombatRevealSettings {
+
+        /**
+         * If true, an entity whose HP bar is hidden shows it again for {@link #seconds} after it takes or deals
+         * damage; the timer restarts on every hit.
+         */
+        @SerializedName("enabled")
+        public boolean enabled = false;
+
+        /** How long the HP bar stays visible after the last hit (seconds). */
+        @SerializedName("seconds")
+        public int seconds = 5;
+
+        /** Clamp duration to sane bounds. */
+        public void normalize() {
+            if (seconds < 1) seconds = 1;
+            if (seconds > 600) seconds = 600;
+        }
+
+        /** Copy. */
+        @Nonnull
+        public CombatRevealSettings copy() {
+            final CombatRevealSettings out = new CombatRevealSettings();
+            out.enabled = enabled;
+            out.seconds = seconds;
+            return out;
+        }
+    }
+
+    /**
+     * Proximity nameplate settings.
+     */
+    public static final class NameplateProximitySettings {
+
+        /**
+         * If true, a player's nameplate is removed while no other player is within {@link #blocks} of it
+         * and restored as soon as one comes close. Applies on top of {@code players.hideNameplate}.
+         */
+        @SerializedName("enabled")
+        public boolean enabled = false;
+
+        /**
+         * Proximity distance (blocks, horizontal). A nameplate is shown while another player is at most this far
+         * away (re-checked about every half block of movement).
+         */
+        @SerializedName("blocks")
+        public int blocks = 24;
+
+        /** Clamp distance to sane bounds. */
+        public void normalize() {
+            if (blocks < 4) blocks = 4;
+            if (blocks > 256) blocks = 256;
+        }
+
+        /** Copy. */
+        @Nonnull
+        public NameplateProximitySettings copy() {
+            final NameplateProximitySettings out = new NameplateProximitySettings();
+            out.enabled = enabled;
+            out.blocks = blocks;
+            return out;
+        }
+    }
+
+    /**
+     * Tick budget settings.
+     */
+    public static final class TickBudgetSettings {
+
+        /**
+         * If true, time spent in the plugin's ECS callbacks is summed per world tick. A world whose callbacks
+         * exceed {@link #micros} in a tick goes into degraded mode: region / combat reveal recreates are queued and
+         * proximity nameplate updates wait, until the world stays under budget for about 2 seconds.
+         */
+        @SerializedName("enabled")
+        public boolean enabled = false;
+
+        /** Budget per world tick (microseconds). */
+        @SerializedName("micros")
+        public int micros = 1000;
+
+        /** Deferred entities re-applied per tick (also while degraded, so queued work never starves). */
+        @SerializedName("drainPerTick")
+        public int drainPerTick = 32;
+
+        /** Clamp budget and drain rate to sane bounds. */
+        public void normalize() {
+            if (micros < 50) micros = 50;
+            if (micros > 50_000) micros = 50_000;
+            if (drainPerTick < 1) drainPerTick = 1;
+            if (drainPerTick > 1024) drainPerTick = 1024;
+        }
+
+        /** Copy. */
+        @Nonnull
+        public TickBudgetSettings copy() {
+            final TickBudgetSettings out = new TickBudgetSettings();
+            out.enabled = enabled;
+            out.micros = micros;
+            out.drainPerTick = drainPerTick;
+            return out;
+        }
+    }
+
+    /**
+     * Prometheus metrics export settings.
+     */
+    public static final class MetricsExportSettings {
+
+        /**
+         * {@code off}, {@code file} (writes {@code mods/ServerHideSettings/metrics.prom} every
+         * {@link #intervalSeconds}, for the node exporter textfile collector) or {@code http} (serves
+         * {@code /metrics} on 127.0.0.1:{@link #port}). Unknown values mean {@code off}.
+         */
+        @SerializedName("mode")
+        public String mode = "off";
+
+        /** File mode: rewrite interval (seconds). */
+        @SerializedName("intervalSeconds")
+        public int intervalSeconds = 15;
+
+        /** HTTP mode: loopback port. */
+        @SerializedName("port")
+        public int port = 9465;
+
+        /** Clamp values to sane bounds. */
+        public void normalize() {
+            mode = mode == null ? "off" : mode.trim().toLowerCase(Locale.ROOT);
+            if (!mode.equals("file") && !mode.equals("http")) mode = "off";
+            if (intervalSeconds < 5) intervalSeconds = 5;
+            if (intervalSeconds > 3600) intervalSeconds = 3600;
+            if (port < 1024) port = 1024;
+            if (port > 65535) port = 65535;
+        }
+
+        /** Copy. */
+        @Nonnull
+        public MetricsExportSettings copy() {
+            final MetricsExportSettings out = new MetricsExportSettings();
+            out.mode = mode;
+            out.intervalSeconds = intervalSeconds;
+            out.port = port;
+            return out;
+        }
+    }
+
+    /**
+     * Config file hot reload settings.
+     */
+    public static final class HotReloadSettings {
+
+        /**
+         * If true, a background watcher reloads {@code config.json} after external edits and re-applies
+         * only the settings that actually changed.
+         */
+        @SerializedName("enabled")
+        public boolean enabled = true;
+
+        /**
+         * Quiet period (milliseconds) after the last file event before the file is re-read.
+         * Editors often write a file in several bursts; we only reload once they are done.
+         */
+        @SerializedName("debounceMillis")
+        public int debounceMillis = 500;
+
+        /** Clamp debounce window to sane bounds. */
+        public void normalize() {
+            if (debounceMillis < 50) debounceMillis = 50;
+            if (debounceMillis > 10_000) debounceMillis = 10_000;
+        }
+
+        /** Copy. */
+        @Nonnull
+        public HotReloadSettings copy() {
+            final HotReloadSettings out = new HotReloadSettings();
+            out.enabled = enabled;
+            out.debounceMillis = debounceMillis;
+            return out;
+        }
+    }
+
     /**
      * Debug / maintenance settings.
      *
@@ -97,6 +670,13 @@ public class HideEnemyHealthConfig {
         @SerializedName("logRefreshStats")
         public boolean logRefreshStats = false;
 
+        /**
+         * Apply latency sampling for the metrics registry: 0 = off (default), 1 = time every apply,
+         * N = time about one apply in N. Counters are always kept.
+         */
+        @SerializedName("latencySampleRate")
+        public int latencySampleRate = 0;
+
         /**
          * Optional periodic baseline cache garbage-collection.
          *
@@ -112,6 +692,18 @@ public class HideEnemyHealthConfig {
         public void normalize() {
             if (baselineGc == null) baselineGc = new BaselineGcSettings();
             baselineGc.normalize();
+            if (latencySampleRate < 0) latencySampleRate = 0;
+            if (latencySampleRate > 1_000_000) latencySampleRate = 1_000_000;
+        }
+
+        /** Deep copy. */
+        @Nonnull
+        public DebugSettings copy() {
+            final DebugSettings out = new DebugSettings();
+            out.logRefreshStats = logRefreshStats;
+            out.latencySampleRate = latencySampleRate;
+            out.baselineGc = baselineGc != null ? baselineGc.copy() : null;
+            return out;
         }
     }
 
@@ -128,10 +720,27 @@ public class HideEnemyHealthConfig {
         @SerializedName("intervalSeconds")
         public int intervalSeconds = 300;
 
+        /**
+         * Append a row (time, heap after GC, cache sizes) to {@code cache-sizes.csv} in the plugin folder after
+         * every sweep, for spotting slow baseline leaks on long-running servers.
+         */
+        @SerializedName("csv")
+        public boolean csv = false;
+
         /** Clamp interval to a safe minimum. */
         public void normalize() {
             if (intervalSeconds < 30) intervalSeconds = 30;
         }
+
+        /** Copy. */
+        @Nonnull
+        public BaselineGcSettings copy() {
+            final BaselineGcSettings out = new BaselineGcSettings();
+            out.enabled = enabled;
+            out.intervalSeconds = intervalSeconds;
+            out.csv = csv;
+            return out;
+        }
     }
 
     /**
@@ -147,6 +756,77 @@ public class HideEnemyHealthConfig {
          */
         @SerializedName("hidePlayerMarkers")
         public boolean hidePlayerMarkers = false;
+
+        /**
+         * Teams (team name -> member player names or UUIDs). While player markers are hidden, players still see
+         * the markers of players sharing a team with them. Empty = hide everyone.
+         */
+        @SerializedName("teams")
+        public Map<String, List<String>> teams = new LinkedHashMap<>();
+
+        /**
+         * Only send markers of players within this many chunks of the viewer (0 = server view radius).
+         * Cuts map traffic on busy worlds; applies whether or not markers are hidden.
+         */
+        @SerializedName("markerRadiusChunks")
+        public int markerRadiusChunks = 0;
+
+        /**
+         * Marker throttling: a viewer's player markers are only republished once a nearby player moved more than
+         * this many blocks (or {@link #markerMaxIntervalMillis} passed). 0 = republish on every map update.
+         */
+        @SerializedName("markerMinMoveBlocks")
+        public double markerMinMoveBlocks = 0d;
+
+        /** Marker throttling: republish at least this often (milliseconds). */
+        @SerializedName("markerMaxIntervalMillis")
+        public int markerMaxIntervalMillis = 1000;
+
+        /** Clamp the radius / throttling values and drop blank team names / members (members are matched case-insensitively). */
+        public void normalize() {
+            markerRadiusChunks = clampRadius(markerRadiusChunks);
+            if (!(markerMinMoveBlocks >= 0d)) markerMinMoveBlocks = 0d;
+            if (markerMinMoveBlocks > 64d) markerMinMoveBlocks = 64d;
+            if (markerMaxIntervalMillis < 100) markerMaxIntervalMillis = 100;
+            if (markerMaxIntervalMillis > 60_000) markerMaxIntervalMillis = 60_000;
+            if (teams == null) teams = new LinkedHashMap<>();
+            final Iterator<Map.Entry<String, List<String>>> it = teams.entrySet().iterator();
+            while (it.hasNext()) {
+                final Map.Entry<String, List<String>> e = it.next();
+                if (e.getKey() == null || e.getKey().isBlank() || e.getValue() == null) {
+                    it.remove();
+                    continue;
+                }
+                final List<String> members = new ArrayList<>(e.getValue().size());
+                for (String m : e.getValue()) {
+                    if (m != null && !m.isBlank()) members.add(m.trim());
+                }
+                e.setValue(members);
+            }
+        }
+
+        static int clampRadius(final int radius) {
+            return Math.max(0, Math.min(512, radius));
+        }
+
+        /** Copy. */
+        @Nonnull
+        public MapSettings copy() {
+            final MapSettings out = new MapSettings();
+            out.hidePlayerMarkers = hidePlayerMarkers;
+            out.markerRadiusChunks = markerRadiusChunks;
+            out.markerMinMoveBlocks = markerMinMoveBlocks;
+            out.markerMaxIntervalMillis = markerMaxIntervalMillis;
+            if (teams != null) {
+                out.teams = new LinkedHashMap<>();
+                for (Map.Entry<String, List<String>> e : teams.entrySet()) {
+                    out.teams.put(e.getKey(), e.getValue() != null ? new ArrayList<>(e.getValue()) : null);
+                }
+            } else {
+                out.teams = null;
+            }
+            return out;
+        }
     }
 
     /**
@@ -168,15 +848,25 @@ public class HideEnemyHealthConfig {
         public boolean hideDamageNumbers = false;
 
         /**
-         * If true, hides player nameplates (nicknames above the head).
+         * If true, hides nameplates (player nicknames / NPC names above the head).
          *
          * <p>This is independent from overhead combat UI (HP bars / damage numbers).
-         * The plugin will remove the {@code Nameplate} component from player entities and
+         * The plugin will remove the {@code Nameplate} component from matching entities and
          * restore it when disabled.</p>
          */
         @SerializedName("hideNameplate")
         public boolean hideNameplate = false;
 
+        /** Copy. */
+        @Nonnull
+        public TargetSettings copy() {
+            final TargetSettings out = new TargetSettings();
+            out.hideHealthBar = hideHealthBar;
+            out.hideDamageNumbers = hideDamageNumbers;
+            out.hideNameplate = hideNameplate;
+            return out;
+        }
+
         /**
          * Default settings for players.
          */
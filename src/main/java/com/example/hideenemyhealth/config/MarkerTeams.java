@@ -0,0 +1,127 @@
+package com.example.hideenemyhealth.config;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Compiled team membership for map marker filtering.
+ *
+ * <p>Each member key (player UUID or lower-cased name) maps to a bitmask of the teams it belongs to, so "do these
+ * two players share a team" is a single AND. At most {@link #MAX_TEAMS} teams are used (config order).</p>
+ */
+public final class MarkerTeams {
+
+    /** Teams beyond this count are ignored (team bits are stored in a {@code long}). */
+    public static final int MAX_TEAMS = 64;
+
+    @Nonnull
+    private final Map<UUID, Long> byUuid;
+
+    @Nonnull
+    private final Map<String, Long> byName;
+
+    private final int teamCount;
+
+    /** Signature used by {@link CompiledPolicy#diff(CompiledPolicy)}. */
+    @Nonnull
+    private final String signature;
+
+    private MarkerTeams(@Nonnull final Map<UUID, Long> byUuid,
+                        @Nonnull final Map<String, Long> byName,
+                        final int teamCount,
+                        @Nonnull final String signature) {
+        this.byUuid = byUuid;
+        this.byName = byName;
+        this.teamCount = teamCount;
+        this.signature = signature;
+    }
+
+    /**
+     * Compile teams from config.
+     *
+     * @return compiled teams, or null if no team has members
+     */
+    @Nullable
+    public static MarkerTeams compile(@Nullable final Map<String, List<String>> teams) {
+        if (teams == null || teams.isEmpty()) return null;
+
+        final Map<UUID, Long> byUuid = new HashMap<>();
+        final Map<String, Long> byName = new HashMap<>();
+        final StringBuilder sig = new StringBuilder();
+        int bit = 0;
+
+        for (Map.Entry<String, List<String>> e : teams.entrySet()) {
+            if (bit >= MAX_TEAMS) break;
+            final List<String> members = e.getValue();
+            if (e.getKey() == null || members == null || members.isEmpty()) continue;
+
+            final long teamBit = 1L << bit++;
+            sig.append(e.getKey()).append('=');
+            for (String member : members) {
+                if (member == null || member.isBlank()) continue;
+                final String key = member.trim().toLowerCase(Locale.ROOT);
+                sig.append(key).append(',');
+
+                final UUID uuid = parseUuid(key);
+                if (uuid != null) {
+                    byUuid.merge(uuid, teamBit, (a, b) -> a | b);
+                } else {
+                    byName.merge(key, teamBit, (a, b) -> a | b);
+                }
+            }
+            sig.append(';');
+        }
+
+        if (byUuid.isEmpty() && byName.isEmpty()) return null;
+        return new MarkerTeams(byUuid, byName, bit, sig.toString());
+    }
+
+    /**
+     * @param uuid     player UUID (may be null)
+     * @param username player name (may be null)
+     * @return bitmask of the player's teams (0 = no team)
+     */
+    public long teamsOf(@Nullable final UUID uuid, @Nullable final String username) {
+        long mask = 0L;
+        if (uuid != null) {
+            final Long m = byUuid.get(uuid);
+            if (m != null) mask |= m;
+        }
+        if (username != null && !byName.isEmpty()) {
+            final Long m = byName.get(username.toLowerCase(Locale.ROOT));
+            if (m != null) mask |= m;
+        }
+        return mask;
+    }
+
+    /**
+     * @return number of teams
+     */
+    public int size() {
+        return teamCount;
+    }
+
+    /**
+     * @return true if both describe the same teams and members (null-safe)
+     */
+    public static boolean sameTeams(@Nullable final MarkerTeams a, @Nullable final MarkerTeams b) {
+        if (a == b) return true;
+        if (a == null || b == null) return false;
+        return a.signature.equals(b.signature);
+    }
+
+    @Nullable
+    private static UUID parseUuid(@Nonnull final String s) {
+        if (s.length() != 36 || s.charAt(8) != '-') return null;
+        try {
+            return UUID.fromString(s);
+        } catch (IllegalArgumentException ignored) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.hideenemyhealth.config;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiled NPC role rules.
+ *
+ * <p>Rules are matched against role names, but the result is cached in a dense byte table indexed by the
+ * server's role index. Matching runs at most once per role (on first sight); afterwards resolving an NPC's mask from
+ * its role index is a single array load, regardless of the number of rules. A role whose name cannot be read is
+ * recorded as "no match" too, so it is not retried on every apply.</p>
+ *
+ * <p>Table encoding: {@code 0} = not resolved yet, {@code 1} = no rule matched, {@code 2 + mask} = rule mask.
+ * Writes are benign races (every writer stores the same value), so readers need no locking.</p>
+ */
+public final class NpcRoleRules {
+
+    private static final byte UNRESOLVED = 0;
+    private static final byte NO_MATCH = 1;
+    private static final byte MASK_BASE = 2;
+
+    /** Upper bound for the index table (guards against a bogus index blowing up memory). */
+    private static final int MAX_INDEX = 1 << 16;
+
+    @Nonnull
+    private final String[] patterns;
+
+    @Nonnull
+    private final byte[] masks;
+
+    /** Signature used by {@link CompiledPolicy#diff(CompiledPolicy)}. */
+    @Nonnull
+    private final String signature;
+
+    private final boolean anyHides;
+
+    /** Role index -> encoded mask (grown on demand). */
+    private volatile byte[] byIndex = new byte[64];
+
+    /** Fallback cache for builds that do not expose a role index. */
+    private final ConcurrentHashMap<String, Byte> byName = new ConcurrentHashMap<>();
+
+    private NpcRoleRules(@Nonnull final String[] patterns, @Nonnull final byte[] masks) {
+        this.patterns = patterns;
+        this.masks = masks;
+
+        final StringBuilder sig = new StringBuilder();
+        boolean hides = false;
+        for (int i = 0; i < patterns.length; i++) {
+            sig.append(patterns[i]).append('=').append(masks[i]).append(';');
+            hides |= masks[i] != 0;
+        }
+        this.signature = sig.toString();
+        this.anyHides = hides;
+    }
+
+    /**
+     * Compile rules from config.
+     *
+     * @return compiled rules, or null if there are none
+     */
+    @Nullable
+    public static NpcRoleRules compile(@Nullable final List<HideEnemyHealthConfig.NpcRoleRule> rules) {
+        if (rules == null || rules.isEmpty()) return null;
+
+        final int n = rules.size();
+        final String[] patterns = new String[n];
+        final byte[] masks = new byte[n];
+        int count = 0;
+        for (HideEnemyHealthConfig.NpcRoleRule rule : rules) {
+            if (rule == null || rule.role == null || rule.role.isBlank()) continue;
+            int mask = 0;
+            if (rule.hideHealthBar) mask |= CompiledPolicy.HIDE_HEALTH;
+            if (rule.hideDamageNumbers) mask |= CompiledPolicy.HIDE_COMBAT_TEXT;
+            patterns[count] = rule.role.trim().toLowerCase(Locale.ROOT);
+            masks[count] = (byte) mask;
+            count++;
+        }
+        if (count == 0) return null;
+
+        return new NpcRoleRules(
+                Arrays.copyOf(patterns, count),
+                Arrays.copyOf(masks, count));
+    }
+
+    /**
+     * @return true if at least one rule hides something
+     */
+    public boolean anyHides() {
+        return anyHides;
+    }
+
+    /**
+     * @return number of compiled rules
+     */
+    public int size() {
+        return patterns.length;
+    }
+
+    /**
+     * Resolve the hide mask for an NPC role.
+     *
+     * @param roleIndex server role index, or a negative value if unknown
+     * @param roleName  role name (only used on a table miss or when no index is available; null on a table miss
+     *                  records the index as "no match")
+     * @param fallback  mask to use when no rule matches
+     * @return rule mask, or {@code fallback}
+     */
+    public int maskFor(final int roleIndex, @Nullable final String roleName, final int fallback) {
+        if (roleIndex >= 0 && roleIndex < MAX_INDEX) {
+            final byte[] table = byIndex;
+            if (roleIndex < table.length) {
+                final byte encoded = table[roleIndex];
+                if (encoded != UNRESOLVED) return decode(encoded, fallback);
+            }
+            // Name unavailable: it will not appear for this index later, so record it like a non-matching role.
+            final byte encoded = roleName != null ? match(roleName) : NO_MATCH;
+            store(roleIndex, encoded);
+            return decode(encoded, fallback);
+        }
+
+        if (roleName == null) return fallback;
+        final Byte cached = byName.get(roleName);
+        if (cached != null) return decode(cached, fallback);
+        final byte encoded = match(roleName);
+        byName.put(roleName, encoded);
+        return decode(encoded, fallback);
+    }
+
+    /**
+     * @return true if the role index already has a cached result (match or no match), so {@link #maskFor} needs no
+     * role name for it
+     */
+    public boolean isResolved(final int roleIndex) {
+        if (roleIndex < 0 || roleIndex >= MAX_INDEX) return false;
+        final byte[] table = byIndex;
+        return roleIndex < table.length && table[roleIndex] != UNRESOLVED;
+    }
+
+    /**
+     * @return true if both rule sets are equivalent (null-safe)
+     */
+    static boolean sameRules(@Nullable final NpcRoleRules a, @Nullable final NpcRoleRules b) {
+        if (a == b) return true;
+        if (a == null || b == null) return false;
+        return a.signature.equals(b.signature);
+    }
+
+    private static int decode(final byte encoded, final int fallback) {
+        return encoded == NO_MATCH ? fallback : encoded - MASK_BASE;
+    }
+
+    private synchronized void store(final int roleIndex, final byte encoded) {
+        byte[] table = byIndex;
+        if (roleIndex >= table.length) {
+            int len = table.length;
+            while (len <= roleIndex) len <<= 1;
+            table = Arrays.copyOf(table, Math.min(len, MAX_INDEX));
+        }
+        table[roleIndex] = encoded;
+        byIndex = table;
+    }
+
+    private byte match(@Nonnull final String roleName) {
+        final String name = roleName.toLowerCase(Locale.ROOT);
+        for (int i = 0; i < patterns.length; i++) {
+            if (globMatches(patterns[i], name)) {
+                return (byte) (MASK_BASE + masks[i]);
+            }
+        }
+        return NO_MATCH;
+    }
+
+    /**
+     * Minimal glob matcher: {@code *} matches any run of characters; everything else is literal.
+     */
+    static boolean globMatches(@Nonnull final String pattern, @Nonnull final String text) {
+        if (pattern.indexOf('*') < 0) return pattern.equals(text);
+
+        int p = 0;
+        int t = 0;
+        int star = -1;
+        int mark = 0;
+        while (t < text.length()) {
+            if (p < pattern.length() && pattern.charAt(p) != '*' && pattern.charAt(p) == text.charAt(t)) {
+                p++;
+                t++;
+            } else if (p < pattern.length() && pattern.charAt(p) == '*') {
+                star = p++;
+                mark = t;
+            } else if (star >= 0) {
+                p = star + 1;
+                t = ++mark;
+            } else {
+                return false;
+            }
+        }
+        while (p < pattern.length() && pattern.charAt(p) == '*') p++;
+        return p == pattern.length();
+    }
+}
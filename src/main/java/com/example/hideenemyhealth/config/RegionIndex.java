@@ -0,0 +1,255 @@
+package com.example.hideenemyhealth.config;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable spatial index of the regions configured for one world.
+ *
+ * <p>Regions are bucketed into a coarse XZ grid ({@link #CELL_SIZE} blocks per cell). A lookup hashes the
+ * position's cell, then tests only the few regions overlapping that cell, so the cost does not depend on the
+ * total number of regions. Regions too large to bucket are kept in a short list that is always tested.</p>
+ *
+ * <p>Region ids are 1-based (in config order); {@code 0} means "outside every region". When regions overlap,
+ * the lowest id (first in config) wins.</p>
+ */
+public final class RegionIndex {
+
+    /** Grid cell size in blocks (power of two). */
+    public static final int CELL_SIZE = 32;
+
+    private static final int CELL_SHIFT = Integer.numberOfTrailingZeros(CELL_SIZE);
+
+    /** Regions covering more cells than this are not bucketed (tested on every lookup instead). */
+    private static final long MAX_CELLS_PER_REGION = 4096;
+
+    private static final int[] NONE = new int[0];
+
+    private final double[] minX;
+    private final double[] minY;
+    private final double[] minZ;
+    private final double[] maxX;
+    private final double[] maxY;
+    private final double[] maxZ;
+
+    /** Region policies (index = id - 1). */
+    @Nonnull
+    private final CompiledPolicy[] policies;
+
+    /** Open-addressing cell table: cell key -> sorted region ids overlapping that cell. */
+    @Nonnull
+    private final long[] cellKeys;
+
+    @Nonnull
+    private final int[][] cellRegions;
+
+    /** Ids of regions that are not bucketed (sorted). */
+    @Nonnull
+    private final int[] unbucketed;
+
+    @Nonnull
+    private final String signature;
+
+    private RegionIndex(@Nonnull final List<HideEnemyHealthConfig.RegionSettings> regions,
+                        @Nonnull final CompiledPolicy[] policies) {
+        final int n = regions.size();
+        this.policies = policies;
+        minX = new double[n];
+        minY = new double[n];
+        minZ = new double[n];
+        maxX = new double[n];
+        maxY = new double[n];
+        maxZ = new double[n];
+
+        final StringBuilder sig = new StringBuilder();
+        final List<long[]> cellIds = new ArrayList<>(); // [cellKey, regionId]
+        final List<Integer> big = new ArrayList<>();
+
+        for (int i = 0; i < n; i++) {
+            final HideEnemyHealthConfig.RegionSettings r = regions.get(i);
+            minX[i] = r.minX;
+            minY[i] = r.minY;
+            minZ[i] = r.minZ;
+            maxX[i] = r.maxX;
+            maxY[i] = r.maxY;
+            maxZ[i] = r.maxZ;
+
+            sig.append(r.minX).append(',').append(r.minY).append(',').append(r.minZ).append(':')
+                    .append(r.maxX).append(',').append(r.maxY).append(',').append(r.maxZ).append('=')
+                    .append(policies[i].playerUiMask).append('/').append(policies[i].npcUiMask).append(';');
+
+            final int cx0 = cell(r.minX);
+            final int cz0 = cell(r.minZ);
+            final int cx1 = cell(r.maxX);
+            final int cz1 = cell(r.maxZ);
+            final long cells = ((long) cx1 - cx0 + 1) * ((long) cz1 - cz0 + 1);
+            if (cells > MAX_CELLS_PER_REGION) {
+                big.add(i + 1);
+                continue;
+            }
+            for (int cx = cx0; cx <= cx1; cx++) {
+                for (int cz = cz0; cz <= cz1; cz++) {
+                    cellIds.add(new long[]{cellKey(cx, cz), i + 1});
+                }
+            }
+        }
+
+        this.signature = sig.toString();
+        this.unbucketed = big.stream().mapToInt(Integer::intValue).toArray();
+
+        // Build the cell table (load factor <= 0.5).
+        int cap = 16;
+        while (cap < cellIds.size() * 2) cap <<= 1;
+        final long[] keys = new long[cap];
+        final int[][] values = new int[cap][];
+        for (long[] e : cellIds) {
+            int slot = slot(e[0], cap);
+            while (values[slot] != null && keys[slot] != e[0]) {
+                slot = (slot + 1) & (cap - 1);
+            }
+            keys[slot] = e[0];
+            final int[] prev = values[slot];
+            if (prev == null) {
+                values[slot] = new int[]{(int) e[1]};
+            } else {
+                final int[] grown = Arrays.copyOf(prev, prev.length + 1);
+                grown[prev.length] = (int) e[1];
+                values[slot] = grown;
+            }
+        }
+        this.cellKeys = keys;
+        this.cellRegions = values;
+    }
+
+    /**
+     * Build an index for a world's regions.
+     *
+     * @param regions  normalized region settings (config order)
+     * @param policies compiled policy per region (same order)
+     */
+    @Nonnull
+    static RegionIndex build(@Nonnull final List<HideEnemyHealthConfig.RegionSettings> regions,
+                             @Nonnull final CompiledPolicy[] policies) {
+        return new RegionIndex(regions, policies);
+    }
+
+    /**
+     * @return region id containing the position (lowest id wins), or 0 if outside every region
+     */
+    public int regionAt(final double x, final double y, final double z) {
+        int best = 0;
+
+        final int[] ids = cellLookup(cellKey(cell(x), cell(z)));
+        for (int id : ids) {
+            if (contains(id - 1, x, y, z)) {
+                best = id;
+                break; // ids are ascending
+            }
+        }
+
+        for (int id : unbucketed) {
+            if (best != 0 && id > best) break;
+            if (contains(id - 1, x, y, z)) {
+                best = id;
+                break;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @return grid cell coordinate of a block coordinate (X or Z)
+     */
+    public static int cellOf(final double coord) {
+        return cell(coord);
+    }
+
+    /**
+     * @return true if no region overlaps grid cell ({@code cx}, {@code cz}), i.e. {@link #regionAt} is 0 for every
+     * position in it
+     */
+    public boolean isCellEmpty(final int cx, final int cz) {
+        if (cellLookup(cellKey(cx, cz)).length != 0) return false;
+
+        final double x0 = (double) cx * CELL_SIZE;
+        final double z0 = (double) cz * CELL_SIZE;
+        for (int id : unbucketed) {
+            final int i = id - 1;
+            if (maxX[i] >= x0 && minX[i] < x0 + CELL_SIZE && maxZ[i] >= z0 && minZ[i] < z0 + CELL_SIZE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return compiled policy for a region id, or {@code outside} for id 0 / unknown ids
+     */
+    @Nonnull
+    public CompiledPolicy policy(final int regionId, @Nonnull final CompiledPolicy outside) {
+        if (regionId <= 0 || regionId > policies.length) return outside;
+        return policies[regionId - 1];
+    }
+
+    /**
+     * @return number of regions
+     */
+    public int size() {
+        return policies.length;
+    }
+
+    /**
+     * @return true if any region hides some overhead UI
+     */
+    boolean anyUiHidden() {
+        for (CompiledPolicy p : policies) {
+            if (p.anyUiHidden) return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return true if both indexes describe the same regions and settings (null-safe)
+     */
+    static boolean sameRegions(final RegionIndex a, final RegionIndex b) {
+        if (a == b) return true;
+        if (a == null || b == null) return false;
+        return a.signature.equals(b.signature);
+    }
+
+    private boolean contains(final int i, final double x, final double y, final double z) {
+        return x >= minX[i] && x <= maxX[i]
+                && y >= minY[i] && y <= maxY[i]
+                && z >= minZ[i] && z <= maxZ[i];
+    }
+
+    @Nonnull
+    private int[] cellLookup(final long key) {
+        final int cap = cellKeys.length;
+        int slot = slot(key, cap);
+        int[] v;
+        while ((v = cellRegions[slot]) != null) {
+            if (cellKeys[slot] == key) return v;
+            slot = (slot + 1) & (cap - 1);
+        }
+        return NONE;
+    }
+
+    private static int cell(final double coord) {
+        return ((int) Math.floor(coord)) >> CELL_SHIFT;
+    }
+
+    private static long cellKey(final int cx, final int cz) {
+        return (((long) cx) << 32) ^ (cz & 0xFFFF_FFFFL);
+    }
+
+    private static int slot(final long key, final int cap) {
+        long z = key;
+        z ^= (z >>> 33);
+        z *= 0xff51afd7ed558ccdL;
+        z ^= (z >>> 33);
+        return (int) z & (cap - 1);
+    }
+}
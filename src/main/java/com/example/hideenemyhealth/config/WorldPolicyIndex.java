@@ -0,0 +1,170 @@
+package com.example.hideenemyhealth.config;
+
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.universe.Universe;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Binds per-world {@link CompiledPolicy} overrides to world {@link Store} instances by identity.
+ *
+ * <p>ECS callbacks receive a {@link Store}, not a world name. Instead of resolving the world and looking up its
+ * name on every call, we rebuild a small identity map whenever the policy is published or a world is added or
+ * removed. The map is immutable and stored on the global policy it was built for, so a lookup is one volatile
+ * read plus one {@link IdentityHashMap} probe (skipped entirely when there are no overrides), and a reader
+ * holding an older policy still resolves that policy's own overrides.</p>
+ */
+public final class WorldPolicyIndex {
+
+    /** Global policy whose binding follows world adds / removals (guarded by the class lock). */
+    private static CompiledPolicy bound = CompiledPolicy.DEFAULTS;
+
+    private WorldPolicyIndex() {
+    }
+
+    /**
+     * Resolve the effective policy for a store.
+     *
+     * @param root  global policy the caller read from its registry
+     * @param store world entity store
+     * @return the store's world override, or {@code root}
+     */
+    @Nonnull
+    public static CompiledPolicy forStore(@Nonnull final CompiledPolicy root, @Nonnull final Store<EntityStore> store) {
+        final Map<Object, CompiledPolicy> byStore = root.storeOverrides;
+        if (byStore.isEmpty()) return root;
+        final CompiledPolicy p = byStore.get(store);
+        return p != null ? p : root;
+    }
+
+    /**
+     * Resolve the effective policy for a store into a value the caller can keep (e.g. per entity) and reuse while
+     * {@link Resolved#isCurrent(CompiledPolicy)} holds, skipping the per-world lookup.
+     *
+     * @param root  global policy the caller read from its registry
+     * @param store world entity store
+     */
+    @Nonnull
+    public static Resolved resolve(@Nonnull final CompiledPolicy root, @Nonnull final Store<EntityStore> store) {
+        final Map<Object, CompiledPolicy> byStore = root.storeOverrides;
+        final CompiledPolicy p = byStore.isEmpty() ? null : byStore.get(store);
+        return new Resolved(root, byStore, p != null ? p : root);
+    }
+
+    /**
+     * Bind a policy about to be published to the currently loaded worlds. Must run before the policy is handed
+     * to the registries; world adds / removals then keep it up to date.
+     */
+    public static synchronized void bind(@Nonnull final CompiledPolicy root) {
+        root.storeOverrides = build(root, null, null);
+        bound = root;
+    }
+
+    /**
+     * Add a world to the binding of the current policy (world added; it may not be listed by the universe yet).
+     */
+    public static synchronized void bindWorld(@Nonnull final World added) {
+        bound.storeOverrides = build(bound, added, null);
+    }
+
+    /**
+     * Rebuild the binding of the current policy without the given world (world being removed).
+     */
+    public static synchronized void unbindWorld(@Nonnull final World removed) {
+        bound.storeOverrides = build(bound, null, removed);
+    }
+
+    @Nonnull
+    private static Map<Object, CompiledPolicy> build(@Nonnull final CompiledPolicy root,
+                                                     @Nullable final World include,
+                                                     @Nullable final World exclude) {
+        if (root.worldOverrideCount() == 0) {
+            return Map.of();
+        }
+
+        final IdentityHashMap<Object, CompiledPolicy> byStore = new IdentityHashMap<>();
+        try {
+            final Map<String, World> worlds = Universe.get().getWorlds();
+            if (worlds != null) {
+                for (World world : worlds.values()) {
+                    if (world != null && world != exclude) {
+                        bindOne(root, world, byStore);
+                    }
+                }
+            }
+        } catch (Throwable ignored) {
+            // Universe not ready: fall back to the global policy until the next rebind.
+        }
+        if (include != null && include != exclude) {
+            bindOne(root, include, byStore);
+        }
+        return byStore;
+    }
+
+    /**
+     * A store's effective policy together with the global policy and store binding it was resolved from.
+     */
+    public static final class Resolved {
+
+        @Nonnull
+        private final CompiledPolicy root;
+
+        @Nonnull
+        private final Map<Object, CompiledPolicy> byStore;
+
+        /** Effective policy of the store. */
+        @Nonnull
+        public final CompiledPolicy policy;
+
+        private Resolved(@Nonnull final CompiledPolicy root,
+                         @Nonnull final Map<Object, CompiledPolicy> byStore,
+                         @Nonnull final CompiledPolicy policy) {
+            this.root = root;
+            this.byStore = byStore;
+            this.policy = policy;
+        }
+
+        /**
+         * @return true if {@code root} is still the published policy and no world was bound / unbound since
+         */
+        public boolean isCurrent(@Nonnull final CompiledPolicy root) {
+            return this.root == root && byStore == root.storeOverrides;
+        }
+    }
+
+    private static void bindOne(@Nonnull final CompiledPolicy root,
+                                @Nonnull final World world,
+                                @Nonnull final Map<Object, CompiledPolicy> byStore) {
+        final CompiledPolicy p = root.forWorld(safeName(world));
+        if (p == root) return;
+
+        final Store<EntityStore> store = tryGetStore(world);
+        if (store != null) {
+            byStore.put(store, p);
+        }
+    }
+
+    @Nullable
+    private static String safeName(@Nonnull final World world) {
+        try {
+            return world.getName();
+        } catch (Throwable t) {
+            return null;
+        }
+    }
+
+    @Nullable
+    private static Store<EntityStore> tryGetStore(@Nonnull final World world) {
+        try {
+            final EntityStore entityStore = world.getEntityStore();
+            return entityStore != null ? entityStore.getStore() : null;
+        } catch (Throwable t) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.hideenemyhealth.metrics;
+
+import com.example.hideenemyhealth.util.WorldThreadExecutor;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.universe.Universe;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-world estimate of the network effect of {@code UIComponentList} rewrites.
+ *
+ * <p>We never see packets; this is a model over the writes we make, per receiving client:</p>
+ * <ul>
+ *   <li>A write from a spawn / component-set callback rides on the update the game sends anyway ("carried"): it
+ *       costs nothing extra and saves {@link #ID_BYTES} per removed ID.</li>
+ *   <li>A hot write (refresh pass, region transition, combat reveal, direct store write) is an extra entity update:
+ *       it costs {@link #UPDATE_BYTES} plus the list, twice the overhead if the component was recreated (remove +
+ *       add). Removed IDs still count as saved.</li>
+ * </ul>
+ *
+ * <p>Savings are counted once per write; later full syncs of the same smaller list (new viewers, re-streams) save
+ * again but are not visible to us, so "saved" is a lower bound. Counters live per world {@link Store} like
+ * {@link WorldEntityCounts}; names are resolved only when a snapshot is taken.</p>
+ */
+public final class BandwidthEstimator {
+
+    /** Approximate encoded size of one component ID. */
+    static final long ID_BYTES = 4L;
+
+    /** Approximate overhead of one entity component update (entity id, component tag, length, framing share). */
+    static final long UPDATE_BYTES = 24L;
+
+    private static final ConcurrentHashMap<Store<EntityStore>, Counters> COUNTERS = new ConcurrentHashMap<>();
+
+    private BandwidthEstimator() {
+    }
+
+    /**
+     * Account one {@code UIComponentList} write.
+     *
+     * @param idsBefore   IDs on the entity before the write
+     * @param idsAfter    IDs written
+     * @param extraUpdate true if the write causes an update the game would not have sent (hot write)
+     * @param recreated   true if the component was removed and re-added
+     */
+    public static void uiWrite(@Nonnull final Store<EntityStore> store,
+                               final int idsBefore,
+                               final int idsAfter,
+                               final boolean extraUpdate,
+                               final boolean recreated) {
+        final Counters c = countersFor(store);
+        final int removed = idsBefore - idsAfter;
+        if (removed > 0) {
+            c.idsRemoved.add(removed);
+            c.bytesSaved.add(removed * ID_BYTES);
+        } else if (removed < 0) {
+            c.idsRestored.add(-removed);
+        }
+
+        if (!extraUpdate) {
+            c.carriedUpdates.increment();
+            return;
+        }
+        c.extraUpdates.increment();
+        long spent = UPDATE_BYTES + idsAfter * ID_BYTES;
+        if (recreated) {
+            c.recreates.increment();
+            spent += UPDATE_BYTES;
+        }
+        c.bytesSpent.add(spent);
+    }
+
+    /**
+     * Drop the estimate of a world being removed.
+     */
+    public static void forget(@Nonnull final World world) {
+        final Store<EntityStore> store = tryGetStore(world);
+        if (store != null) COUNTERS.remove(store);
+    }
+
+    /**
+     * Zero every world's estimate (keeps the worlds; used by metrics reset).
+     */
+    public static void reset() {
+        for (Counters c : COUNTERS.values()) {
+            c.reset();
+        }
+    }
+
+    public static void clearAll() {
+        COUNTERS.clear();
+    }
+
+    /**
+     * @return estimate of every loaded world that had UI writes
+     */
+    @Nonnull
+    static List<WorldBandwidth> snapshot() {
+        if (COUNTERS.isEmpty()) return List.of();
+
+        final List<WorldBandwidth> out = new ArrayList<>(COUNTERS.size());
+        try {
+            final Map<String, World> worlds = Universe.get().getWorlds();
+            if (worlds != null) {
+                for (World world : worlds.values()) {
+                    if (world == null) continue;
+                    final Store<EntityStore> store = tryGetStore(world);
+                    final Counters c = store != null ? COUNTERS.get(store) : null;
+                    if (c == null) continue;
+                    out.add(new WorldBandwidth(
+                            WorldThreadExecutor.safeWorldName(world),
+                            c.idsRemoved.sum(),
+                            c.idsRestored.sum(),
+                            c.carriedUpdates.sum(),
+                            c.extraUpdates.sum(),
+                            c.recreates.sum(),
+                            c.bytesSaved.sum(),
+                            c.bytesSpent.sum()
+                    ));
+                }
+            }
+        } catch (Throwable ignored) {
+            // Universe not ready: report what we could resolve.
+        }
+        return out;
+    }
+
+    @Nonnull
+    private static Counters countersFor(@Nonnull final Store<EntityStore> store) {
+        final Counters c = COUNTERS.get(store);
+        return c != null ? c : COUNTERS.computeIfAbsent(store, s -> new Counters());
+    }
+
+    @Nullable
+    private static Store<EntityStore> tryGetStore(@Nonnull final World world) {
+        try {
+            final EntityStore entityStore = world.getEntityStore();
+            return entityStore != null ? entityStore.getStore() : null;
+        } catch (Throwable t) {
+            return null;
+        }
+    }
+
+    /**
+     * Estimate for one world.
+     *
+     * @param idsRemoved     component IDs removed by our writes
+     * @param idsRestored    component IDs put back (region exits, combat reveal)
+     * @param carriedUpdates writes that rode on an update the game sent anyway
+     * @param extraUpdates   writes that caused an update of their own
+     * @param recreates      extra updates done as remove + add
+     * @param bytesSaved     estimated bytes not sent (lower bound, per client)
+     * @param bytesSpent     estimated bytes of extra updates (per client)
+     */
+    public record WorldBandwidth(@Nonnull String world,
+                                 long idsRemoved,
+                                 long idsRestored,
+                                 long carriedUpdates,
+                                 long extraUpdates,
+                                 long recreates,
+                                 long bytesSaved,
+                                 long bytesSpent) {
+
+        public long netBytes() {
+            return bytesSaved - bytesSpent;
+        }
+    }
+
+    private static final class Counters {
+        final LongAdder idsRemoved = new LongAdder();
+        final LongAdder idsRestored = new LongAdder();
+        final LongAdder carriedUpdates = new LongAdder();
+        final LongAdder extraUpdates = new LongAdder();
+        final LongAdder recreates = new LongAdder();
+        final LongAdder bytesSaved = new LongAdder();
+        final LongAdder bytesSpent = new LongAdder();
+
+        void reset() {
+            idsRemoved.reset();
+            idsRestored.reset();
+            carriedUpdates.reset();
+            extraUpdates.reset();
+            recreates.reset();
+            bytesSaved.reset();
+            bytesSpent.reset();
+        }
+    }
+}
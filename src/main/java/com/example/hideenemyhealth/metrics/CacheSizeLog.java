@@ -0,0 +1,119 @@
+package com.example.hideenemyhealth.metrics;
+
+import com.example.hideenemyhealth.systems.hideentityui.EntityUiBaselineCache;
+import com.example.hideenemyhealth.systems.hidenameplate.NameplateBaselineCache;
+import com.hypixel.hytale.logger.HytaleLogger;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.logging.Level;
+
+/**
+ * Cache-size time series of the baseline GC ({@code debug.baselineGc.csv}).
+ *
+ * <p>After every GC sweep one CSV row is appended: time, world, heap used after the last JVM collection, both
+ * baseline cache sizes and what the sweep saw / removed. Cache sizes that keep growing while the heap-after-GC
+ * line stays flat are harmless churn; both growing together over hours is a leak. The row is captured on the
+ * world thread (two map sizes) and written on the background scheduler.</p>
+ */
+public final class CacheSizeLog {
+
+    private static final HytaleLogger LOGGER = HytaleLogger.forEnclosingClass();
+
+    private static final String HEADER =
+            "epoch_millis,world,heap_after_gc_bytes,ui_baselines,nameplate_baselines,gc_seen,gc_removed\n";
+
+    @Nullable
+    private static volatile Sink sink;
+
+    private CacheSizeLog() {
+    }
+
+    /**
+     * Start appending to {@code file} (created with a header row if missing).
+     */
+    public static void start(@Nonnull final ScheduledExecutorService scheduler, @Nonnull final Path file) {
+        sink = new Sink(scheduler, file);
+        LOGGER.at(Level.INFO).log("[ServerHideSettings] Baseline GC cache sizes logged to %s", file);
+    }
+
+    /**
+     * Stop logging (rows already queued may still be written).
+     */
+    public static void stop() {
+        sink = null;
+    }
+
+    /**
+     * Record one GC sweep. No-op unless started.
+     */
+    public static void record(@Nonnull final String world, final int seen, final int removed) {
+        final Sink s = sink;
+        if (s == null) return;
+
+        final String row = System.currentTimeMillis() + "," + world.replace(',', '_') + ","
+                + heapAfterGc() + "," + EntityUiBaselineCache.size() + "," + NameplateBaselineCache.size() + ","
+                + seen + "," + removed + "\n";
+        try {
+            s.scheduler.execute(() -> s.append(row));
+        } catch (Throwable ignored) {
+            // Scheduler already shut down (reload / shutdown race).
+        }
+    }
+
+    /**
+     * @return heap used right after the most recent collection, summed over heap pools (-1 if unavailable)
+     */
+    private static long heapAfterGc() {
+        long used = 0L;
+        boolean any = false;
+        try {
+            for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                if (pool.getType() != MemoryType.HEAP) continue;
+                final MemoryUsage usage = pool.getCollectionUsage();
+                if (usage == null) continue;
+                used += usage.getUsed();
+                any = true;
+            }
+        } catch (Throwable ignored) {
+            return -1L;
+        }
+        return any ? used : -1L;
+    }
+
+    /**
+     * Target file plus the executor that writes it.
+     */
+    private static final class Sink {
+        final ScheduledExecutorService scheduler;
+        final Path file;
+
+        Sink(@Nonnull final ScheduledExecutorService scheduler, @Nonnull final Path file) {
+            this.scheduler = scheduler;
+            this.file = file;
+        }
+
+        void append(@Nonnull final String row) {
+            try {
+                if (!Files.exists(file)) {
+                    Files.writeString(file, HEADER, StandardCharsets.UTF_8,
+                            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                }
+                Files.writeString(file, row, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            } catch (IOException e) {
+                LOGGER.at(Level.FINE).withCause(e).log("[ServerHideSettings] Cache size log write failed: %s", file);
+            }
+        }
+    }
+}
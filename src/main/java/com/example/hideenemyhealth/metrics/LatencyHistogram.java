@@ -0,0 +1,138 @@
+package com.example.hideenemyhealth.metrics;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with HDR-style log-linear buckets.
+ *
+ * <p>Values below {@code 2^SUB_BITS} nanoseconds get exact buckets; above that every power of two is split into
+ * {@code 2^SUB_BITS} linear sub-buckets, so a reported percentile is within about 6% of the true value. Each bucket
+ * is a {@link LongAdder}, so concurrent recording from several world threads does not contend on one counter.</p>
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BITS = 4;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+
+    /** Largest bucket shift; longer values (beyond ~70 minutes) land in the last bucket. */
+    private static final int MAX_SHIFT = 37;
+
+    private static final int BUCKETS = (MAX_SHIFT + 2) * SUB_COUNT;
+
+    private final LongAdder[] counts = new LongAdder[BUCKETS];
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Record one value (nanoseconds; negative values count as 0).
+     */
+    public void record(final long nanos) {
+        counts[indexOf(nanos)].increment();
+    }
+
+    /**
+     * Drop all recorded values (concurrent records may survive the reset).
+     */
+    public void reset() {
+        for (LongAdder c : counts) {
+            c.reset();
+        }
+    }
+
+    /**
+     * @return count and percentiles of the values recorded so far
+     */
+    @Nonnull
+    public Summary summary() {
+        final long[] snapshot = new long[BUCKETS];
+        long total = 0L;
+        int highest = -1;
+        for (int i = 0; i < BUCKETS; i++) {
+            final long c = counts[i].sum();
+            snapshot[i] = c;
+            total += c;
+            if (c != 0L) highest = i;
+        }
+        if (total == 0L) return Summary.EMPTY;
+
+        return new Summary(total,
+                percentile(snapshot, total, 0.50d),
+                percentile(snapshot, total, 0.99d),
+                upperBound(highest));
+    }
+
+    /**
+     * Fold the buckets into cumulative counts for coarser bounds (Prometheus {@code le} buckets). A bucket counts
+     * towards a bound if its upper bound is within it, so counts are as precise as the buckets (~6%).
+     *
+     * @param le  ascending upper bounds (nanoseconds)
+     * @param out receives {@code le.length + 1} values: cumulative count per bound, then the total count
+     * @return approximate sum of all values (bucket upper bounds; nanoseconds)
+     */
+    long cumulative(@Nonnull final long[] le, @Nonnull final long[] out) {
+        Arrays.fill(out, 0L);
+        long sum = 0L;
+        long total = 0L;
+        int bound = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            final long c = counts[i].sum();
+            if (c == 0L) continue;
+            final long upper = upperBound(i);
+            while (bound < le.length && upper > le[bound]) {
+                out[bound++] = total;
+            }
+            total += c;
+            sum += c * upper;
+        }
+        while (bound < le.length) {
+            out[bound++] = total;
+        }
+        out[le.length] = total;
+        return sum;
+    }
+
+    private static long percentile(@Nonnull final long[] snapshot, final long total, final double p) {
+        final long rank = Math.max(1L, (long) Math.ceil(p * total));
+        long seen = 0L;
+        for (int i = 0; i < snapshot.length; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) return upperBound(i);
+        }
+        return upperBound(snapshot.length - 1);
+    }
+
+    static int indexOf(final long v) {
+        if (v < SUB_COUNT) return v < 0L ? 0 : (int) v;
+        final int shift = 63 - Long.numberOfLeadingZeros(v) - SUB_BITS;
+        if (shift > MAX_SHIFT) return BUCKETS - 1;
+        return (shift + 1) * SUB_COUNT + (int) ((v >>> shift) - SUB_COUNT);
+    }
+
+    /**
+     * @return largest value that maps to bucket {@code index}
+     */
+    static long upperBound(final int index) {
+        if (index < SUB_COUNT) return index;
+        final int shift = index / SUB_COUNT - 1;
+        final long sub = (index % SUB_COUNT) + SUB_COUNT;
+        return ((sub + 1L) << shift) - 1L;
+    }
+
+    /**
+     * Histogram summary (nanoseconds).
+     *
+     * @param count number of recorded values
+     * @param p50   median (bucket upper bound)
+     * @param p99   99th percentile (bucket upper bound)
+     * @param max   largest recorded value (bucket upper bound)
+     */
+    public record Summary(long count, long p50, long p99, long max) {
+        static final Summary EMPTY = new Summary(0L, 0L, 0L, 0L);
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.hideenemyhealth.metrics;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.List;
+
+/**
+ * Immutable point-in-time copy of {@link PluginMetrics}.
+ */
+public final class MetricsSnapshot {
+
+    /**
+     * Rough retained size of one overhead UI baseline entry (map node, boxed key, entry, small id array).
+     */
+    private static final long UI_BASELINE_ENTRY_BYTES = 112L;
+
+    /**
+     * Rough retained size of one nameplate baseline entry (map node, boxed key, entry, nameplate copy).
+     */
+    private static final long NAMEPLATE_ENTRY_BYTES = 160L;
+
+    @Nonnull
+    private final long[] counters;
+
+    @Nonnull
+    private final LatencyHistogram.Summary uiApplyLatency;
+
+    @Nonnull
+    private final LatencyHistogram.Summary nameplateApplyLatency;
+
+    @Nonnull
+    private final LatencyHistogram.Summary tickCallbackTime;
+
+    private final int uiBaselineEntries;
+    private final int nameplateBaselineEntries;
+
+    @Nonnull
+    private final PluginMetrics.PassStats[] lastRefresh;
+
+    @Nullable
+    private final PluginMetrics.PassStats lastGc;
+
+    @Nonnull
+    private final List<WorldEntityCounts.WorldCount> worlds;
+
+    @Nonnull
+    private final List<String> degradedWorlds;
+
+    @Nonnull
+    private final List<BandwidthEstimator.WorldBandwidth> bandwidth;
+
+    private final int sampleRate;
+    private final long capturedAtMillis;
+
+    MetricsSnapshot(@Nonnull final long[] counters,
+                    @Nonnull final LatencyHistogram.Summary uiApplyLatency,
+                    @Nonnull final LatencyHistogram.Summary nameplateApplyLatency,
+                    @Nonnull final LatencyHistogram.Summary tickCallbackTime,
+                    final int uiBaselineEntries,
+                    final int nameplateBaselineEntries,
+                    @Nonnull final PluginMetrics.PassStats[] lastRefresh,
+                    @Nullable final PluginMetrics.PassStats lastGc,
+                    @Nonnull final List<WorldEntityCounts.WorldCount> worlds,
+                    @Nonnull final List<String> degradedWorlds,
+                    @Nonnull final List<BandwidthEstimator.WorldBandwidth> bandwidth,
+                    final int sampleRate,
+                    final long capturedAtMillis) {
+        this.counters = counters;
+        this.uiApplyLatency = uiApplyLatency;
+        this.nameplateApplyLatency = nameplateApplyLatency;
+        this.tickCallbackTime = tickCallbackTime;
+        this.uiBaselineEntries = uiBaselineEntries;
+        this.nameplateBaselineEntries = nameplateBaselineEntries;
+        this.lastRefresh = lastRefresh;
+        this.lastGc = lastGc;
+        this.worlds = worlds;
+        this.degradedWorlds = degradedWorlds;
+        this.bandwidth = bandwidth;
+        this.sampleRate = sampleRate;
+        this.capturedAtMillis = capturedAtMillis;
+    }
+
+    public long counter(@Nonnull final PluginMetrics.Counter counter) {
+        return counters[counter.ordinal()];
+    }
+
+    /**
+     * @return sampled overhead UI apply latency (nanoseconds; empty while sampling is off)
+     */
+    @Nonnull
+    public LatencyHistogram.Summary uiApplyLatency() {
+        return uiApplyLatency;
+    }
+
+    /**
+     * @return sampled nameplate apply latency (nanoseconds; empty while sampling is off)
+     */
+    @Nonnull
+    public LatencyHistogram.Summary nameplateApplyLatency() {
+        return nameplateApplyLatency;
+    }
+
+    /**
+     * @return plugin callback time per world tick (nanoseconds; empty while the tick budget is off)
+     */
+    @Nonnull
+    public LatencyHistogram.Summary tickCallbackTime() {
+        return tickCallbackTime;
+    }
+
+    public int uiBaselineEntries() {
+        return uiBaselineEntries;
+    }
+
+    public int nameplateBaselineEntries() {
+        return nameplateBaselineEntries;
+    }
+
+    /**
+     * @return estimated heap retained by both baseline caches (bytes; an estimate, not a measurement)
+     */
+    public long estimatedCacheBytes() {
+        return uiBaselineEntries * UI_BASELINE_ENTRY_BYTES + nameplateBaselineEntries * NAMEPLATE_ENTRY_BYTES;
+    }
+
+    /**
+     * @return live entity counts per world
+     */
+    @Nonnull
+    public List<WorldEntityCounts.WorldCount> worlds() {
+        return worlds;
+    }
+
+    /**
+     * @return names of worlds currently over their tick budget (degraded mode)
+     */
+    @Nonnull
+    public List<String> degradedWorlds() {
+        return degradedWorlds;
+    }
+
+    /**
+     * @return estimated network effect of UI list rewrites per world
+     */
+    @Nonnull
+    public List<BandwidthEstimator.WorldBandwidth> bandwidth() {
+        return bandwidth;
+    }
+
+    /**
+     * @return last run of a refresh pass kind, or null if it never ran
+     */
+    @Nullable
+    public PluginMetrics.PassStats lastRefresh(@Nonnull final PluginMetrics.Pass pass) {
+        return lastRefresh[pass.ordinal()];
+    }
+
+    @Nullable
+    public PluginMetrics.PassStats lastGc() {
+        return lastGc;
+    }
+
+    public int sampleRate() {
+        return sampleRate;
+    }
+
+    public long capturedAtMillis() {
+        return capturedAtMillis;
+    }
+}
@@ -0,0 +1,244 @@
+package com.example.hideenemyhealth.metrics;
+
+import com.example.hideenemyhealth.systems.hideentityui.EntityUiBaselineCache;
+import com.example.hideenemyhealth.systems.hideentityui.TickBudget;
+import com.example.hideenemyhealth.systems.hidenameplate.NameplateBaselineCache;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide, lock-free plugin metrics.
+ *
+ * <p>Counters are {@link LongAdder}s (striped per contending thread), so world threads never contend on a shared
+ * cache line. Apply latency is sampled: with {@code debug.latencySampleRate} at 0 (default) the hot paths pay one
+ * volatile read and never call {@link System#nanoTime()}; with N &gt; 0 about one apply in N is timed.</p>
+ *
+ * <p>Readers take a {@link MetricsSnapshot}; nothing here walks worlds or entity stores.</p>
+ */
+public final class PluginMetrics {
+
+    /**
+     * Monotonic counters.
+     */
+    public enum Counter {
+        /** Overhead UI applies that reached target classification, by kind. */
+        UI_APPLY_PLAYER,
+        UI_APPLY_NPC,
+        UI_APPLY_OTHER,
+        /** Overhead UI applies that wrote a new {@code UIComponentList} / that changed nothing. */
+        UI_WRITE,
+        UI_NOOP,
+        /** Writes that recreated the component to force a client UI rebuild. */
+        UI_FORCED_RECREATE,
+        /** Overhead UI baseline cache lookups that found / created an entry. */
+        UI_BASELINE_HIT,
+        UI_BASELINE_MISS,
+        /** Nameplate applies by kind. */
+        NAMEPLATE_APPLY_PLAYER,
+        NAMEPLATE_APPLY_NPC,
+        /** Nameplate applies that removed or restored a component / that changed nothing. */
+        NAMEPLATE_WRITE,
+        NAMEPLATE_NOOP,
+        /** Nameplate baseline cache lookups that found / created an entry. */
+        NAMEPLATE_BASELINE_HIT,
+        NAMEPLATE_BASELINE_MISS,
+        /** Refresh passes run, and entities they changed. */
+        REFRESH_PASSES,
+        REFRESH_CHANGED,
+        /** Baseline GC sweeps run, and entries they removed. */
+        GC_PASSES,
+        GC_REMOVED,
+        /** World ticks whose callback time exceeded the tick budget. */
+        BUDGET_OVERRUNS,
+        /** Restore-and-recreate writes queued by degraded worlds / re-applied from the queue. */
+        BUDGET_DEFERRED,
+        BUDGET_DRAINED
+    }
+
+    /**
+     * Refresh pass kinds (the last run of each is kept).
+     */
+    public enum Pass {
+        UI_PLAYERS,
+        UI_NPCS,
+        NAMEPLATE_PLAYERS,
+        NAMEPLATE_NPCS
+    }
+
+    private static final Counter[] COUNTER_VALUES = Counter.values();
+    private static final LongAdder[] COUNTERS = new LongAdder[COUNTER_VALUES.length];
+
+    static {
+        for (int i = 0; i < COUNTERS.length; i++) {
+            COUNTERS[i] = new LongAdder();
+        }
+    }
+
+    private static final LatencyHistogram UI_APPLY_LATENCY = new LatencyHistogram();
+    private static final LatencyHistogram NAMEPLATE_APPLY_LATENCY = new LatencyHistogram();
+    private static final LatencyHistogram TICK_CALLBACK_TIME = new LatencyHistogram();
+
+    private static final AtomicReferenceArray<PassStats> LAST_REFRESH =
+            new AtomicReferenceArray<>(Pass.values().length);
+
+    @Nullable
+    private static volatile PassStats lastGc;
+
+    /** 0 = latency sampling off, 1 = time every apply, N = time about one apply in N. */
+    private static volatile int sampleRate;
+
+    private PluginMetrics() {
+    }
+
+    /**
+     * Set the latency sample rate (from the compiled policy).
+     */
+    public static void setSampleRate(final int rate) {
+        sampleRate = Math.max(0, rate);
+    }
+
+    public static void inc(@Nonnull final Counter counter) {
+        COUNTERS[counter.ordinal()].increment();
+    }
+
+    public static void add(@Nonnull final Counter counter, final long n) {
+        if (n != 0L) COUNTERS[counter.ordinal()].add(n);
+    }
+
+    /**
+     * Start a latency sample.
+     *
+     * @return start timestamp, or 0 if this call is not sampled
+     */
+    public static long sampleStart() {
+        final int rate = sampleRate;
+        if (rate <= 0) return 0L;
+        if (rate > 1 && ThreadLocalRandom.current().nextInt(rate) != 0) return 0L;
+        return System.nanoTime();
+    }
+
+    /**
+     * Finish an overhead UI apply: counts the outcome and records latency if sampled.
+     */
+    public static void uiApplied(final boolean wrote, final long sampleStart) {
+        COUNTERS[wrote ? Counter.UI_WRITE.ordinal() : Counter.UI_NOOP.ordinal()].increment();
+        if (sampleStart != 0L) UI_APPLY_LATENCY.record(System.nanoTime() - sampleStart);
+    }
+
+    /**
+     * Finish a nameplate apply: counts the outcome and records latency if sampled.
+     */
+    public static void nameplateApplied(final boolean wrote, final long sampleStart) {
+        COUNTERS[wrote ? Counter.NAMEPLATE_WRITE.ordinal() : Counter.NAMEPLATE_NOOP.ordinal()].increment();
+        if (sampleStart != 0L) NAMEPLATE_APPLY_LATENCY.record(System.nanoTime() - sampleStart);
+    }
+
+    /**
+     * Record the callback time of one world tick (only while the tick budget is on).
+     */
+    public static void tickSpent(final long nanos) {
+        TICK_CALLBACK_TIME.record(nanos);
+    }
+
+    /**
+     * Record a finished refresh pass.
+     *
+     * @param visited entities (or, for chunk-batched passes, chunks) visited
+     * @param changed entities changed
+     */
+    public static void recordRefresh(@Nonnull final Pass pass,
+                                     @Nonnull final String world,
+                                     final int visited,
+                                     final int changed,
+                                     final long nanos) {
+        COUNTERS[Counter.REFRESH_PASSES.ordinal()].increment();
+        add(Counter.REFRESH_CHANGED, changed);
+        LAST_REFRESH.set(pass.ordinal(), new PassStats(world, visited, changed, nanos, System.currentTimeMillis()));
+    }
+
+    /**
+     * Record a finished baseline GC sweep.
+     *
+     * @param seen    live entities observed
+     * @param removed orphaned entries removed
+     */
+    public static void recordGc(@Nonnull final String world, final int seen, final int removed, final long nanos) {
+        COUNTERS[Counter.GC_PASSES.ordinal()].increment();
+        add(Counter.GC_REMOVED, removed);
+        lastGc = new PassStats(world, seen, removed, nanos, System.currentTimeMillis());
+    }
+
+    /**
+     * @return point-in-time copy of every metric (cheap: no world access)
+     */
+    @Nonnull
+    public static MetricsSnapshot snapshot() {
+        final long[] counters = new long[COUNTERS.length];
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = COUNTERS[i].sum();
+        }
+        final PassStats[] refresh = new PassStats[LAST_REFRESH.length()];
+        for (int i = 0; i < refresh.length; i++) {
+            refresh[i] = LAST_REFRESH.get(i);
+        }
+        return new MetricsSnapshot(
+                counters,
+                UI_APPLY_LATENCY.summary(),
+                NAMEPLATE_APPLY_LATENCY.summary(),
+                TICK_CALLBACK_TIME.summary(),
+                EntityUiBaselineCache.size(),
+                NameplateBaselineCache.size(),
+                refresh,
+                lastGc,
+                WorldEntityCounts.snapshot(),
+                TickBudget.degradedWorlds(),
+                BandwidthEstimator.snapshot(),
+                sampleRate,
+                System.currentTimeMillis()
+        );
+    }
+
+    @Nonnull
+    static LatencyHistogram uiApplyLatency() {
+        return UI_APPLY_LATENCY;
+    }
+
+    @Nonnull
+    static LatencyHistogram nameplateApplyLatency() {
+        return NAMEPLATE_APPLY_LATENCY;
+    }
+
+    @Nonnull
+    static LatencyHistogram tickCallbackTime() {
+        return TICK_CALLBACK_TIME;
+    }
+
+    /**
+     * Reset counters, histograms and bandwidth estimates (last pass stats are kept).
+     */
+    public static void reset() {
+        for (LongAdder c : COUNTERS) {
+            c.reset();
+        }
+        UI_APPLY_LATENCY.reset();
+        NAMEPLATE_APPLY_LATENCY.reset();
+        TICK_CALLBACK_TIME.reset();
+        BandwidthEstimator.reset();
+    }
+
+    /**
+     * Result of one refresh or GC pass.
+     *
+     * @param world      world name
+     * @param visited    entities (or chunks) visited; for GC, live entities seen
+     * @param changed    entities changed; for GC, entries removed
+     * @param nanos      pass duration
+     * @param atMillis   wall clock time the pass finished
+     */
+    public record PassStats(@Nonnull String world, int visited, int changed, long nanos, long atMillis) {
+    }
+}
@@ -0,0 +1,314 @@
+package com.example.hideenemyhealth.metrics;
+
+import com.hypixel.hytale.logger.HytaleLogger;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * Prometheus text exposition (format 0.0.4) of {@link PluginMetrics}.
+ *
+ * <p>Two modes: a file rewritten on the plugin's background scheduler (atomic replace, for the node exporter
+ * textfile collector), or a loopback-only {@code /metrics} endpoint served on virtual threads. Neither ever runs on
+ * a world thread; both only read the lock-free metrics. Rendering reuses one buffer per exporter and precomputed
+ * metric names, so a scrape allocates little beyond the snapshot and the response bytes.</p>
+ */
+public final class PrometheusExporter {
+
+    private static final HytaleLogger LOGGER = HytaleLogger.forEnclosingClass();
+
+    private static final String PREFIX = "serverhidesettings_";
+
+    /** Histogram bucket bounds (nanoseconds): 1us .. 50ms. */
+    private static final long[] LE_NANOS = {
+            1_000L, 5_000L, 10_000L, 50_000L, 100_000L, 500_000L, 1_000_000L, 5_000_000L, 10_000_000L, 50_000_000L
+    };
+
+    private static final PluginMetrics.Counter[] COUNTERS = PluginMetrics.Counter.values();
+
+    private static final PluginMetrics.Pass[] PASSES = PluginMetrics.Pass.values();
+
+    private static final String[] LE_LABELS = new String[LE_NANOS.length];
+
+    private static final String[] COUNTER_NAMES = new String[COUNTERS.length];
+
+    private static final String[] PASS_LABELS = new String[PASSES.length];
+
+    static {
+        for (int i = 0; i < LE_NANOS.length; i++) {
+            LE_LABELS[i] = Double.toString(LE_NANOS[i] / 1e9d);
+        }
+        for (PluginMetrics.Counter c : COUNTERS) {
+            COUNTER_NAMES[c.ordinal()] = PREFIX + c.name().toLowerCase(Locale.ROOT) + "_total";
+        }
+        for (PluginMetrics.Pass p : PASSES) {
+            PASS_LABELS[p.ordinal()] = p.name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final StringBuilder text = new StringBuilder(8192);
+    private final long[] cumulative = new long[LE_NANOS.length + 1];
+
+    @Nullable
+    private ScheduledFuture<?> fileFuture;
+
+    @Nullable
+    private HttpServer server;
+
+    @Nullable
+    private ExecutorService serverExecutor;
+
+    private PrometheusExporter() {
+    }
+
+    /**
+     * Start the file mode: {@code file} is rewritten every {@code intervalSeconds} on {@code scheduler}.
+     */
+    @Nonnull
+    public static PrometheusExporter startFile(@Nonnull final ScheduledExecutorService scheduler,
+                                               @Nonnull final Path file,
+                                               final int intervalSeconds) {
+        final PrometheusExporter exporter = new PrometheusExporter();
+        exporter.fileFuture = scheduler.scheduleAtFixedRate(() -> {
+            try {
+                exporter.writeFile(file);
+            } catch (Throwable t) {
+                LOGGER.at(Level.FINE).withCause(t).log("[ServerHideSettings] Metrics file export failed: %s", file);
+            }
+        }, 0L, intervalSeconds, TimeUnit.SECONDS);
+        LOGGER.at(Level.INFO).log("[ServerHideSettings] Metrics export to %s (interval=%ds)", file, intervalSeconds);
+        return exporter;
+    }
+
+    /**
+     * Start the HTTP mode on 127.0.0.1:{@code port}.
+     *
+     * @return exporter, or null if the endpoint could not be started (port in use, no HTTP server module)
+     */
+    @Nullable
+    public static PrometheusExporter startHttp(final int port) {
+        final PrometheusExporter exporter = new PrometheusExporter();
+        ExecutorService executor = null;
+        try {
+            final HttpServer http = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+            executor = Executors.newVirtualThreadPerTaskExecutor();
+            http.setExecutor(executor);
+            http.createContext("/metrics", exporter::handle);
+            http.start();
+            exporter.server = http;
+            exporter.serverExecutor = executor;
+            LOGGER.at(Level.INFO).log("[ServerHideSettings] Metrics endpoint on http://127.0.0.1:%d/metrics", port);
+            return exporter;
+        } catch (Throwable t) {
+            if (executor != null) executor.shutdownNow();
+            LOGGER.at(Level.WARNING).withCause(t)
+                    .log("[ServerHideSettings] Could not start metrics endpoint on 127.0.0.1:%d; export disabled", port);
+            return null;
+        }
+    }
+
+    /**
+     * Stop exporting (the file is left in place with its last contents).
+     */
+    public void stop() {
+        if (fileFuture != null) {
+            fileFuture.cancel(false);
+            fileFuture = null;
+        }
+        if (server != null) {
+            try {
+                server.stop(0);
+            } catch (Throwable ignored) {
+            }
+            server = null;
+        }
+        if (serverExecutor != null) {
+            serverExecutor.shutdownNow();
+            serverExecutor = null;
+        }
+    }
+
+    private void writeFile(@Nonnull final Path file) throws IOException {
+        final byte[] body = render();
+        final Path parent = file.getParent();
+        if (parent != null) Files.createDirectories(parent);
+
+        // Write next to the target and rename, so collectors never read a half-written file.
+        final Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(tmp, body);
+        try {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private void handle(@Nonnull final HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            final byte[] body = render();
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Render the current metrics (serialized: the buffer is shared between concurrent scrapes).
+     */
+    @Nonnull
+    synchronized byte[] render() {
+        final MetricsSnapshot s = PluginMetrics.snapshot();
+        final StringBuilder sb = text;
+        sb.setLength(0);
+
+        for (PluginMetrics.Counter c : COUNTERS) {
+            type(sb, COUNTER_NAMES[c.ordinal()], "counter");
+            sb.append(COUNTER_NAMES[c.ordinal()]).append(' ').append(s.counter(c)).append('\n');
+        }
+
+        gauge(sb, "ui_baseline_entries", s.uiBaselineEntries());
+        gauge(sb, "nameplate_baseline_entries", s.nameplateBaselineEntries());
+        gauge(sb, "estimated_cache_bytes", s.estimatedCacheBytes());
+        gauge(sb, "latency_sample_rate", s.sampleRate());
+        gauge(sb, "degraded_worlds", s.degradedWorlds().size());
+
+        type(sb, PREFIX + "world_players", "gauge");
+        for (WorldEntityCounts.WorldCount w : s.worlds()) {
+            worldSample(sb, "world_players", w.world(), w.players());
+        }
+        type(sb, PREFIX + "world_npcs", "gauge");
+        for (WorldEntityCounts.WorldCount w : s.worlds()) {
+            worldSample(sb, "world_npcs", w.world(), w.npcs());
+        }
+
+        bandwidth(sb, s);
+        lastPasses(sb, s);
+
+        histogram(sb, "ui_apply_latency_seconds", PluginMetrics.uiApplyLatency());
+        histogram(sb, "nameplate_apply_latency_seconds", PluginMetrics.nameplateApplyLatency());
+        histogram(sb, "tick_callback_seconds", PluginMetrics.tickCallbackTime());
+
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void bandwidth(@Nonnull final StringBuilder sb, @Nonnull final MetricsSnapshot s) {
+        if (s.bandwidth().isEmpty()) return;
+        type(sb, PREFIX + "bandwidth_ids_removed_total", "counter");
+        for (BandwidthEstimator.WorldBandwidth b : s.bandwidth()) {
+            worldSample(sb, "bandwidth_ids_removed_total", b.world(), b.idsRemoved());
+        }
+        type(sb, PREFIX + "bandwidth_carried_updates_total", "counter");
+        for (BandwidthEstimator.WorldBandwidth b : s.bandwidth()) {
+            worldSample(sb, "bandwidth_carried_updates_total", b.world(), b.carriedUpdates());
+        }
+        type(sb, PREFIX + "bandwidth_extra_updates_total", "counter");
+        for (BandwidthEstimator.WorldBandwidth b : s.bandwidth()) {
+            worldSample(sb, "bandwidth_extra_updates_total", b.world(), b.extraUpdates());
+        }
+        type(sb, PREFIX + "bandwidth_saved_bytes_total", "counter");
+        for (BandwidthEstimator.WorldBandwidth b : s.bandwidth()) {
+            worldSample(sb, "bandwidth_saved_bytes_total", b.world(), b.bytesSaved());
+        }
+        type(sb, PREFIX + "bandwidth_spent_bytes_total", "counter");
+        for (BandwidthEstimator.WorldBandwidth b : s.bandwidth()) {
+            worldSample(sb, "bandwidth_spent_bytes_total", b.world(), b.bytesSpent());
+        }
+    }
+
+    private static void lastPasses(@Nonnull final StringBuilder sb, @Nonnull final MetricsSnapshot s) {
+        type(sb, PREFIX + "last_refresh_seconds", "gauge");
+        for (PluginMetrics.Pass pass : PASSES) {
+            final PluginMetrics.PassStats p = s.lastRefresh(pass);
+            if (p == null) continue;
+            sb.append(PREFIX).append("last_refresh_seconds{pass=\"").append(PASS_LABELS[pass.ordinal()])
+                    .append("\"} ").append(p.nanos() / 1e9d).append('\n');
+        }
+        type(sb, PREFIX + "last_refresh_changed", "gauge");
+        for (PluginMetrics.Pass pass : PASSES) {
+            final PluginMetrics.PassStats p = s.lastRefresh(pass);
+            if (p == null) continue;
+            sb.append(PREFIX).append("last_refresh_changed{pass=\"").append(PASS_LABELS[pass.ordinal()])
+                    .append("\"} ").append(p.changed()).append('\n');
+        }
+
+        final PluginMetrics.PassStats gc = s.lastGc();
+        if (gc != null) {
+            type(sb, PREFIX + "last_gc_seconds", "gauge");
+            sb.append(PREFIX).append("last_gc_seconds ").append(gc.nanos() / 1e9d).append('\n');
+            type(sb, PREFIX + "last_gc_removed", "gauge");
+            sb.append(PREFIX).append("last_gc_removed ").append(gc.changed()).append('\n');
+        }
+    }
+
+    private void histogram(@Nonnull final StringBuilder sb,
+                           @Nonnull final String name,
+                           @Nonnull final LatencyHistogram h) {
+        final long[] c = cumulative;
+        final long sumNanos = h.cumulative(LE_NANOS, c);
+
+        type(sb, PREFIX + name, "histogram");
+        for (int i = 0; i < LE_NANOS.length; i++) {
+            sb.append(PREFIX).append(name).append("_bucket{le=\"").append(LE_LABELS[i]).append("\"} ")
+                    .append(c[i]).append('\n');
+        }
+        sb.append(PREFIX).append(name).append("_bucket{le=\"+Inf\"} ").append(c[LE_NANOS.length]).append('\n');
+        sb.append(PREFIX).append(name).append("_sum ").append(sumNanos / 1e9d).append('\n');
+        sb.append(PREFIX).append(name).append("_count ").append(c[LE_NANOS.length]).append('\n');
+    }
+
+    private static void gauge(@Nonnull final StringBuilder sb, @Nonnull final String name, final long value) {
+        type(sb, PREFIX + name, "gauge");
+        sb.append(PREFIX).append(name).append(' ').append(value).append('\n');
+    }
+
+    private static void worldSample(@Nonnull final StringBuilder sb,
+                                    @Nonnull final String name,
+                                    @Nonnull final String world,
+                                    final long value) {
+        sb.append(PREFIX).append(name).append("{world=\"");
+        escapeLabel(sb, world);
+        sb.append("\"} ").append(value).append('\n');
+    }
+
+    private static void type(@Nonnull final StringBuilder sb, @Nonnull final String fullName, @Nonnull final String type) {
+        sb.append("# TYPE ").append(fullName).append(' ').append(type).append('\n');
+    }
+
+    private static void escapeLabel(@Nonnull final StringBuilder sb, @Nonnull final String value) {
+        for (int i = 0; i < value.length(); i++) {
+            final char ch = value.charAt(i);
+            switch (ch) {
+                case '\\' -> sb.append("\\\\");
+                case '"' -> sb.append("\\\"");
+                case '\n' -> sb.append("\\n");
+                default -> sb.append(ch);
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.hideenemyhealth.metrics;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Text rendering of a {@link MetricsSnapshot}, shared by {@code /hid stats} and the dashboard stats panel.
+ */
+public final class StatsFormat {
+
+    private StatsFormat() {
+    }
+
+    /**
+     * @return all stats as command output lines
+     */
+    @Nonnull
+    public static List<String> describe(@Nonnull final MetricsSnapshot s) {
+        final List<String> out = new ArrayList<>();
+        out.add("entities: " + entities(s));
+        out.add("caches: " + caches(s));
+        out.add("ui applies: players=" + s.counter(PluginMetrics.Counter.UI_APPLY_PLAYER)
+                + " npcs=" + s.counter(PluginMetrics.Counter.UI_APPLY_NPC)
+                + " other=" + s.counter(PluginMetrics.Counter.UI_APPLY_OTHER)
+                + " writes=" + s.counter(PluginMetrics.Counter.UI_WRITE)
+                + " noops=" + s.counter(PluginMetrics.Counter.UI_NOOP)
+                + " recreates=" + s.counter(PluginMetrics.Counter.UI_FORCED_RECREATE));
+        out.add("nameplate applies: players=" + s.counter(PluginMetrics.Counter.NAMEPLATE_APPLY_PLAYER)
+                + " npcs=" + s.counter(PluginMetrics.Counter.NAMEPLATE_APPLY_NPC)
+                + " writes=" + s.counter(PluginMetrics.Counter.NAMEPLATE_WRITE)
+                + " noops=" + s.counter(PluginMetrics.Counter.NAMEPLATE_NOOP));
+        for (PluginMetrics.Pass pass : PluginMetrics.Pass.values()) {
+            out.add("last refresh " + pass.name().toLowerCase(Locale.ROOT) + ": " + pass(s.lastRefresh(pass)));
+        }
+        out.add("last gc: " + gc(s));
+        out.add("apply latency: " + latency(s));
+        out.add("tick budget: " + budget(s));
+        for (BandwidthEstimator.WorldBandwidth b : s.bandwidth()) {
+            out.add("bandwidth " + b.world() + ": " + bandwidth(b));
+        }
+        return out;
+    }
+
+    /**
+     * @return per-world player / NPC counts
+     */
+    @Nonnull
+    public static String entities(@Nonnull final MetricsSnapshot s) {
+        if (s.worlds().isEmpty()) return "none tracked";
+        final StringBuilder sb = new StringBuilder();
+        for (WorldEntityCounts.WorldCount w : s.worlds()) {
+            if (sb.length() > 0) sb.append(", ");
+            sb.append(w.world()).append(' ').append(w.players()).append("p/").append(w.npcs()).append('n');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @return cache occupancy, hit ratio and memory estimate
+     */
+    @Nonnull
+    public static String caches(@Nonnull final MetricsSnapshot s) {
+        return "ui baselines=" + s.uiBaselineEntries()
+                + " (hit " + ratio(s.counter(PluginMetrics.Counter.UI_BASELINE_HIT),
+                s.counter(PluginMetrics.Counter.UI_BASELINE_MISS)) + ")"
+                + ", nameplates=" + s.nameplateBaselineEntries()
+                + " (hit " + ratio(s.counter(PluginMetrics.Counter.NAMEPLATE_BASELINE_HIT),
+                s.counter(PluginMetrics.Counter.NAMEPLATE_BASELINE_MISS)) + ")"
+                + ", ~" + kib(s.estimatedCacheBytes()) + " KiB";
+    }
+
+    /**
+     * @return most recent refresh pass of any kind
+     */
+    @Nonnull
+    public static String lastRefresh(@Nonnull final MetricsSnapshot s) {
+        PluginMetrics.Pass latest = null;
+        PluginMetrics.PassStats latestStats = null;
+        for (PluginMetrics.Pass pass : PluginMetrics.Pass.values()) {
+            final PluginMetrics.PassStats p = s.lastRefresh(pass);
+            if (p != null && (latestStats == null || p.atMillis() > latestStats.atMillis())) {
+                latest = pass;
+                latestStats = p;
+            }
+        }
+        if (latest == null) return "never";
+        return latest.name().toLowerCase(Locale.ROOT) + " " + pass(latestStats);
+    }
+
+    @Nonnull
+    public static String gc(@Nonnull final MetricsSnapshot s) {
+        final PluginMetrics.PassStats gc = s.lastGc();
+        if (gc == null) return "never";
+        return "world=" + gc.world() + " seen=" + gc.visited() + " removed=" + gc.changed()
+                + " " + millis(gc.nanos()) + " ms (total removed "
+                + s.counter(PluginMetrics.Counter.GC_REMOVED) + ")";
+    }
+
+    @Nonnull
+    public static String latency(@Nonnull final MetricsSnapshot s) {
+        if (s.sampleRate() <= 0) return "sampling off (debug.latencySampleRate)";
+        return "ui " + summary(s.uiApplyLatency()) + ", nameplates " + summary(s.nameplateApplyLatency());
+    }
+
+    @Nonnull
+    public static String budget(@Nonnull final MetricsSnapshot s) {
+        if (s.tickCallbackTime().count() == 0L) return "off (tickBudget)";
+        return "callbacks/tick " + summary(s.tickCallbackTime())
+                + ", overruns=" + s.counter(PluginMetrics.Counter.BUDGET_OVERRUNS)
+                + " deferred=" + s.counter(PluginMetrics.Counter.BUDGET_DEFERRED)
+                + " drained=" + s.counter(PluginMetrics.Counter.BUDGET_DRAINED)
+                + ", degraded=" + (s.degradedWorlds().isEmpty() ? "none" : String.join(",", s.degradedWorlds()));
+    }
+
+    /**
+     * @return estimated network effect of one world's UI list rewrites (per client)
+     */
+    @Nonnull
+    public static String bandwidth(@Nonnull final BandwidthEstimator.WorldBandwidth b) {
+        return "ids removed=" + b.idsRemoved() + " restored=" + b.idsRestored()
+                + ", updates carried=" + b.carriedUpdates() + " extra=" + b.extraUpdates()
+                + " (recreates " + b.recreates() + ")"
+                + ", ~saved " + kib(b.bytesSaved()) + " KiB spent " + kib(b.bytesSpent())
+                + " KiB net " + (b.netBytes() < 0 ? "-" : "") + kib(Math.abs(b.netBytes())) + " KiB";
+    }
+
+    @Nonnull
+    private static String pass(@Nullable final PluginMetrics.PassStats p) {
+        if (p == null) return "never";
+        return "world=" + p.world() + " visited=" + p.visited() + " changed=" + p.changed()
+                + " " + millis(p.nanos()) + " ms";
+    }
+
+    @Nonnull
+    private static String summary(@Nonnull final LatencyHistogram.Summary h) {
+        if (h.count() == 0L) return "no samples";
+        return "p50=" + micros(h.p50()) + "us p99=" + micros(h.p99()) + "us (n=" + h.count() + ")";
+    }
+
+    @Nonnull
+    private static String ratio(final long hits, final long misses) {
+        final long total = hits + misses;
+        if (total == 0L) return "-";
+        return String.format(Locale.ROOT, "%.1f%%", hits * 100d / total);
+    }
+
+    @Nonnull
+    private static String millis(final long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1_000_000d);
+    }
+
+    @Nonnull
+    private static String micros(final long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1_000d);
+    }
+
+    private static long kib(final long bytes) {
+        return (bytes + 1023L) / 1024L;
+    }
+}
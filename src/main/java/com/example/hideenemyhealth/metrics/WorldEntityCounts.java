@@ -0,0 +1,112 @@
+package com.example.hideenemyhealth.metrics;
+
+import com.example.hideenemyhealth.util.WorldThreadExecutor;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.universe.Universe;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Live player / NPC counts per world, maintained by the lifecycle systems (spawn / despawn callbacks).
+ *
+ * <p>Counts are kept per world {@link Store} (identity), so the hot path is one map probe and an increment. World
+ * names are only resolved when a snapshot is taken, from the loaded world list; no entity store is walked.
+ * Entities that were already loaded before the plugin started are not counted until they respawn.</p>
+ */
+public final class WorldEntityCounts {
+
+    private static final ConcurrentHashMap<Store<EntityStore>, Counts> COUNTS = new ConcurrentHashMap<>();
+
+    private WorldEntityCounts() {
+    }
+
+    public static void playerAdded(@Nonnull final Store<EntityStore> store) {
+        countsFor(store).players.incrementAndGet();
+    }
+
+    public static void playerRemoved(@Nonnull final Store<EntityStore> store) {
+        final Counts c = COUNTS.get(store);
+        if (c != null) c.players.updateAndGet(v -> v > 0 ? v - 1 : 0);
+    }
+
+    public static void npcAdded(@Nonnull final Store<EntityStore> store) {
+        countsFor(store).npcs.incrementAndGet();
+    }
+
+    public static void npcRemoved(@Nonnull final Store<EntityStore> store) {
+        final Counts c = COUNTS.get(store);
+        if (c != null) c.npcs.updateAndGet(v -> v > 0 ? v - 1 : 0);
+    }
+
+    /**
+     * Drop the counts of a world being removed.
+     */
+    public static void forget(@Nonnull final World world) {
+        final Store<EntityStore> store = tryGetStore(world);
+        if (store != null) COUNTS.remove(store);
+    }
+
+    public static void clearAll() {
+        COUNTS.clear();
+    }
+
+    /**
+     * @return counts of every world with tracked entities
+     */
+    @Nonnull
+    static List<WorldCount> snapshot() {
+        if (COUNTS.isEmpty()) return List.of();
+
+        final List<WorldCount> out = new ArrayList<>(COUNTS.size());
+        try {
+            final Map<String, World> worlds = Universe.get().getWorlds();
+            if (worlds != null) {
+                for (World world : worlds.values()) {
+                    if (world == null) continue;
+                    final Store<EntityStore> store = tryGetStore(world);
+                    final Counts c = store != null ? COUNTS.get(store) : null;
+                    if (c == null) continue;
+                    out.add(new WorldCount(WorldThreadExecutor.safeWorldName(world), c.players.get(), c.npcs.get()));
+                }
+            }
+        } catch (Throwable ignored) {
+            // Universe not ready: report what we could resolve.
+        }
+        return out;
+    }
+
+    @Nonnull
+    private static Counts countsFor(@Nonnull final Store<EntityStore> store) {
+        final Counts c = COUNTS.get(store);
+        return c != null ? c : COUNTS.computeIfAbsent(store, s -> new Counts());
+    }
+
+    @Nullable
+    private static Store<EntityStore> tryGetStore(@Nonnull final World world) {
+        try {
+            final EntityStore entityStore = world.getEntityStore();
+            return entityStore != null ? entityStore.getStore() : null;
+        } catch (Throwable t) {
+            return null;
+        }
+    }
+
+    /**
+     * Entity counts of one world.
+     */
+    public record WorldCount(@Nonnull String world, int players, int npcs) {
+    }
+
+    private static final class Counts {
+        final AtomicInteger players = new AtomicInteger();
+        final AtomicInteger npcs = new AtomicInteger();
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.hideenemyhealth.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+import javax.annotation.Nonnull;
+
+/**
+ * JFR event spanning one baseline cache GC sweep of a world.
+ */
+@Name("serverhidesettings.BaselineGc")
+@Label("Baseline GC Sweep")
+@Category({"Server Hide Settings"})
+@Description("Removal of baseline cache entries whose entities no longer exist")
+@StackTrace(false)
+@Threshold("0 ms")
+public final class BaselineGcEvent extends jdk.jfr.Event {
+
+    @Label("World")
+    String world;
+
+    @Label("Stores")
+    int stores;
+
+    @Label("Seen Players")
+    int seenPlayers;
+
+    @Label("Seen NPCs")
+    int seenNpcs;
+
+    @Label("Removed")
+    @Description("Orphaned entries removed")
+    int removed;
+
+    /**
+     * End the event and commit it if a recording wants it.
+     */
+    public void finish(@Nonnull final String world,
+                       final int stores,
+                       final int seenPlayers,
+                       final int seenNpcs,
+                       final int removed) {
+        end();
+        if (!shouldCommit()) return;
+        this.world = world;
+        this.stores = stores;
+        this.seenPlayers = seenPlayers;
+        this.seenNpcs = seenNpcs;
+        this.removed = removed;
+        commit();
+    }
+}
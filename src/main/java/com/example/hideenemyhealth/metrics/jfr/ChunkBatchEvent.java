@@ -0,0 +1,48 @@
+package com.example.hideenemyhealth.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+import javax.annotation.Nonnull;
+
+/**
+ * JFR event spanning the work of a refresh pass on one archetype chunk.
+ *
+ * <p>Only chunks slower than the threshold (default 1 ms) are recorded, so a profiling session shows the chunks that
+ * actually contribute to a tick spike instead of one event per chunk.</p>
+ */
+@Name("serverhidesettings.ChunkBatch")
+@Label("Refresh Chunk Batch")
+@Category({"Server Hide Settings"})
+@Description("One archetype chunk processed by a refresh pass")
+@StackTrace(false)
+@Threshold("1 ms")
+public final class ChunkBatchEvent extends jdk.jfr.Event {
+
+    @Label("Pass")
+    String pass;
+
+    @Label("Entities")
+    @Description("Entities in the chunk")
+    int entities;
+
+    @Label("Changed")
+    @Description("Entities whose components were written")
+    int changed;
+
+    /**
+     * End the event and commit it if a recording wants it.
+     */
+    public void finish(@Nonnull final String pass, final int entities, final int changed) {
+        end();
+        if (!shouldCommit()) return;
+        this.pass = pass;
+        this.entities = entities;
+        this.changed = changed;
+        commit();
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.hideenemyhealth.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import javax.annotation.Nonnull;
+
+/**
+ * JFR event spanning a config reload: load, compile, publish and scheduling of follow-up work. The refresh passes it
+ * triggers run later on world threads and show up as {@link WorldRefreshEvent}s.
+ */
+@Name("serverhidesettings.ConfigReload")
+@Label("Config Reload")
+@Category({"Server Hide Settings"})
+@Description("Config reloaded from disk (command, startup or hot reload watcher)")
+@StackTrace(false)
+public final class ConfigReloadEvent extends jdk.jfr.Event {
+
+    @Label("Source")
+    @Description("reload (startup or /hid reload) or watcher (hot reload)")
+    String source;
+
+    @Label("Changed Mask")
+    @Description("CompiledPolicy.CHANGED_* bits of the effective change")
+    int changedMask;
+
+    /**
+     * End the event and commit it if a recording wants it.
+     */
+    public void finish(@Nonnull final String source, final int changedMask) {
+        end();
+        if (!shouldCommit()) return;
+        this.source = source;
+        this.changedMask = changedMask;
+        commit();
+    }
+}
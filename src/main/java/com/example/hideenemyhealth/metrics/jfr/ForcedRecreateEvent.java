@@ -0,0 +1,44 @@
+package com.example.hideenemyhealth.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import javax.annotation.Nonnull;
+
+/**
+ * JFR instant event for a {@code UIComponentList} recreated to force a client UI rebuild.
+ *
+ * <p>One per entity, so disabled by default; enable it with
+ * {@code -XX:StartFlightRecording:serverhidesettings.ForcedRecreate#enabled=true} or a custom .jfc.</p>
+ */
+@Name("serverhidesettings.ForcedRecreate")
+@Label("Forced UI Recreate")
+@Category({"Server Hide Settings"})
+@Description("Overhead UI component list recreated to make clients rebuild an entity's UI")
+@StackTrace(false)
+@Enabled(false)
+public final class ForcedRecreateEvent extends jdk.jfr.Event {
+
+    @Label("Target")
+    @Description("player, npc or other")
+    String target;
+
+    @Label("Components")
+    @Description("UI component IDs left on the entity")
+    int components;
+
+    /**
+     * Commit an instant event if a recording wants it.
+     */
+    public static void emit(@Nonnull final String target, final int components) {
+        final ForcedRecreateEvent event = new ForcedRecreateEvent();
+        if (!event.shouldCommit()) return;
+        event.target = target;
+        event.components = components;
+        event.commit();
+    }
+}
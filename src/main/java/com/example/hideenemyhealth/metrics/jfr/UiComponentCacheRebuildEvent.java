@@ -0,0 +1,45 @@
+package com.example.hideenemyhealth.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event spanning a rebuild of the UI component ID cache (asset scan). Happens at startup and whenever new
+ * UI component assets appear.
+ */
+@Name("serverhidesettings.UiComponentCacheRebuild")
+@Label("UI Component Cache Rebuild")
+@Category({"Server Hide Settings"})
+@Description("Scan of EntityUIComponent assets for health bar and combat text IDs")
+@StackTrace(false)
+public final class UiComponentCacheRebuildEvent extends jdk.jfr.Event {
+
+    @Label("Assets")
+    @Description("UI component asset slots scanned")
+    int assets;
+
+    @Label("Health IDs")
+    int healthIds;
+
+    @Label("Combat Text IDs")
+    int combatTextIds;
+
+    @Label("Success")
+    boolean success;
+
+    /**
+     * End the event and commit it if a recording wants it.
+     */
+    public void finish(final int assets, final int healthIds, final int combatTextIds, final boolean success) {
+        end();
+        if (!shouldCommit()) return;
+        this.assets = assets;
+        this.healthIds = healthIds;
+        this.combatTextIds = combatTextIds;
+        this.success = success;
+        commit();
+    }
+}
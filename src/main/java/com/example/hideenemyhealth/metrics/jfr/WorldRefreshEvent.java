@@ -0,0 +1,52 @@
+package com.example.hideenemyhealth.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+import javax.annotation.Nonnull;
+
+/**
+ * JFR event spanning one world refresh pass (UI players / UI NPCs / nameplate players / nameplate NPCs).
+ *
+ * <p>Usage: construct and {@link #begin()} when the pass starts, {@link #finish} when it ends. With no recording
+ * running {@link #shouldCommit()} is false and the event costs an allocation the JIT usually removes.</p>
+ */
+@Name("serverhidesettings.WorldRefresh")
+@Label("World Refresh")
+@Category({"Server Hide Settings"})
+@Description("A refresh pass re-applying the hide settings to already-loaded entities of one world")
+@StackTrace(false)
+@Threshold("0 ms")
+public final class WorldRefreshEvent extends jdk.jfr.Event {
+
+    @Label("World")
+    String world;
+
+    @Label("Pass")
+    String pass;
+
+    @Label("Visited")
+    @Description("Entities (or, for chunk-batched passes, chunks) visited")
+    int visited;
+
+    @Label("Changed")
+    @Description("Entities whose components were written")
+    int changed;
+
+    /**
+     * End the event and commit it if a recording wants it.
+     */
+    public void finish(@Nonnull final String pass, @Nonnull final String world, final int visited, final int changed) {
+        end();
+        if (!shouldCommit()) return;
+        this.pass = pass;
+        this.world = world;
+        this.visited = visited;
+        this.changed = changed;
+        commit();
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.hideenemyhealth.systems;
+
+import com.example.hideenemyhealth.systems.hideentityui.CombatRevealTracker;
+import com.example.hideenemyhealth.systems.hideentityui.TickBudget;
+import com.hypixel.hytale.component.ArchetypeChunk;
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.SystemGroup;
+import com.hypixel.hytale.component.query.Query;
+import com.hypixel.hytale.server.core.modules.entity.damage.Damage;
+import com.hypixel.hytale.server.core.modules.entity.damage.DamageEventSystem;
+import com.hypixel.hytale.server.core.modules.entity.damage.DamageModule;
+import com.hypixel.hytale.server.core.modules.entityui.UIComponentList;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Combat hook for {@code combatReveal}: (re)starts the reveal timer of the damaged entity and of the attacker.
+ *
+ * <p>Runs in the inspect-damage group, i.e. after damage has been computed and filtered, so cancelled hits do not
+ * reveal anything.</p>
+ */
+public final class CombatRevealDamageSystem extends DamageEventSystem {
+
+    private final Query<EntityStore> query = UIComponentList.getComponentType();
+
+    @Nonnull
+    @Override
+    public Query<EntityStore> getQuery() {
+        return query;
+    }
+
+    @Nullable
+    @Override
+    public SystemGroup<EntityStore> getGroup() {
+        try {
+            return DamageModule.get().getInspectDamageGroup();
+        } catch (Throwable ignored) {
+            return null;
+        }
+    }
+
+    @Override
+    public void handle(final int index,
+                       @Nonnull final ArchetypeChunk<EntityStore> chunk,
+                       @Nonnull final Store<EntityStore> store,
+                       @Nonnull final CommandBuffer<EntityStore> buffer,
+                       @Nonnull final Damage damage) {
+        if (damage.isCancelled()) return;
+
+        final long t0 = TickBudget.enter();
+        try {
+            reveal(chunk.getReferenceTo(index), store, buffer, damage);
+        } finally {
+            TickBudget.exit(t0);
+        }
+    }
+
+    private static void reveal(@Nullable final Ref<EntityStore> target,
+                               @Nonnull final Store<EntityStore> store,
+                               @Nonnull final CommandBuffer<EntityStore> buffer,
+                               @Nonnull final Damage damage) {
+        if (target != null && target.isValid()) {
+            CombatRevealTracker.onCombat(target, store, buffer);
+        }
+
+        if (damage.getSource() instanceof Damage.EntitySource source) {
+            final Ref<EntityStore> attacker = source.getRef();
+            // Cross-store refs cannot be written through this buffer; the attacker's own hits reveal it there.
+            if (attacker != null && attacker.isValid() && attacker.getStore() == store && !attacker.equals(target)) {
+                CombatRevealTracker.onCombat(attacker, store, buffer);
+            }
+        }
+    }
+}
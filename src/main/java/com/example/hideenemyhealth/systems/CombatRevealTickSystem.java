@@ -0,0 +1,21 @@
+package com.example.hideenemyhealth.systems;
+
+import com.example.hideenemyhealth.systems.hideentityui.CombatRevealTracker;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.system.tick.TickingSystem;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Drives the combat reveal timing wheel from the world tick.
+ *
+ * <p>Runs once per world tick (not per entity); when no reveal timer is pending this is a single size check.</p>
+ */
+public final class CombatRevealTickSystem extends TickingSystem<EntityStore> {
+
+    @Override
+    public void tick(final float dt, final int systemIndex, @Nonnull final Store<EntityStore> store) {
+        CombatRevealTracker.onWorldTick(dt, store);
+    }
+}
@@ -3,6 +3,7 @@ package com.example.hideenemyhealth.systems;
 import com.example.hideenemyhealth.HideEnemyHealthPlugin;
 import com.example.hideenemyhealth.systems.hideentityui.EntityUiBaselineCache;
 import com.example.hideenemyhealth.systems.hideentityui.HideEntityUiApplier;
+import com.example.hideenemyhealth.systems.hideentityui.TickBudget;
 import com.hypixel.hytale.component.CommandBuffer;
 import com.hypixel.hytale.component.ComponentType;
 import com.hypixel.hytale.component.Ref;
@@ -77,6 +78,7 @@ public final class HideEntityUiComponentListChangeSystem extends RefChangeSystem
     private static void apply(@Nonnull final Ref<EntityStore> ref,
                               @Nonnull final Store<EntityStore> store,
                               @Nonnull final CommandBuffer<EntityStore> commandBuffer) {
+        final long t0 = TickBudget.enter();
         try {
             // Auto-detect Player vs NPC target inside the applier.
             HideEntityUiApplier.applyForRefAndReport(ref, store, commandBuffer, null, false);
@@ -84,6 +86,8 @@ public final class HideEntityUiComponentListChangeSystem extends RefChangeSystem
             LOGGER.at(Level.WARNING).withCause(t).log(
                     "%s UIComponentList change apply failed", HideEnemyHealthPlugin.LOG_PREFIX
             );
+        } finally {
+            TickBudget.exit(t0);
         }
     }
 }
@@ -0,0 +1,59 @@
+package com.example.hideenemyhealth.systems;
+
+import com.example.hideenemyhealth.config.CompiledPolicy;
+import com.example.hideenemyhealth.systems.hideentityui.HideEntityUiConfigRegistry;
+import com.example.hideenemyhealth.systems.hideentityui.RegionTransitionTracker;
+import com.example.hideenemyhealth.systems.hideentityui.TickBudget;
+import com.hypixel.hytale.component.ArchetypeChunk;
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.query.Query;
+import com.hypixel.hytale.component.system.tick.EntityTickingSystem;
+import com.hypixel.hytale.server.core.modules.entity.component.TransformComponent;
+import com.hypixel.hytale.server.core.modules.entityui.UIComponentList;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Movement hook for region-based policies.
+ *
+ * <p>Each tick we map the entity position to a region id through the world's grid index and compare it with the
+ * last known region. UI settings are re-applied only on a region change, so no full-world rescans are needed.
+ * The world policy is resolved once per entity tick and handed to the tracker; worlds without regions stop there.
+ * Entities that stay in a grid cell no region touches skip the region lookup (see
+ * {@link RegionTransitionTracker}).</p>
+ */
+public final class HideEntityUiRegionSystem extends EntityTickingSystem<EntityStore> {
+
+    private final Query<EntityStore> query =
+            Query.and(UIComponentList.getComponentType(), TransformComponent.getComponentType());
+
+    @Nonnull
+    @Override
+    public Query<EntityStore> getQuery() {
+        return query;
+    }
+
+    @Override
+    public void tick(final float dt,
+                     final int index,
+                     @Nonnull final ArchetypeChunk<EntityStore> chunk,
+                     @Nonnull final Store<EntityStore> store,
+                     @Nonnull final CommandBuffer<EntityStore> buffer) {
+        final CompiledPolicy worldPolicy = HideEntityUiConfigRegistry.getPolicy(store);
+        if (worldPolicy.regions == null) return;
+
+        final Ref<EntityStore> ref = chunk.getReferenceTo(index);
+        if (ref == null || !ref.isValid()) return;
+
+        final long t0 = TickBudget.enter();
+        try {
+            RegionTransitionTracker.onTick(ref, store, buffer,
+                    chunk.getComponent(index, TransformComponent.getComponentType()), worldPolicy);
+        } finally {
+            TickBudget.exit(t0);
+        }
+    }
+}
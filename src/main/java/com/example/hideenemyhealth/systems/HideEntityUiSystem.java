@@ -1,10 +1,13 @@
 package com.example.hideenemyhealth.systems;
 
-import com.example.hideenemyhealth.config.HideEnemyHealthConfig;
+import com.example.hideenemyhealth.config.CompiledPolicy;
+import com.example.hideenemyhealth.systems.hideentityui.CombatRevealTracker;
 import com.example.hideenemyhealth.systems.hideentityui.EntityUiBaselineCache;
 import com.example.hideenemyhealth.systems.hideentityui.HideEntityUiApplier;
 import com.example.hideenemyhealth.systems.hideentityui.HideEntityUiConfigRegistry;
 import com.example.hideenemyhealth.systems.hideentityui.HideEntityUiWorldRefresher;
+import com.example.hideenemyhealth.systems.hideentityui.RegionTransitionTracker;
+import com.example.hideenemyhealth.systems.hideentityui.TickBudget;
 import com.hypixel.hytale.component.AddReason;
 import com.hypixel.hytale.component.CommandBuffer;
 import com.hypixel.hytale.component.Ref;
@@ -14,6 +17,7 @@ import com.hypixel.hytale.component.query.Query;
 import com.hypixel.hytale.component.system.RefSystem;
 import com.hypixel.hytale.server.core.entity.entities.Player;
 import com.hypixel.hytale.server.core.modules.entityui.UIComponentList;
+import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.hypixel.hytale.server.npc.entities.NPCEntity;
 
@@ -84,18 +88,18 @@ public final class HideEntityUiSystem extends RefSystem<EntityStore> {
     }
 
     /**
-     * Update active config (shared across all system instances).
+     * Update active policy (shared across all system instances).
      */
-    public static void setConfig(@Nonnull final HideEnemyHealthConfig cfg) {
-        HideEntityUiConfigRegistry.setConfig(cfg);
+    public static void setPolicy(@Nonnull final CompiledPolicy policy) {
+        HideEntityUiConfigRegistry.setPolicy(policy);
     }
 
     /**
-     * Read current active config.
+     * Read current active policy.
      */
     @Nonnull
-    public static HideEnemyHealthConfig getConfig() {
-        return HideEntityUiConfigRegistry.getConfig();
+    public static CompiledPolicy getPolicy() {
+        return HideEntityUiConfigRegistry.getPolicy();
     }
 
     /**
@@ -126,6 +130,13 @@ public final class HideEntityUiSystem extends RefSystem<EntityStore> {
         HideEntityUiWorldRefresher.gcBaselineCache();
     }
 
+    /**
+     * Drop cached baselines (overhead UI and nameplates) of a removed world.
+     */
+    public static void forgetWorldBaselines(@Nonnull final World world) {
+        HideEntityUiWorldRefresher.forgetWorldBaselines(world);
+    }
+
     /**
      * Called by ECS when an entity matching {@link #getQuery()} appears or changes archetype.
      */
@@ -141,7 +152,12 @@ public final class HideEntityUiSystem extends RefSystem<EntityStore> {
             case ALL -> null;
         };
 
-        HideEntityUiApplier.applyForRef(entityRef, store, buffer, forceNpc);
+        final long t0 = TickBudget.enter();
+        try {
+            HideEntityUiApplier.applyForRef(entityRef, store, buffer, forceNpc);
+        } finally {
+            TickBudget.exit(t0);
+        }
     }
 
     /**
@@ -154,6 +170,8 @@ public final class HideEntityUiSystem extends RefSystem<EntityStore> {
                                @Nonnull final Store<EntityStore> store,
                                @Nonnull final CommandBuffer<EntityStore> buffer) {
         EntityUiBaselineCache.remove(ref);
+        RegionTransitionTracker.forget(ref);
+        CombatRevealTracker.forget(ref);
     }
 
     /**
@@ -0,0 +1,73 @@
+package com.example.hideenemyhealth.systems;
+
+import com.example.hideenemyhealth.systems.hideentityui.TickBudget;
+import com.example.hideenemyhealth.systems.hidenameplate.HideNpcNameplateApplier;
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.ComponentType;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.query.Query;
+import com.hypixel.hytale.component.system.RefChangeSystem;
+import com.hypixel.hytale.server.core.entity.nameplate.Nameplate;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.hypixel.hytale.server.npc.entities.NPCEntity;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Reacts to {@link Nameplate} writes on NPCs so hidden NPC nameplates stay hidden when the server or other
+ * plugins set them after spawn. The query already restricts this to NPC archetypes, and the written component is
+ * passed straight to the applier.
+ */
+public final class HideNpcNameplateChangeSystem extends RefChangeSystem<EntityStore, Nameplate> {
+
+    private final Query<EntityStore> query = Query.and(Nameplate.getComponentType(), NPCEntity.getComponentType());
+
+    @Nonnull
+    @Override
+    public ComponentType<EntityStore, Nameplate> componentType() {
+        return Nameplate.getComponentType();
+    }
+
+    @Nullable
+    @Override
+    public Query<EntityStore> getQuery() {
+        return query;
+    }
+
+    @Override
+    public void onComponentAdded(@Nonnull final Ref<EntityStore> ref,
+                                 @Nonnull final Nameplate nameplate,
+                                 @Nonnull final Store<EntityStore> store,
+                                 @Nonnull final CommandBuffer<EntityStore> commandBuffer) {
+        final long t0 = TickBudget.enter();
+        try {
+            HideNpcNameplateApplier.applyForNpc(ref, store, commandBuffer, nameplate);
+        } finally {
+            TickBudget.exit(t0);
+        }
+    }
+
+    @Override
+    public void onComponentSet(@Nonnull final Ref<EntityStore> ref,
+                               @Nullable final Nameplate oldComponent,
+                               @Nonnull final Nameplate newComponent,
+                               @Nonnull final Store<EntityStore> store,
+                               @Nonnull final CommandBuffer<EntityStore> commandBuffer) {
+        final long t0 = TickBudget.enter();
+        try {
+            HideNpcNameplateApplier.applyForNpc(ref, store, commandBuffer, newComponent);
+        } finally {
+            TickBudget.exit(t0);
+        }
+    }
+
+    @Override
+    public void onComponentRemoved(@Nonnull final Ref<EntityStore> ref,
+                                   @Nonnull final Nameplate nameplate,
+                                   @Nonnull final Store<EntityStore> store,
+                                   @Nonnull final CommandBuffer<EntityStore> commandBuffer) {
+        // Do NOT clear baselines here: removal can be caused by us when hiding.
+    }
+}
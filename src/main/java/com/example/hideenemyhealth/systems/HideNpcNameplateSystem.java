@@ -0,0 +1,59 @@
+package com.example.hideenemyhealth.systems;
+
+import com.example.hideenemyhealth.metrics.WorldEntityCounts;
+import com.example.hideenemyhealth.systems.hideentityui.TickBudget;
+import com.example.hideenemyhealth.systems.hidenameplate.HideNpcNameplateApplier;
+import com.example.hideenemyhealth.systems.hidenameplate.NameplateBaselineCache;
+import com.hypixel.hytale.component.AddReason;
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.RemoveReason;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.query.Query;
+import com.hypixel.hytale.component.system.RefSystem;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.hypixel.hytale.server.npc.entities.NPCEntity;
+
+import javax.annotation.Nonnull;
+
+/**
+ * ECS system that applies the "NPCs: Hide nameplates" setting to spawning NPCs.
+ */
+public final class HideNpcNameplateSystem extends RefSystem<EntityStore> {
+
+    private final Query<EntityStore> query = Query.and(NPCEntity.getComponentType());
+
+    @Nonnull
+    @Override
+    public Query<EntityStore> getQuery() {
+        // Like the player system, Nameplate is NOT part of the query: we may remove it and must keep the
+        // baseline until the NPC itself goes away.
+        return query;
+    }
+
+    @Override
+    public void onEntityAdded(@Nonnull final Ref<EntityStore> entityRef,
+                              @Nonnull final AddReason addReason,
+                              @Nonnull final Store<EntityStore> store,
+                              @Nonnull final CommandBuffer<EntityStore> commandBuffer) {
+        WorldEntityCounts.npcAdded(store);
+        final long t0 = TickBudget.enter();
+        try {
+            HideNpcNameplateApplier.applyForNpc(entityRef, store, commandBuffer);
+        } finally {
+            TickBudget.exit(t0);
+        }
+    }
+
+    @Override
+    public void onEntityRemove(@Nonnull final Ref<EntityStore> entityRef,
+                               @Nonnull final RemoveReason reason,
+                               @Nonnull final Store<EntityStore> store,
+                               @Nonnull final CommandBuffer<EntityStore> commandBuffer) {
+        WorldEntityCounts.npcRemoved(store);
+        try {
+            NameplateBaselineCache.remove(entityRef);
+        } catch (Throwable ignored) {
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.hideenemyhealth.systems;
 
+import com.example.hideenemyhealth.systems.hideentityui.TickBudget;
 import com.example.hideenemyhealth.systems.hidenameplate.HidePlayerNameplateApplier;
 import com.hypixel.hytale.component.CommandBuffer;
 import com.hypixel.hytale.component.ComponentType;
@@ -16,10 +17,13 @@ import javax.annotation.Nullable;
 
 /**
  * Reacts to {@link Nameplate} writes so the hide-nameplates feature stays applied even if the server or
- * other plugins set/replace player nameplates after spawn.
+ * other plugins set/replace player nameplates after spawn. The query already restricts this to player archetypes,
+ * and the written component is passed straight to the applier (no {@link Player} probe, no component read).
  */
 public final class HidePlayerNameplateChangeSystem extends RefChangeSystem<EntityStore, Nameplate> {
 
+    private final Query<EntityStore> query = Query.and(Nameplate.getComponentType(), Player.getComponentType());
+
     @Nonnull
     @Override
     public ComponentType<EntityStore, Nameplate> componentType() {
@@ -29,7 +33,7 @@ public final class HidePlayerNameplateChangeSystem extends RefChangeSystem<Entit
     @Nullable
     @Override
     public Query<EntityStore> getQuery() {
-        return Query.and(Nameplate.getComponentType());
+        return query;
     }
 
     @Override
@@ -37,7 +41,12 @@ public final class HidePlayerNameplateChangeSystem extends RefChangeSystem<Entit
                                  @Nonnull final Nameplate nameplate,
                                  @Nonnull final Store<EntityStore> store,
                                  @Nonnull final CommandBuffer<EntityStore> commandBuffer) {
-        applyIfPlayer(ref, store, commandBuffer);
+        final long t0 = TickBudget.enter();
+        try {
+            HidePlayerNameplateApplier.applyForPlayer(ref, store, commandBuffer, nameplate);
+        } finally {
+            TickBudget.exit(t0);
+        }
     }
 
     @Override
@@ -46,7 +55,12 @@ public final class HidePlayerNameplateChangeSystem extends RefChangeSystem<Entit
                                @Nonnull final Nameplate newComponent,
                                @Nonnull final Store<EntityStore> store,
                                @Nonnull final CommandBuffer<EntityStore> commandBuffer) {
-        applyIfPlayer(ref, store, commandBuffer);
+        final long t0 = TickBudget.enter();
+        try {
+            HidePlayerNameplateApplier.applyForPlayer(ref, store, commandBuffer, newComponent);
+        } finally {
+            TickBudget.exit(t0);
+        }
     }
 
     @Override
@@ -56,15 +70,4 @@ public final class HidePlayerNameplateChangeSystem extends RefChangeSystem<Entit
                                    @Nonnull final CommandBuffer<EntityStore> commandBuffer) {
         // Do NOT clear baselines here: removal can be caused by us when hiding.
     }
-
-    private static void applyIfPlayer(@Nonnull final Ref<EntityStore> ref,
-                                      @Nonnull final Store<EntityStore> store,
-                                      @Nonnull final CommandBuffer<EntityStore> commandBuffer) {
-        try {
-            if (store.getComponent(ref, Player.getComponentType()) == null) return;
-        } catch (Throwable ignored) {
-            return;
-        }
-        HidePlayerNameplateApplier.applyForRefAndReport(ref, store, commandBuffer, false);
-    }
 }
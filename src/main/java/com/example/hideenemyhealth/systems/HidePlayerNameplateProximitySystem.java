@@ -0,0 +1,51 @@
+package com.example.hideenemyhealth.systems;
+
+import com.example.hideenemyhealth.systems.hideentityui.TickBudget;
+import com.example.hideenemyhealth.systems.hidenameplate.ProximityNameplateTracker;
+import com.hypixel.hytale.component.ArchetypeChunk;
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.query.Query;
+import com.hypixel.hytale.component.system.tick.EntityTickingSystem;
+import com.hypixel.hytale.server.core.entity.entities.Player;
+import com.hypixel.hytale.server.core.modules.entity.component.TransformComponent;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Movement hook for proximity nameplates ({@code nameplateProximity}).
+ *
+ * <p>Feeds player positions into the world's spatial hash; nameplates are toggled only when occupancy around a
+ * player changes (see {@link ProximityNameplateTracker}).</p>
+ */
+public final class HidePlayerNameplateProximitySystem extends EntityTickingSystem<EntityStore> {
+
+    private final Query<EntityStore> query =
+            Query.and(Player.getComponentType(), TransformComponent.getComponentType());
+
+    @Nonnull
+    @Override
+    public Query<EntityStore> getQuery() {
+        return query;
+    }
+
+    @Override
+    public void tick(final float dt,
+                     final int index,
+                     @Nonnull final ArchetypeChunk<EntityStore> chunk,
+                     @Nonnull final Store<EntityStore> store,
+                     @Nonnull final CommandBuffer<EntityStore> buffer) {
+        final Ref<EntityStore> ref = chunk.getReferenceTo(index);
+        if (ref == null || !ref.isValid()) return;
+
+        final long t0 = TickBudget.enter();
+        try {
+            ProximityNameplateTracker.onTick(ref, store, buffer,
+                    chunk.getComponent(index, TransformComponent.getComponentType()));
+        } finally {
+            TickBudget.exit(t0);
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package com.example.hideenemyhealth.systems;
 
-import com.example.hideenemyhealth.config.HideEnemyHealthConfig;
+import com.example.hideenemyhealth.config.CompiledPolicy;
+import com.example.hideenemyhealth.metrics.WorldEntityCounts;
+import com.example.hideenemyhealth.systems.hideentityui.TickBudget;
 import com.example.hideenemyhealth.systems.hidenameplate.HideNameplateConfigRegistry;
 import com.example.hideenemyhealth.systems.hidenameplate.HideNameplateWorldRefresher;
 import com.example.hideenemyhealth.systems.hidenameplate.HidePlayerNameplateApplier;
 import com.example.hideenemyhealth.systems.hidenameplate.NameplateBaselineCache;
+import com.example.hideenemyhealth.systems.hidenameplate.ProximityNameplateTracker;
 import com.hypixel.hytale.component.AddReason;
 import com.hypixel.hytale.component.CommandBuffer;
 import com.hypixel.hytale.component.Ref;
@@ -22,9 +25,9 @@ import javax.annotation.Nonnull;
  */
 public final class HidePlayerNameplateSystem extends RefSystem<EntityStore> {
 
-    /** Publish config reference for the nameplate feature. */
-    public static void setConfig(@Nonnull final HideEnemyHealthConfig cfg) {
-        HideNameplateConfigRegistry.setConfig(cfg);
+    /** Publish compiled policy for the nameplate feature. */
+    public static void setPolicy(@Nonnull final CompiledPolicy policy) {
+        HideNameplateConfigRegistry.setPolicy(policy);
     }
 
     /** Apply current config across already-loaded players. */
@@ -51,7 +54,13 @@ public final class HidePlayerNameplateSystem extends RefSystem<EntityStore> {
                               @Nonnull final Store<EntityStore> store,
                               @Nonnull final CommandBuffer<EntityStore> commandBuffer) {
         // Apply to new players as they appear. Nameplate may be attached later; a separate change system handles that.
-        HidePlayerNameplateApplier.applyForRefAndReport(entityRef, store, commandBuffer, false);
+        WorldEntityCounts.playerAdded(store);
+        final long t0 = TickBudget.enter();
+        try {
+            HidePlayerNameplateApplier.applyForPlayer(entityRef, store, commandBuffer);
+        } finally {
+            TickBudget.exit(t0);
+        }
     }
 
     @Override
@@ -60,8 +69,10 @@ public final class HidePlayerNameplateSystem extends RefSystem<EntityStore> {
                                @Nonnull final Store<EntityStore> store,
                                @Nonnull final CommandBuffer<EntityStore> commandBuffer) {
         // Entity despawn: cleanup baseline entry.
+        WorldEntityCounts.playerRemoved(store);
         try {
             NameplateBaselineCache.remove(entityRef);
+            ProximityNameplateTracker.forget(entityRef);
         } catch (Throwable ignored) {
         }
     }
@@ -0,0 +1,21 @@
+package com.example.hideenemyhealth.systems;
+
+import com.example.hideenemyhealth.systems.hideentityui.TickBudget;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.system.tick.TickingSystem;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Closes the per-tick callback accounting of {@link TickBudget} and drains its deferred work.
+ *
+ * <p>Runs once per world tick (not per entity); with the budget off and nothing deferred this is two reads.</p>
+ */
+public final class TickBudgetSystem extends TickingSystem<EntityStore> {
+
+    @Override
+    public void tick(final float dt, final int systemIndex, @Nonnull final Store<EntityStore> store) {
+        TickBudget.onWorldTick(store);
+    }
+}
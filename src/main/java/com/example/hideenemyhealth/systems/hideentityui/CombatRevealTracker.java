@@ -0,0 +1,120 @@
+package com.example.hideenemyhealth.systems.hideentityui;
+
+import com.example.hideenemyhealth.config.CompiledPolicy;
+import com.example.hideenemyhealth.util.WorldThreadExecutor;
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Combat reveal: shows an entity's hidden HP bar for a while after it takes or deals damage.
+ *
+ * <p>Reveal timers live in a {@link TimingWheel} per world thread (each world ticks on its own thread, like
+ * {@link RegionTransitionTracker}). The wheel is advanced from the world tick in {@link #STEP_MILLIS} steps, so
+ * tens of thousands of concurrent timers cost O(1) per schedule/cancel and no scheduled task per entity.</p>
+ *
+ * <p>Reveal start is applied immediately through the damage system's {@link CommandBuffer}. Expiries are collected
+ * during the tick and applied right after it via {@code world.execute}, through a chunk iteration's command buffer
+ * so the component is recreated on clients.</p>
+ */
+public final class CombatRevealTracker {
+
+    /** Wheel resolution. */
+    static final long STEP_MILLIS = 50L;
+
+    private static final ThreadLocal<State> STATE = ThreadLocal.withInitial(State::new);
+
+    private CombatRevealTracker() {
+    }
+
+    /**
+     * Damage hook: (re)start the reveal timer for an entity involved in combat.
+     */
+    public static void onCombat(@Nonnull final Ref<EntityStore> ref,
+                                @Nonnull final Store<EntityStore> store,
+                                @Nonnull final CommandBuffer<EntityStore> buffer) {
+        if (!ref.isValid()) return;
+
+        final CompiledPolicy policy = HideEntityUiApplier.effectivePolicy(ref, store);
+        if (!policy.combatRevealEnabled || !policy.anyUiHidden) return;
+
+        final State state = STATE.get();
+        final long key = EntityUiBaselineCache.entityKey(ref);
+        final boolean wasRevealed = state.wheel.contains(key);
+
+        // Rescheduling an existing timer is O(1) (unlink + relink of the same pooled node).
+        state.wheel.schedule(key, Math.max(1L, policy.combatRevealMillis / STEP_MILLIS), ref);
+
+        if (!wasRevealed && !TickBudget.deferReapply(ref)) {
+            HideEntityUiApplier.reapplyWithRestore(ref, store, buffer);
+        }
+    }
+
+    /**
+     * World tick hook: advance the wheel and re-hide entities whose reveal expired.
+     */
+    public static void onWorldTick(final float dt, @Nonnull final Store<EntityStore> store) {
+        final State state = STATE.get();
+        if (state.wheel.size() == 0) {
+            state.pendingMillis = 0f;
+            return;
+        }
+
+        state.pendingMillis += dt * 1000f;
+        while (state.pendingMillis >= STEP_MILLIS) {
+            state.pendingMillis -= STEP_MILLIS;
+            state.wheel.advance(state.sink);
+        }
+
+        if (state.expired.isEmpty()) return;
+
+        final List<Ref<EntityStore>> expired = new ArrayList<>(state.expired);
+        state.expired.clear();
+
+        final World world;
+        try {
+            world = store.getExternalData().getWorld();
+        } catch (Throwable t) {
+            return;
+        }
+        if (world == null) return;
+
+        // Re-hide through a command buffer with a recreate: a direct store write would leave the bar on clients.
+        WorldThreadExecutor.runQuiet(world, () -> HideEntityUiApplier.reapplyWithRestoreBatch(store, expired));
+    }
+
+    /**
+     * @return true if the entity currently has a running reveal timer (world thread)
+     */
+    static boolean isRevealed(@Nonnull final Ref<EntityStore> ref) {
+        final State state = STATE.get();
+        return state.wheel.size() != 0 && state.wheel.contains(EntityUiBaselineCache.entityKey(ref));
+    }
+
+    /**
+     * Cancel the reveal timer of a removed entity (world thread).
+     */
+    public static void forget(@Nonnull final Ref<EntityStore> ref) {
+        final State state = STATE.get();
+        if (state.wheel.size() == 0) return;
+        state.wheel.cancel(EntityUiBaselineCache.entityKey(ref));
+    }
+
+    /**
+     * Per-world-thread wheel state.
+     */
+    private static final class State {
+        final TimingWheel wheel = new TimingWheel(256);
+        final ArrayList<Ref<EntityStore>> expired = new ArrayList<>();
+        float pendingMillis;
+
+        @SuppressWarnings("unchecked")
+        final TimingWheel.ExpirySink sink = (key, payload) -> expired.add((Ref<EntityStore>) payload);
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.hideenemyhealth.systems.hideentityui;
 
+import com.example.hideenemyhealth.metrics.PluginMetrics;
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 
@@ -69,7 +70,13 @@ public final class EntityUiBaselineCache {
      */
     @Nonnull
     public static int[] putBaselineIfAbsent(final long key, @Nonnull final int[] baselineIds, final byte kind) {
-        final BaselineEntry entry = BASELINES.computeIfAbsent(key, k -> new BaselineEntry(baselineIds.clone(), kind));
+        BaselineEntry entry = BASELINES.get(key);
+        if (entry != null) {
+            PluginMetrics.inc(PluginMetrics.Counter.UI_BASELINE_HIT);
+        } else {
+            entry = BASELINES.computeIfAbsent(key, k -> new BaselineEntry(baselineIds.clone(), kind));
+            PluginMetrics.inc(PluginMetrics.Counter.UI_BASELINE_MISS);
+        }
         // If we learned the entity kind later, update it (unknown -> known).
         if (entry.kind == KIND_UNKNOWN && kind != KIND_UNKNOWN) {
             entry.kind = kind;
@@ -100,6 +107,13 @@ public final class EntityUiBaselineCache {
         remove(entityKey(ref));
     }
 
+    /**
+     * @return number of cached baselines
+     */
+    public static int size() {
+        return BASELINES.size();
+    }
+
     /**
      * Clear all baseline entries (used on plugin shutdown / hot-reload).
      */
@@ -142,6 +156,23 @@ public final class EntityUiBaselineCache {
         return removed;
     }
 
+    /**
+     * Drop every baseline entry of a store (world unload: its entities get no further remove callbacks).
+     *
+     * @param storeId store identity hash used by {@link #entityKey(Ref)}
+     * @return number of removed baseline entries
+     */
+    public static int removeStore(final int storeId) {
+        int removed = 0;
+        for (Map.Entry<Long, BaselineEntry> e : BASELINES.entrySet()) {
+            if (storeIdFromKey(e.getKey()) != storeId) continue;
+            if (BASELINES.remove(e.getKey(), e.getValue())) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
     /**
      * Minimal primitive long set used for GC sweeps.
      */
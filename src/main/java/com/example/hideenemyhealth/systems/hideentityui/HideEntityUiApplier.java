@@ -1,6 +1,10 @@
 package com.example.hideenemyhealth.systems.hideentityui;
 
-import com.example.hideenemyhealth.config.HideEnemyHealthConfig;
+import com.example.hideenemyhealth.config.CompiledPolicy;
+import com.example.hideenemyhealth.config.NpcRoleRules;
+import com.example.hideenemyhealth.metrics.BandwidthEstimator;
+import com.example.hideenemyhealth.metrics.PluginMetrics;
+import com.example.hideenemyhealth.metrics.jfr.ForcedRecreateEvent;
 import com.hypixel.hytale.component.CommandBuffer;
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
@@ -12,6 +16,7 @@ import com.hypixel.hytale.server.npc.entities.NPCEntity;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.Arrays;
+import java.util.List;
 
 /**
  * Applies the Server Hide Settings configuration to an entity by rewriting its {@link UIComponentList}.
@@ -19,7 +24,9 @@ import java.util.Arrays;
  * <p>Implementation rules:
  * <ul>
  *   <li>We compute from the entity's <b>current</b> {@code componentIds} list and only ever remove IDs.</li>
- *   <li>Hot "unhide" (re-adding IDs) is intentionally not supported on all client builds without relog/re-stream.</li>
+ *   <li>Hot "unhide" (re-adding IDs) is intentionally not supported on all client builds without relog/re-stream.
+ *       The exceptions are region transitions and combat reveal ({@link #applyWithRestore}), which restore
+ *       baseline IDs and recreate the component.</li>
  *   <li>All operations are safe against invalid/stale refs (we check {@link Ref#isValid()}).</li>
  * </ul>
  * </p>
@@ -75,10 +82,24 @@ public final class HideEntityUiApplier {
                                                @Nullable final CommandBuffer<EntityStore> buffer,
                                                @Nullable final Boolean forceNpc,
                                                final boolean forceClientRebuild) {
+        final long t0 = PluginMetrics.sampleStart();
+        final boolean wrote = apply(entityRef, store, buffer, forceNpc, forceClientRebuild);
+        PluginMetrics.uiApplied(wrote, t0);
+        return wrote;
+    }
 
+    private static boolean apply(@Nonnull final Ref<EntityStore> entityRef,
+                                 @Nonnull final Store<EntityStore> store,
+                                 @Nullable final CommandBuffer<EntityStore> buffer,
+                                 @Nullable final Boolean forceNpc,
+                                 final boolean forceClientRebuild) {
         if (!entityRef.isValid()) return false;
 
-        final HideEnemyHealthConfig cfg = HideEntityUiConfigRegistry.getConfig();
+        // If disabled globally (or nothing is hidden for any target), do nothing.
+        // We intentionally do not attempt to "unhide" for already-spawned entities.
+        // Some client builds do not recreate overhead UI mid-session without re-stream/relog.
+        final CompiledPolicy policy = effectivePolicy(entityRef, store);
+        if (!policy.anyUiHidden) return false;
 
         final UIComponentList list = store.getComponent(entityRef, UIComponentList.getComponentType());
         if (list == null) return false;
@@ -86,39 +107,33 @@ public final class HideEntityUiApplier {
         final int[] currentIds = UiComponentFieldAccessor.getComponentIds(list);
         if (currentIds == null) return false;
 
-        // If disabled globally, do nothing.
-        // We intentionally do not attempt to "unhide" for already-spawned entities.
-        // Some client builds do not recreate overhead UI mid-session without re-stream/relog.
-        if (!cfg.enabled) {
-            return false;
-        }
-
         final boolean isPlayer;
         final boolean isNpc;
+        final NPCEntity npc;
 
         try {
             if (forceNpc != null) {
                 isNpc = forceNpc;
                 isPlayer = !forceNpc;
+                npc = null;
             } else {
                 isPlayer = store.getComponent(entityRef, Player.getComponentType()) != null;
-                isNpc = store.getComponent(entityRef, NPCEntity.getComponentType()) != null;
+                npc = store.getComponent(entityRef, NPCEntity.getComponentType());
+                isNpc = npc != null;
             }
         } catch (Throwable t) {
             // If the store throws for any reason, skip this entity.
             return false;
         }
 
-        final HideEnemyHealthConfig.TargetSettings settings =
-                isPlayer ? cfg.getPlayers() : (isNpc ? cfg.getNpcs() : null);
-
-        if (settings == null) return false;
+        PluginMetrics.inc(isPlayer ? PluginMetrics.Counter.UI_APPLY_PLAYER
+                : (isNpc ? PluginMetrics.Counter.UI_APPLY_NPC : PluginMetrics.Counter.UI_APPLY_OTHER));
 
-        final boolean hideNone = !settings.hideDamageNumbers && !settings.hideHealthBar;
+        final int hideMask = resolveHideMask(policy, entityRef, store, isPlayer, isNpc, npc);
 
         // If nothing should be hidden for this target, do nothing.
         // We intentionally avoid trying to re-add UI components mid-session (see comment above).
-        if (hideNone) {
+        if (hideMask == 0) {
             return false;
         }
 
@@ -132,14 +147,14 @@ public final class HideEntityUiApplier {
         final int[] baselineIds = EntityUiBaselineCache.putBaselineIfAbsent(key, currentIds, kind);
 
         // Compute from the CURRENT list so we never introduce new IDs by default.
-        int[] desired = UiComponentListFilterSupport.computeDesiredIds(currentIds, settings);
+        int[] desired = UiComponentListFilterSupport.computeDesiredIds(currentIds, hideMask);
 
         // If only one category is hidden, ensure the other category's IDs that were present in the baseline
         // remain present. Some builds omit certain UI IDs (e.g., combat text) until first use; without this,
         // toggling "Hide HP" may also effectively remove damage numbers.
-        if (settings.hideHealthBar && !settings.hideDamageNumbers) {
+        if (hideMask == CompiledPolicy.HIDE_HEALTH) {
             desired = UiComponentListFilterSupport.appendMissingFromBaseline(desired, baselineIds, UiComponentCache::isCombatTextId);
-        } else if (settings.hideDamageNumbers && !settings.hideHealthBar) {
+        } else if (hideMask == CompiledPolicy.HIDE_COMBAT_TEXT) {
             desired = UiComponentListFilterSupport.appendMissingFromBaseline(desired, baselineIds, UiComponentCache::isHealthStatId);
         }
 
@@ -156,11 +171,193 @@ public final class HideEntityUiApplier {
             final boolean removedSomething = desired.length < currentIds.length;
             final boolean rebuild = forceClientRebuild && buffer != null && removedSomething;
 
-            UiComponentListWriterSupport.putComponent(entityRef, store, buffer, writable, rebuild);
+            final boolean recreated = UiComponentListWriterSupport.putComponent(entityRef, store, buffer, writable, rebuild);
+            // Spawn / component-set writes (buffer, no forced rebuild) ride on the update the game sends anyway.
+            BandwidthEstimator.uiWrite(store, currentIds.length, desired.length,
+                    forceClientRebuild || buffer == null, recreated);
+            if (rebuild) {
+                PluginMetrics.inc(PluginMetrics.Counter.UI_FORCED_RECREATE);
+                ForcedRecreateEvent.emit(targetName(isPlayer, isNpc), desired.length);
+            }
             return true;
         } catch (Throwable t) {
             // Failed to write (store may be in a transient state). Skip this entity.
             return false;
         }
     }
+
+    /**
+     * Re-apply settings with restore, resolving the entity's effective policy (world, region) first.
+     * Used when combat reveal starts or ends.
+     */
+    public static boolean reapplyWithRestore(@Nonnull final Ref<EntityStore> entityRef,
+                                             @Nonnull final Store<EntityStore> store,
+                                             @Nullable final CommandBuffer<EntityStore> buffer) {
+        if (!entityRef.isValid()) return false;
+        return applyWithRestore(entityRef, store, buffer, effectivePolicy(entityRef, store));
+    }
+
+    /**
+     * Re-apply with restore for a batch of entities of one store, outside ECS callbacks (combat reveal expiry,
+     * deferred tick-budget work).
+     *
+     * <p>A direct store write does not reach clients for restored or re-hidden IDs, so the batch borrows the
+     * {@link CommandBuffer} of a single {@code forEachChunk} callback and recreates the component through it, like
+     * the refresh passes. Remaining chunk callbacks return immediately.</p>
+     *
+     * <p>Must run on the store's world thread outside of a system tick (e.g. via {@code world.execute}).</p>
+     */
+    static void reapplyWithRestoreBatch(@Nonnull final Store<EntityStore> store,
+                                        @Nonnull final List<Ref<EntityStore>> refs) {
+        if (refs.isEmpty()) return;
+
+        final boolean[] done = new boolean[1];
+        try {
+            store.forEachChunk(UIComponentList.getComponentType(), (archetypeChunk, commandBuffer) -> {
+                if (done[0]) return;
+                done[0] = true;
+                for (Ref<EntityStore> ref : refs) {
+                    if (ref == null || !ref.isValid() || ref.getStore() != store) continue;
+                    try {
+                        reapplyWithRestore(ref, store, commandBuffer);
+                    } catch (Throwable ignored) {
+                        // Store may be in a transient state; the next UI write re-applies anyway.
+                    }
+                }
+            });
+        } catch (Throwable ignored) {
+            // Store not iterable right now (e.g. still ticking); entities keep their current list until the next apply.
+        }
+    }
+
+    /**
+     * Resolve the effective policy for an entity: per-world override, then the region the entity is in
+     * (the region is remembered for the movement hook).
+     */
+    @Nonnull
+    static CompiledPolicy effectivePolicy(@Nonnull final Ref<EntityStore> entityRef,
+                                         @Nonnull final Store<EntityStore> store) {
+        final CompiledPolicy policy = HideEntityUiConfigRegistry.getPolicy(store);
+        if (policy.regions == null || !policy.anyUiHidden) return policy;
+        return policy.forRegion(RegionTransitionTracker.resolveAndRecord(entityRef, store, policy.regions));
+    }
+
+    /**
+     * Re-apply settings after the entity's effective visibility changed (region transition, combat reveal).
+     *
+     * <p>Unlike the regular path this may also <b>restore</b> IDs: HP bar / combat text IDs from the entity's
+     * baseline snapshot that are allowed by {@code regionPolicy} are added back, and the component is recreated so
+     * clients rebuild the overhead UI. Only IDs that were present in the baseline are ever restored.</p>
+     *
+     * @param regionPolicy effective policy of the entity's current region (or the world policy outside regions)
+     * @return true if a new {@link UIComponentList} was written
+     */
+    public static boolean applyWithRestore(@Nonnull final Ref<EntityStore> entityRef,
+                                           @Nonnull final Store<EntityStore> store,
+                                           @Nullable final CommandBuffer<EntityStore> buffer,
+                                           @Nonnull final CompiledPolicy regionPolicy) {
+        final long t0 = PluginMetrics.sampleStart();
+        final boolean wrote = restore(entityRef, store, buffer, regionPolicy);
+        PluginMetrics.uiApplied(wrote, t0);
+        return wrote;
+    }
+
+    private static boolean restore(@Nonnull final Ref<EntityStore> entityRef,
+                                   @Nonnull final Store<EntityStore> store,
+                                   @Nullable final CommandBuffer<EntityStore> buffer,
+                                   @Nonnull final CompiledPolicy regionPolicy) {
+        if (!entityRef.isValid()) return false;
+
+        final UIComponentList list = store.getComponent(entityRef, UIComponentList.getComponentType());
+        if (list == null) return false;
+
+        final int[] currentIds = UiComponentFieldAccessor.getComponentIds(list);
+        if (currentIds == null) return false;
+
+        final boolean isPlayer;
+        final NPCEntity npc;
+        try {
+            isPlayer = store.getComponent(entityRef, Player.getComponentType()) != null;
+            npc = store.getComponent(entityRef, NPCEntity.getComponentType());
+        } catch (Throwable t) {
+            return false;
+        }
+        final boolean isNpc = npc != null;
+
+        if (!UiComponentCache.ensureCache()) return false;
+
+        final byte kind = isPlayer ? EntityUiBaselineCache.KIND_PLAYER
+                : (isNpc ? EntityUiBaselineCache.KIND_NPC : EntityUiBaselineCache.KIND_UNKNOWN);
+        final int[] baselineIds = EntityUiBaselineCache.putBaselineIfAbsent(
+                EntityUiBaselineCache.entityKey(entityRef), currentIds, kind);
+
+        PluginMetrics.inc(isPlayer ? PluginMetrics.Counter.UI_APPLY_PLAYER
+                : (isNpc ? PluginMetrics.Counter.UI_APPLY_NPC : PluginMetrics.Counter.UI_APPLY_OTHER));
+
+        final int hideMask = resolveHideMask(regionPolicy, entityRef, store, isPlayer, isNpc, npc);
+
+        // Restore previously removed HP / combat text IDs from the baseline, then filter for the new region.
+        final int[] source = UiComponentListFilterSupport.appendMissingFromBaseline(
+                currentIds, baselineIds, id -> UiComponentCache.isHealthStatId(id) || UiComponentCache.isCombatTextId(id));
+        final int[] desired = UiComponentListFilterSupport.computeDesiredIds(source, hideMask);
+
+        if (Arrays.equals(currentIds, desired)) {
+            return false;
+        }
+
+        try {
+            final UIComponentList writable = UiComponentListWriterSupport.prepareUiListForWrite(list, buffer);
+            UiComponentFieldAccessor.setComponentIds(writable, desired);
+            final boolean recreated =
+                    UiComponentListWriterSupport.putComponent(entityRef, store, buffer, writable, buffer != null);
+            BandwidthEstimator.uiWrite(store, currentIds.length, desired.length, true, recreated);
+            if (buffer != null) {
+                PluginMetrics.inc(PluginMetrics.Counter.UI_FORCED_RECREATE);
+                ForcedRecreateEvent.emit(targetName(isPlayer, isNpc), desired.length);
+            }
+            return true;
+        } catch (Throwable t) {
+            return false;
+        }
+    }
+
+    /**
+     * Hide mask for an entity under a policy (target default, overridden by NPC role rules).
+     *
+     * @param npc the entity's NPC component if the caller already read it, otherwise null (looked up on demand)
+     */
+    private static int resolveHideMask(@Nonnull final CompiledPolicy policy,
+                                       @Nonnull final Ref<EntityStore> entityRef,
+                                       @Nonnull final Store<EntityStore> store,
+                                       final boolean isPlayer,
+                                       final boolean isNpc,
+                                       @Nullable final NPCEntity npc) {
+        int hideMask = policy.uiMask(isPlayer, isNpc);
+
+        // NPC role rules override the NPC default for matching roles (one table load per NPC once warm).
+        final NpcRoleRules roleRules = policy.npcRoleRules;
+        if (roleRules != null && isNpc && !isPlayer) {
+            try {
+                final NPCEntity component = npc != null ? npc
+                        : store.getComponent(entityRef, NPCEntity.getComponentType());
+                if (component != null) {
+                    hideMask = NpcRoleAccess.resolveMask(roleRules, component, hideMask);
+                }
+            } catch (Throwable ignored) {
+                // Keep the NPC default.
+            }
+        }
+
+        // Combat reveal: HP bar stays visible while the entity's reveal timer is running.
+        if (policy.combatRevealEnabled && (hideMask & CompiledPolicy.HIDE_HEALTH) != 0
+                && CombatRevealTracker.isRevealed(entityRef)) {
+            hideMask &= ~CompiledPolicy.HIDE_HEALTH;
+        }
+        return hideMask;
+    }
+
+    @Nonnull
+    private static String targetName(final boolean isPlayer, final boolean isNpc) {
+        return isPlayer ? "player" : (isNpc ? "npc" : "other");
+    }
 }
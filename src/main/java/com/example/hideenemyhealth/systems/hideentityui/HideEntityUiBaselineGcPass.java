@@ -1,6 +1,9 @@
 package com.example.hideenemyhealth.systems.hideentityui;
 
-import com.example.hideenemyhealth.config.HideEnemyHealthConfig;
+import com.example.hideenemyhealth.metrics.CacheSizeLog;
+import com.example.hideenemyhealth.metrics.PluginMetrics;
+import com.example.hideenemyhealth.metrics.jfr.BaselineGcEvent;
+import com.example.hideenemyhealth.systems.hidenameplate.NameplateBaselineCache;
 import com.example.hideenemyhealth.util.WorldThreadExecutor;
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
@@ -16,6 +19,9 @@ import java.util.logging.Level;
 
 /**
  * Defensive baseline-cache garbage collection pass.
+ *
+ * <p>Sweeps both the overhead UI baselines ({@link EntityUiBaselineCache}) and the nameplate baselines
+ * ({@link NameplateBaselineCache}); they share the entity key scheme, so one scan of alive entities serves both.</p>
  */
 final class HideEntityUiBaselineGcPass {
 
@@ -28,9 +34,10 @@ final class HideEntityUiBaselineGcPass {
      * Perform a conservative baseline-cache sweep for a single world.
      */
     static void baselineGcSweepWorld(@Nonnull final World world) {
-        final HideEnemyHealthConfig cfg = HideEntityUiConfigRegistry.getConfig();
-        final boolean log = cfg.debug != null && cfg.debug.logRefreshStats;
-        final long t0 = log ? System.nanoTime() : 0L;
+        final boolean log = HideEntityUiConfigRegistry.getPolicy().logRefreshStats;
+        final long t0 = System.nanoTime();
+        final BaselineGcEvent jfr = new BaselineGcEvent();
+        jfr.begin();
 
         final LongHashSet aliveKeys = new LongHashSet(256);
         final IntHashSet storeIds = new IntHashSet(8);
@@ -38,6 +45,8 @@ final class HideEntityUiBaselineGcPass {
         final int[] seen = new int[2]; // [0]=players, [1]=npcs
 
         // Preferred path: gather alive keys via the world's EntityStore.
+        // Only a scan where both iterations ran to completion counts as full (safe to sweep everything).
+        boolean fullScan = false;
         final Store<EntityStore> worldStore = WorldStoreAccess.tryGetWorldStore(world);
         if (worldStore != null) {
             try {
@@ -64,13 +73,17 @@ final class HideEntityUiBaselineGcPass {
                         seen[1]++;
                     }
                 });
+                fullScan = true;
             } catch (Throwable ignored) {
                 // If store iteration fails for any reason, fall back to best-effort API methods below.
             }
         }
 
-        // Fallback path: Players are accessible via world.getPlayerRefs().
-        if (storeIds.isEmpty()) {
+        // Fallback path (no store, or its scan failed part-way): Players are accessible via world.getPlayerRefs().
+        // Keys from a partial scan are kept: extra alive keys only ever protect entries.
+        boolean playersComplete = fullScan;
+        boolean npcsComplete = fullScan;
+        if (!fullScan) {
             try {
                 for (PlayerRef playerRef : world.getPlayerRefs()) {
                     if (playerRef == null) continue;
@@ -82,12 +95,14 @@ final class HideEntityUiBaselineGcPass {
                     storeIds.add(EntityUiBaselineCache.storeIdFromKey(key));
                     seen[0]++;
                 }
+                playersComplete = true;
             } catch (Throwable ignored) {
             }
 
-            // NPCs may be unavailable depending on server build.
+            // NPCs may be unavailable depending on server build; an empty result is not trusted.
             final Iterable<?> npcRefs = NpcRefAccess.getNpcRefs(world);
             if (npcRefs != null) {
+                int fallbackNpcs = 0;
                 try {
                     for (Object npcRefLike : npcRefs) {
                         if (npcRefLike == null) continue;
@@ -98,7 +113,9 @@ final class HideEntityUiBaselineGcPass {
                         aliveKeys.add(key);
                         storeIds.add(EntityUiBaselineCache.storeIdFromKey(key));
                         seen[1]++;
+                        fallbackNpcs++;
                     }
+                    npcsComplete = fallbackNpcs > 0;
                 } catch (Throwable ignored) {
                 }
             }
@@ -107,25 +124,54 @@ final class HideEntityUiBaselineGcPass {
         // We can only sweep stores for which we observed at least one entity ref.
         if (storeIds.isEmpty()) return;
 
-        // We can see the world's EntityStore -> safe to sweep both kinds.
-        // On fallback paths, keep previous conservative behavior.
-        final int sweepKindsMask = (worldStore != null)
-                ? (EntityUiBaselineCache.KIND_PLAYER | EntityUiBaselineCache.KIND_NPC)
-                : (EntityUiBaselineCache.KIND_PLAYER | (seen[1] > 0 ? EntityUiBaselineCache.KIND_NPC : 0));
+        // Only sweep kinds whose alive set is complete (full store scan, or a fallback listing that finished).
+        final int sweepKindsMask = (playersComplete ? EntityUiBaselineCache.KIND_PLAYER : 0)
+                | (npcsComplete ? EntityUiBaselineCache.KIND_NPC : 0);
+
+        // Nameplate entries carry no kind: only sweep them when every entity of the store was scanned.
+        final boolean sweepNameplates = fullScan;
 
         int removed = 0;
         for (int i = 0; i < storeIds.capacity(); i++) {
             if (!storeIds.isUsedAt(i)) continue;
             final int storeId = storeIds.getValueAt(i);
             removed += EntityUiBaselineCache.sweepOrphanedForStore(storeId, aliveKeys, sweepKindsMask);
+            if (sweepNameplates) {
+                removed += NameplateBaselineCache.sweepOrphanedForStore(storeId, aliveKeys);
+            }
         }
 
+        final long nanos = System.nanoTime() - t0;
+        PluginMetrics.recordGc(WorldThreadExecutor.safeWorldName(world), seen[0] + seen[1], removed, nanos);
+        jfr.finish(WorldThreadExecutor.safeWorldName(world), storeIds.count(), seen[0], seen[1], removed);
+        CacheSizeLog.record(WorldThreadExecutor.safeWorldName(world), seen[0] + seen[1], removed);
         if (log) {
-            final long ms = (System.nanoTime() - t0) / 1_000_000L;
+            final long ms = nanos / 1_000_000L;
             LOGGER.at(Level.INFO).log(
                     "[ServerHideSettings][BaselineGC] world=%s stores=%d seenPlayers=%d seenNpcs=%d removed=%d timeMs=%d",
                     WorldThreadExecutor.safeWorldName(world), storeIds.count(), seen[0], seen[1], removed, ms
             );
         }
     }
+
+    /**
+     * Drop both baseline caches' entries of an unloaded world. Its entities get no further remove callbacks, so
+     * without this the entries would stay until shutdown (the periodic sweep only visits loaded worlds).
+     *
+     * @return number of removed entries
+     */
+    static int forgetWorld(@Nonnull final World world) {
+        final Store<EntityStore> store = WorldStoreAccess.tryGetWorldStore(world);
+        if (store == null) return 0;
+        final int storeId = System.identityHashCode(store);
+        final int removed = EntityUiBaselineCache.removeStore(storeId) + NameplateBaselineCache.removeStore(storeId);
+        if (removed > 0) {
+            PluginMetrics.add(PluginMetrics.Counter.GC_REMOVED, removed);
+            LOGGER.at(Level.FINE).log(
+                    "[ServerHideSettings][BaselineGC] world=%s unloaded, dropped %d baseline entries",
+                    WorldThreadExecutor.safeWorldName(world), removed
+            );
+        }
+        return removed;
+    }
 }
@@ -1,39 +1,50 @@
 package com.example.hideenemyhealth.systems.hideentityui;
 
-import com.example.hideenemyhealth.config.HideEnemyHealthConfig;
+import com.example.hideenemyhealth.config.CompiledPolicy;
+import com.example.hideenemyhealth.config.WorldPolicyIndex;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 
 import javax.annotation.Nonnull;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
- * Thread-safe holder for the active {@link HideEnemyHealthConfig}.
+ * Thread-safe holder for the active {@link CompiledPolicy}.
  *
- * <p>ECS systems and UI code access config through this registry to avoid holding plugin references and to
- * allow hot-reload / config reload to update the active view immediately.</p>
+ * <p>ECS systems and UI code access settings through this registry to avoid holding plugin references and to
+ * allow hot-reload / config reload to update the active view immediately. The policy is immutable, so a reader
+ * always sees one consistent snapshot.</p>
  */
 public final class HideEntityUiConfigRegistry {
 
-    private static final AtomicReference<HideEnemyHealthConfig> CONFIG_REF =
-            new AtomicReference<>(new HideEnemyHealthConfig());
+    private static final AtomicReference<CompiledPolicy> POLICY_REF =
+            new AtomicReference<>(CompiledPolicy.DEFAULTS);
 
     private HideEntityUiConfigRegistry() {
     }
 
     /**
-     * Publish config to all systems.
+     * Publish a compiled policy to all systems.
      *
-     * @param cfg new config (will be normalized)
+     * @param policy new policy
      */
-    public static void setConfig(@Nonnull final HideEnemyHealthConfig cfg) {
-        cfg.normalize();
-        CONFIG_REF.set(cfg);
+    public static void setPolicy(@Nonnull final CompiledPolicy policy) {
+        POLICY_REF.set(policy);
     }
 
     /**
-     * @return current active config (always non-null)
+     * @return current active policy (always non-null)
      */
     @Nonnull
-    public static HideEnemyHealthConfig getConfig() {
-        return CONFIG_REF.get();
+    public static CompiledPolicy getPolicy() {
+        return POLICY_REF.get();
+    }
+
+    /**
+     * @return active policy for the world owning {@code store} (per-world override or the global policy)
+     */
+    @Nonnull
+    public static CompiledPolicy getPolicy(@Nonnull final Store<EntityStore> store) {
+        return WorldPolicyIndex.forStore(POLICY_REF.get(), store);
     }
 }
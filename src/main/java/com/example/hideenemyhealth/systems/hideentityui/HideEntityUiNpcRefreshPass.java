@@ -1,6 +1,8 @@
 package com.example.hideenemyhealth.systems.hideentityui;
 
-import com.example.hideenemyhealth.config.HideEnemyHealthConfig;
+import com.example.hideenemyhealth.metrics.PluginMetrics;
+import com.example.hideenemyhealth.metrics.jfr.ChunkBatchEvent;
+import com.example.hideenemyhealth.metrics.jfr.WorldRefreshEvent;
 import com.example.hideenemyhealth.util.WorldThreadExecutor;
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
@@ -27,9 +29,10 @@ final class HideEntityUiNpcRefreshPass {
      * Refresh all NPC-like entities currently present in a world.
      */
     static void refreshNpcs(@Nonnull final World world) {
-        final HideEnemyHealthConfig cfg = HideEntityUiConfigRegistry.getConfig();
-        final boolean log = cfg.debug != null && cfg.debug.logRefreshStats;
-        final long t0 = log ? System.nanoTime() : 0L;
+        final boolean log = HideEntityUiConfigRegistry.getPolicy().logRefreshStats;
+        final long t0 = System.nanoTime();
+        final WorldRefreshEvent jfr = new WorldRefreshEvent();
+        jfr.begin();
 
         // Preferred path: iterate via ECS chunk iteration over NPCEntity component.
         final Store<EntityStore> worldStore = WorldStoreAccess.tryGetWorldStore(world);
@@ -37,6 +40,9 @@ final class HideEntityUiNpcRefreshPass {
             final int[] stats = new int[2]; // [0]=visited, [1]=changed
             try {
                 worldStore.forEachChunk(NPCEntity.getComponentType(), (archetypeChunk, commandBuffer) -> {
+                    final ChunkBatchEvent batch = new ChunkBatchEvent();
+                    batch.begin();
+                    final int changedBefore = stats[1];
                     for (int i = 0; i < archetypeChunk.size(); i++) {
                         final Ref<EntityStore> ref = archetypeChunk.getReferenceTo(i);
                         if (ref == null || !ref.isValid()) continue;
@@ -51,13 +57,18 @@ final class HideEntityUiNpcRefreshPass {
                             stats[1]++;
                         }
                     }
+                    batch.finish(PluginMetrics.Pass.UI_NPCS.name(), archetypeChunk.size(), stats[1] - changedBefore);
                 });
             } catch (Throwable t) {
                 LOGGER.at(Level.WARNING).withCause(t)
                         .log("[ServerHideSettings] Failed to refresh NPCs in world: %s", WorldThreadExecutor.safeWorldName(world));
             } finally {
+                final long nanos = System.nanoTime() - t0;
+                PluginMetrics.recordRefresh(PluginMetrics.Pass.UI_NPCS, WorldThreadExecutor.safeWorldName(world),
+                        stats[0], stats[1], nanos);
+                jfr.finish(PluginMetrics.Pass.UI_NPCS.name(), WorldThreadExecutor.safeWorldName(world), stats[0], stats[1]);
                 if (log) {
-                    final long ms = (System.nanoTime() - t0) / 1_000_000L;
+                    final long ms = nanos / 1_000_000L;
                     LOGGER.at(Level.INFO).log(
                             "[ServerHideSettings][Refresh] world=%s npcs visited=%d changed=%d timeMs=%d",
                             WorldThreadExecutor.safeWorldName(world), stats[0], stats[1], ms
@@ -101,8 +112,12 @@ final class HideEntityUiNpcRefreshPass {
             LOGGER.at(Level.FINE).withCause(t)
                     .log("[ServerHideSettings] NPC refresh skipped due to API differences (world=%s)", WorldThreadExecutor.safeWorldName(world));
         } finally {
+            final long nanos = System.nanoTime() - t0;
+            PluginMetrics.recordRefresh(PluginMetrics.Pass.UI_NPCS, WorldThreadExecutor.safeWorldName(world),
+                    visited, changed, nanos);
+            jfr.finish(PluginMetrics.Pass.UI_NPCS.name(), WorldThreadExecutor.safeWorldName(world), visited, changed);
             if (log) {
-                final long ms = (System.nanoTime() - t0) / 1_000_000L;
+                final long ms = nanos / 1_000_000L;
                 LOGGER.at(Level.INFO).log(
                         "[ServerHideSettings][Refresh] world=%s npcs visited=%d changed=%d timeMs=%d",
                         WorldThreadExecutor.safeWorldName(world), visited, changed, ms
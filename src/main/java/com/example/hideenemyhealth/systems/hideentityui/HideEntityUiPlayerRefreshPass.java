@@ -1,6 +1,8 @@
 package com.example.hideenemyhealth.systems.hideentityui;
 
-import com.example.hideenemyhealth.config.HideEnemyHealthConfig;
+import com.example.hideenemyhealth.metrics.PluginMetrics;
+import com.example.hideenemyhealth.metrics.jfr.ChunkBatchEvent;
+import com.example.hideenemyhealth.metrics.jfr.WorldRefreshEvent;
 import com.example.hideenemyhealth.util.WorldThreadExecutor;
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
@@ -27,9 +29,10 @@ final class HideEntityUiPlayerRefreshPass {
      * Refresh all players currently present in a world.
      */
     static void refreshPlayers(@Nonnull final World world) {
-        final HideEnemyHealthConfig cfg = HideEntityUiConfigRegistry.getConfig();
-        final boolean log = cfg.debug != null && cfg.debug.logRefreshStats;
-        final long t0 = log ? System.nanoTime() : 0L;
+        final boolean log = HideEntityUiConfigRegistry.getPolicy().logRefreshStats;
+        final long t0 = System.nanoTime();
+        final WorldRefreshEvent jfr = new WorldRefreshEvent();
+        jfr.begin();
 
         // Preferred path: iterate via the world's EntityStore using ECS chunk iteration.
         // This gives us a CommandBuffer, which is the most reliable way to apply component updates.
@@ -38,6 +41,9 @@ final class HideEntityUiPlayerRefreshPass {
             final int[] stats = new int[2]; // [0]=visited, [1]=changed
             try {
                 worldStore.forEachChunk(Player.getComponentType(), (archetypeChunk, commandBuffer) -> {
+                    final ChunkBatchEvent batch = new ChunkBatchEvent();
+                    batch.begin();
+                    final int changedBefore = stats[1];
                     for (int i = 0; i < archetypeChunk.size(); i++) {
                         final Ref<EntityStore> ref = archetypeChunk.getReferenceTo(i);
                         if (ref == null || !ref.isValid()) continue;
@@ -50,13 +56,18 @@ final class HideEntityUiPlayerRefreshPass {
                             stats[1]++;
                         }
                     }
+                    batch.finish(PluginMetrics.Pass.UI_PLAYERS.name(), archetypeChunk.size(), stats[1] - changedBefore);
                 });
             } catch (Throwable t) {
                 LOGGER.at(Level.WARNING).withCause(t)
                         .log("[ServerHideSettings] Failed to refresh players in world: %s", WorldThreadExecutor.safeWorldName(world));
             } finally {
+                final long nanos = System.nanoTime() - t0;
+                PluginMetrics.recordRefresh(PluginMetrics.Pass.UI_PLAYERS, WorldThreadExecutor.safeWorldName(world),
+                        stats[0], stats[1], nanos);
+                jfr.finish(PluginMetrics.Pass.UI_PLAYERS.name(), WorldThreadExecutor.safeWorldName(world), stats[0], stats[1]);
                 if (log) {
-                    final long ms = (System.nanoTime() - t0) / 1_000_000L;
+                    final long ms = nanos / 1_000_000L;
                     LOGGER.at(Level.INFO).log(
                             "[ServerHideSettings][Refresh] world=%s players visited=%d changed=%d timeMs=%d",
                             WorldThreadExecutor.safeWorldName(world), stats[0], stats[1], ms
@@ -89,8 +100,12 @@ final class HideEntityUiPlayerRefreshPass {
             LOGGER.at(Level.WARNING).withCause(t)
                     .log("[ServerHideSettings] Failed to refresh players in world: %s", WorldThreadExecutor.safeWorldName(world));
         } finally {
+            final long nanos = System.nanoTime() - t0;
+            PluginMetrics.recordRefresh(PluginMetrics.Pass.UI_PLAYERS, WorldThreadExecutor.safeWorldName(world),
+                    visited, changed, nanos);
+            jfr.finish(PluginMetrics.Pass.UI_PLAYERS.name(), WorldThreadExecutor.safeWorldName(world), visited, changed);
             if (log) {
-                final long ms = (System.nanoTime() - t0) / 1_000_000L;
+                final long ms = nanos / 1_000_000L;
                 LOGGER.at(Level.INFO).log(
                         "[ServerHideSettings][Refresh] world=%s players visited=%d changed=%d timeMs=%d",
                         WorldThreadExecutor.safeWorldName(world), visited, changed, ms
@@ -63,6 +63,13 @@ public final class HideEntityUiWorldRefresher {
         requestRefresh(BASELINE_GC_MASK);
     }
 
+    /**
+     * Drop the baseline cache entries of a world that is being removed (any thread).
+     */
+    public static void forgetWorldBaselines(@Nonnull final World world) {
+        HideEntityUiBaselineGcPass.forgetWorld(world);
+    }
+
     /**
      * Request a refresh pass. Multiple requests are coalesced into a single world iteration.
      */
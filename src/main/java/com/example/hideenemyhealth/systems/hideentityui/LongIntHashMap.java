@@ -0,0 +1,99 @@
+package com.example.hideenemyhealth.systems.hideentityui;
+
+/**
+ * Minimal primitive long -> int hash map (open addressing, backward-shift deletion).
+ *
+ * <p>Not thread-safe; callers confine an instance to one thread.</p>
+ */
+final class LongIntHashMap {
+
+    private long[] keys;
+    private int[] values;
+    private boolean[] used;
+    private int size;
+
+    LongIntHashMap(int initialCapacity) {
+        int cap = 1;
+        while (cap < initialCapacity) cap <<= 1;
+        keys = new long[cap];
+        values = new int[cap];
+        used = new boolean[cap];
+    }
+
+    int get(long key, int missing) {
+        int idx = mix64To32(key) & (keys.length - 1);
+        while (used[idx]) {
+            if (keys[idx] == key) return values[idx];
+            idx = (idx + 1) & (keys.length - 1);
+        }
+        return missing;
+    }
+
+    void put(long key, int value) {
+        if ((size + 1) * 2 >= keys.length) rehash(keys.length << 1);
+        int idx = mix64To32(key) & (keys.length - 1);
+        while (used[idx]) {
+            if (keys[idx] == key) {
+                values[idx] = value;
+                return;
+            }
+            idx = (idx + 1) & (keys.length - 1);
+        }
+        used[idx] = true;
+        keys[idx] = key;
+        values[idx] = value;
+        size++;
+    }
+
+    void remove(long key) {
+        final int mask = keys.length - 1;
+        int idx = mix64To32(key) & mask;
+        while (used[idx]) {
+            if (keys[idx] == key) {
+                // Backward-shift: move later entries of the probe chain into the hole.
+                int hole = idx;
+                int next = (hole + 1) & mask;
+                while (used[next]) {
+                    final int home = mix64To32(keys[next]) & mask;
+                    final boolean movable = (next > hole) ? (home <= hole || home > next) : (home <= hole && home > next);
+                    if (movable) {
+                        keys[hole] = keys[next];
+                        values[hole] = values[next];
+                        hole = next;
+                    }
+                    next = (next + 1) & mask;
+                }
+                used[hole] = false;
+                size--;
+                return;
+            }
+            idx = (idx + 1) & mask;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void rehash(int newCap) {
+        final long[] oldKeys = keys;
+        final int[] oldValues = values;
+        final boolean[] oldUsed = used;
+        keys = new long[newCap];
+        values = new int[newCap];
+        used = new boolean[newCap];
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) put(oldKeys[i], oldValues[i]);
+        }
+    }
+
+    private static int mix64To32(long z) {
+        z ^= (z >>> 33);
+        z *= 0xff51afd7ed558ccdL;
+        z ^= (z >>> 33);
+        z *= 0xc4ceb9fe1a85ec53L;
+        z ^= (z >>> 33);
+        return (int) z;
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.hideenemyhealth.systems.hideentityui;
 
+import com.example.hideenemyhealth.util.ServerApiProfile;
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
@@ -14,9 +15,6 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 final class NpcRefAccess {
 
-    private static final ConcurrentHashMap<Class<?>, Method> GET_NPC_REFS_CACHE = new ConcurrentHashMap<>();
-    private static final ConcurrentHashMap<Class<?>, Boolean> GET_NPC_REFS_MISSING = new ConcurrentHashMap<>();
-
     private static final ConcurrentHashMap<Class<?>, Method> GET_REFERENCE_CACHE = new ConcurrentHashMap<>();
     private static final ConcurrentHashMap<Class<?>, Boolean> GET_REFERENCE_MISSING = new ConcurrentHashMap<>();
 
@@ -24,11 +22,11 @@ final class NpcRefAccess {
     }
 
     /**
-     * Reflectively call {@code world.getNpcRefs()} if available.
+     * Reflectively call {@code world.getNpcRefs()} if available (resolved once by {@link ServerApiProfile}).
      */
     @Nullable
     static Iterable<?> getNpcRefs(@Nonnull final World world) {
-        final Method m = getCachedNoArg(world.getClass(), "getNpcRefs", GET_NPC_REFS_CACHE, GET_NPC_REFS_MISSING);
+        final Method m = ServerApiProfile.get().worldGetNpcRefs();
         if (m == null) return null;
 
         try {
@@ -41,6 +39,9 @@ final class NpcRefAccess {
 
     /**
      * Convert a "NPCRef"-like object into an ECS {@link Ref}.
+     *
+     * <p>The element type of {@code getNpcRefs()} is only known at runtime, so {@code getReference()} is still
+     * resolved per class. This is a fallback path (used only when the world store is not accessible).</p>
      */
     @Nullable
     static Ref<EntityStore> coerceToEntityRef(@Nonnull final Object npcRefLike) {
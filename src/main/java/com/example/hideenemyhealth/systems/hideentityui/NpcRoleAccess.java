@@ -0,0 +1,61 @@
+package com.example.hideenemyhealth.systems.hideentityui;
+
+import com.example.hideenemyhealth.config.NpcRoleRules;
+import com.example.hideenemyhealth.util.ServerApiProfile;
+import com.hypixel.hytale.server.npc.entities.NPCEntity;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Method;
+
+/**
+ * Compatibility layer for reading an NPC's role (index and name) on different server builds.
+ */
+final class NpcRoleAccess {
+
+    /** {@code (NPCEntity)int} role index getter; static final so the JIT inlines the call. */
+    @Nullable
+    private static final MethodHandle ROLE_INDEX = ServerApiProfile.get().npcRoleIndexHandle();
+
+    private NpcRoleAccess() {
+    }
+
+    /**
+     * Resolve the NPC hide mask via role rules.
+     *
+     * <p>The role name is only read when the rule table has no entry for the role index yet (or when the build
+     * exposes no index), so the steady-state cost is one method handle call for the index plus one array load.</p>
+     *
+     * @param fallback mask to use when no rule matches (or the role is unknown)
+     */
+    static int resolveMask(@Nonnull final NpcRoleRules rules, @Nonnull final NPCEntity npc, final int fallback) {
+        final int index = roleIndex(npc);
+        if (rules.isResolved(index)) {
+            // Cached match or no-match: answered from the table, no role name needed.
+            return rules.maskFor(index, null, fallback);
+        }
+        return rules.maskFor(index, roleName(npc), fallback);
+    }
+
+    private static int roleIndex(@Nonnull final NPCEntity npc) {
+        final MethodHandle h = ROLE_INDEX;
+        if (h == null) return -1;
+        try {
+            return (int) h.invokeExact(npc);
+        } catch (Throwable ignored) {
+            return -1;
+        }
+    }
+
+    @Nullable
+    private static String roleName(@Nonnull final NPCEntity npc) {
+        final Method m = ServerApiProfile.get().npcGetRoleName();
+        if (m == null) return null;
+        try {
+            return (String) m.invoke(npc);
+        } catch (Throwable ignored) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.hideenemyhealth.systems.hideentityui;
+
+import com.example.hideenemyhealth.config.CompiledPolicy;
+import com.example.hideenemyhealth.config.RegionIndex;
+import com.example.hideenemyhealth.util.WorldThreadExecutor;
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.server.core.modules.entity.component.TransformComponent;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Tracks which region each entity is in and re-applies UI settings only when that changes.
+ *
+ * <p>Region membership is kept per world thread (each world ticks its store on its own thread), in a primitive
+ * long -> int map keyed by {@link EntityUiBaselineCache#entityKey(Ref)}. Only entities inside a region have an
+ * entry; a missing entry means "outside every region".</p>
+ *
+ * <p>Entities standing in a {@link RegionIndex#CELL_SIZE}-block grid cell that no region overlaps also remember
+ * that cell. While they stay in it the tick costs, on top of the caller's world policy read, a thread-local read
+ * and one primitive map probe, and no region lookup; so the steady-state cost follows movement across cells rather
+ * than entity count. Near or inside regions every tick does the full lookup.</p>
+ */
+public final class RegionTransitionTracker {
+
+    /** "No cached cell" (never produced by {@link #packCell(int, int)}). */
+    private static final int NO_CELL = Integer.MIN_VALUE;
+
+    /** Cells beyond this (about 1M blocks from the origin) are not cached; keeps the int packing exact. */
+    private static final int MAX_PACKED_CELL = 32767;
+
+    private static final ThreadLocal<LongIntHashMap> LAST_REGION =
+            ThreadLocal.withInitial(() -> new LongIntHashMap(256));
+
+    private static final ThreadLocal<FreeCells> FREE_CELLS = ThreadLocal.withInitial(FreeCells::new);
+
+    private RegionTransitionTracker() {
+    }
+
+    /**
+     * Movement hook: called per ticking entity. Cheap no-op in worlds without regions.
+     *
+     * @param worldPolicy policy of the world owning {@code store}, resolved once by the caller
+     */
+    public static void onTick(@Nonnull final Ref<EntityStore> ref,
+                              @Nonnull final Store<EntityStore> store,
+                              @Nonnull final CommandBuffer<EntityStore> buffer,
+                              @Nullable final TransformComponent transform,
+                              @Nonnull final CompiledPolicy worldPolicy) {
+        final RegionIndex regions = worldPolicy.regions;
+        if (regions == null || transform == null) return;
+
+        final Vector3d pos = transform.getPosition();
+        if (pos == null) return;
+
+        final long key = EntityUiBaselineCache.entityKey(ref);
+        final int cx = RegionIndex.cellOf(pos.getX());
+        final int cz = RegionIndex.cellOf(pos.getZ());
+        final int packed = packCell(cx, cz);
+
+        final LongIntHashMap freeCells = FREE_CELLS.get().forIndex(regions);
+        // Same region-free cell as last tick: region is still 0, as recorded then.
+        if (packed != NO_CELL && freeCells.get(key, NO_CELL) == packed) return;
+
+        final int regionId = regions.regionAt(pos.getX(), pos.getY(), pos.getZ());
+        if (packed != NO_CELL && regionId == 0 && regions.isCellEmpty(cx, cz)) {
+            freeCells.put(key, packed);
+        } else {
+            freeCells.remove(key);
+        }
+        if (!record(key, regionId)) return;
+
+        // Degraded world: the queued re-apply resolves the (already recorded) region itself.
+        if (TickBudget.deferReapply(ref)) return;
+        HideEntityUiApplier.applyWithRestore(ref, store, buffer, worldPolicy.forRegion(regionId));
+    }
+
+    /**
+     * Resolve the region an entity is currently in and remember it (used by the applier on spawn / refresh, so the
+     * movement hook does not immediately re-apply).
+     *
+     * @return region id, or 0 if outside every region (or the position is unknown)
+     */
+    static int resolveAndRecord(@Nonnull final Ref<EntityStore> ref,
+                                @Nonnull final Store<EntityStore> store,
+                                @Nonnull final RegionIndex regions) {
+        final TransformComponent transform;
+        try {
+            transform = store.getComponent(ref, TransformComponent.getComponentType());
+        } catch (Throwable ignored) {
+            return 0;
+        }
+        if (transform == null) return 0;
+
+        final Vector3d pos = transform.getPosition();
+        if (pos == null) return 0;
+
+        final int regionId = regions.regionAt(pos.getX(), pos.getY(), pos.getZ());
+        record(EntityUiBaselineCache.entityKey(ref), regionId);
+        return regionId;
+    }
+
+    /**
+     * Drop tracking for a removed entity (world thread).
+     */
+    public static void forget(@Nonnull final Ref<EntityStore> ref) {
+        final long key = EntityUiBaselineCache.entityKey(ref);
+        LAST_REGION.get().remove(key);
+        FREE_CELLS.get().cells.remove(key);
+    }
+
+    /**
+     * Drop all tracking of a removed world. Runs on that world's thread (its maps are thread-local); if the world
+     * no longer executes tasks, its thread and maps are gone anyway.
+     */
+    public static void forget(@Nonnull final World world) {
+        WorldThreadExecutor.tryRunOnWorldThread(world, () -> {
+            LAST_REGION.remove();
+            FREE_CELLS.remove();
+        });
+    }
+
+    /**
+     * @return true if the region changed
+     */
+    private static boolean record(final long key, final int regionId) {
+        final LongIntHashMap map = LAST_REGION.get();
+        final int prev = map.get(key, 0);
+        if (prev == regionId) return false;
+
+        if (regionId == 0) {
+            map.remove(key);
+        } else {
+            map.put(key, regionId);
+        }
+        return true;
+    }
+
+    /**
+     * Pack a cell into an int, or {@link #NO_CELL} if it is too far out to pack exactly.
+     */
+    private static int packCell(final int cx, final int cz) {
+        if (cx < -MAX_PACKED_CELL || cx > MAX_PACKED_CELL || cz < -MAX_PACKED_CELL || cz > MAX_PACKED_CELL) {
+            return NO_CELL;
+        }
+        return (cx << 16) | (cz & 0xFFFF);
+    }
+
+    /**
+     * Region-free cells of one world thread, valid for one {@link RegionIndex} (reset when the regions change).
+     */
+    private static final class FreeCells {
+        LongIntHashMap cells = new LongIntHashMap(256);
+
+        @Nullable
+        RegionIndex index;
+
+        @Nonnull
+        LongIntHashMap forIndex(@Nonnull final RegionIndex regions) {
+            if (index != regions) {
+                index = regions;
+                cells = new LongIntHashMap(256);
+            }
+            return cells;
+        }
+    }
+}
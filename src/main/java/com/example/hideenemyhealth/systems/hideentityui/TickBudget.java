@@ -0,0 +1,232 @@
+package com.example.hideenemyhealth.systems.hideentityui;
+
+import com.example.hideenemyhealth.metrics.PluginMetrics;
+import com.example.hideenemyhealth.util.WorldThreadExecutor;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.logger.HytaleLogger;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+/**
+ * Per-tick overhead budget for the plugin's ECS callbacks ({@code tickBudget}).
+ *
+ * <p>Callbacks bracket their work with {@link #enter()} / {@link #exit(long)}; the time is summed per world thread
+ * and checked once per world tick by {@link #onWorldTick(Store)}. A tick over budget puts the world into degraded
+ * mode: restore-and-recreate writes (region transitions, combat reveal starts) are queued instead of run inline,
+ * and proximity nameplate re-evaluations wait (their players stay dirty). The queue is drained at most
+ * {@code drainPerTick} entities per tick, also while degraded, so deferred work is rate limited rather than
+ * dropped. A world leaves degraded mode after {@link #RECOVERY_TICKS} ticks in a row under budget.</p>
+ *
+ * <p>Hiding itself (spawn / component-set applies) is never deferred. With the budget off, {@link #enter()} is a
+ * single volatile read.</p>
+ */
+public final class TickBudget {
+
+    private static final HytaleLogger LOGGER = HytaleLogger.forEnclosingClass();
+
+    /** Consecutive ticks under budget before a degraded world returns to normal (about 2 s at 20 TPS). */
+    static final int RECOVERY_TICKS = 40;
+
+    private static final ThreadLocal<State> STATE = ThreadLocal.withInitial(State::new);
+
+    /** Names of worlds currently degraded (read by metrics). */
+    private static final Set<String> DEGRADED_WORLDS = ConcurrentHashMap.newKeySet();
+
+    /** 0 = budget off. */
+    private static volatile long budgetNanos;
+
+    private static volatile int drainPerTick = 32;
+
+    private TickBudget() {
+    }
+
+    /**
+     * Set the budget (from the compiled policy).
+     *
+     * @param nanos        per-tick budget, 0 = off
+     * @param drainPerTick deferred entities re-applied per tick
+     */
+    public static void configure(final long nanos, final int drainPerTick) {
+        TickBudget.drainPerTick = Math.max(1, drainPerTick);
+        budgetNanos = Math.max(0L, nanos);
+    }
+
+    /**
+     * Start timing a callback.
+     *
+     * @return start timestamp, or 0 while the budget is off
+     */
+    public static long enter() {
+        return budgetNanos > 0L ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Finish timing a callback started with {@link #enter()} (world thread).
+     */
+    public static void exit(final long t0) {
+        if (t0 != 0L) STATE.get().spentNanos += System.nanoTime() - t0;
+    }
+
+    /**
+     * @return true if this world thread is in degraded mode
+     */
+    public static boolean isDegraded() {
+        return budgetNanos > 0L && STATE.get().degraded;
+    }
+
+    /**
+     * Queue a restore-and-reapply of an entity instead of running it now, if this world is degraded.
+     *
+     * @return true if the work was queued (caller skips it), false if the caller should run it inline
+     */
+    static boolean deferReapply(@Nonnull final Ref<EntityStore> ref) {
+        if (budgetNanos <= 0L) return false;
+        final State state = STATE.get();
+        if (!state.degraded) return false;
+
+        if (state.deferred.putIfAbsent(EntityUiBaselineCache.entityKey(ref), ref) == null) {
+            PluginMetrics.inc(PluginMetrics.Counter.BUDGET_DEFERRED);
+        }
+        return true;
+    }
+
+    /**
+     * World tick hook: close the tick's accounting, switch degraded mode and drain deferred work.
+     */
+    public static void onWorldTick(@Nonnull final Store<EntityStore> store) {
+        final State state = STATE.get();
+        final long budget = budgetNanos;
+        final long spent = state.spentNanos;
+        state.spentNanos = 0L;
+
+        if (budget > 0L) {
+            PluginMetrics.tickSpent(spent);
+            if (spent > budget) {
+                PluginMetrics.inc(PluginMetrics.Counter.BUDGET_OVERRUNS);
+                state.ticksUnder = 0;
+                if (!state.degraded) enterDegraded(state, store, spent, budget);
+            } else if (state.degraded && ++state.ticksUnder >= RECOVERY_TICKS) {
+                leaveDegraded(state, store);
+            }
+        } else if (state.degraded) {
+            leaveDegraded(state, store);
+        }
+
+        if (!state.deferred.isEmpty()) drain(state, store);
+    }
+
+    /**
+     * Drop the degraded flag of a removed world (metrics only; the world thread's state goes with the thread).
+     */
+    public static void forget(@Nullable final World world) {
+        if (world == null) return;
+        DEGRADED_WORLDS.remove(WorldThreadExecutor.safeWorldName(world));
+    }
+
+    /**
+     * @return names of worlds currently in degraded mode
+     */
+    @Nonnull
+    public static List<String> degradedWorlds() {
+        return new ArrayList<>(DEGRADED_WORLDS);
+    }
+
+    /**
+     * Clear global state (plugin shutdown).
+     */
+    public static void clearAll() {
+        DEGRADED_WORLDS.clear();
+        budgetNanos = 0L;
+    }
+
+    private static void enterDegraded(@Nonnull final State state,
+                                      @Nonnull final Store<EntityStore> store,
+                                      final long spent,
+                                      final long budget) {
+        state.degraded = true;
+        final String name = worldName(store);
+        DEGRADED_WORLDS.add(name);
+        LOGGER.at(Level.INFO).log(
+                "[ServerHideSettings][Budget] world=%s over tick budget (%d us > %d us); deferring recreates and proximity nameplates",
+                name, spent / 1_000L, budget / 1_000L
+        );
+    }
+
+    private static void leaveDegraded(@Nonnull final State state, @Nonnull final Store<EntityStore> store) {
+        state.degraded = false;
+        state.ticksUnder = 0;
+        final String name = worldName(store);
+        DEGRADED_WORLDS.remove(name);
+        LOGGER.at(Level.INFO).log(
+                "[ServerHideSettings][Budget] world=%s back under tick budget (deferred pending=%d)",
+                name, state.deferred.size()
+        );
+    }
+
+    private static void drain(@Nonnull final State state, @Nonnull final Store<EntityStore> store) {
+        final World world = worldOf(store);
+        if (world == null) return;
+
+        final int limit = drainPerTick;
+        final List<Ref<EntityStore>> batch = new ArrayList<>(Math.min(limit, state.deferred.size()));
+        final Iterator<Ref<EntityStore>> it = state.deferred.values().iterator();
+        while (it.hasNext() && batch.size() < limit) {
+            batch.add(it.next());
+            it.remove();
+        }
+        PluginMetrics.add(PluginMetrics.Counter.BUDGET_DRAINED, batch.size());
+
+        // Same path as combat reveal expiry: recreate through a chunk iteration's command buffer right after the tick,
+        // so deferred region / reveal changes reach clients.
+        WorldThreadExecutor.runQuiet(world, () -> {
+            final long t0 = enter();
+            try {
+                HideEntityUiApplier.reapplyWithRestoreBatch(store, batch);
+            } finally {
+                exit(t0);
+            }
+        });
+    }
+
+    @Nonnull
+    private static String worldName(@Nonnull final Store<EntityStore> store) {
+        final World world = worldOf(store);
+        return world != null ? WorldThreadExecutor.safeWorldName(world) : "unknown";
+    }
+
+    @Nullable
+    private static World worldOf(@Nonnull final Store<EntityStore> store) {
+        try {
+            return store.getExternalData().getWorld();
+        } catch (Throwable t) {
+            return null;
+        }
+    }
+
+    /**
+     * Accounting of one world thread.
+     */
+    private static final class State {
+        /** Callback time accumulated since the last world tick. */
+        long spentNanos;
+
+        boolean degraded;
+
+        /** Ticks in a row under budget while degraded. */
+        int ticksUnder;
+
+        /** Entity key -> entity awaiting a deferred restore-and-reapply (insertion order = drain order). */
+        final LinkedHashMap<Long, Ref<EntityStore>> deferred = new LinkedHashMap<>();
+    }
+}
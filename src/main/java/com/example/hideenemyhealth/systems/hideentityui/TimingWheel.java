@@ -0,0 +1,207 @@
+package com.example.hideenemyhealth.systems.hideentityui;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+
+/**
+ * Hashed hierarchical timing wheel keyed by entity key.
+ *
+ * <p>{@link #LEVELS} levels of {@link #SLOTS} slots each; level {@code n} slots span {@code 64^n} steps. Timers
+ * are stored in pooled nodes (parallel primitive arrays linked into per-slot doubly linked lists), so
+ * {@link #schedule}, {@link #cancel} and rescheduling are O(1) and allocation-free once the pool is warm.
+ * {@link #advance} expires the current level-0 slot and, every 64 steps, cascades the next level down.</p>
+ *
+ * <p>Not thread-safe; one instance is confined to one world thread.</p>
+ */
+final class TimingWheel {
+
+    static final int SLOT_BITS = 6;
+    static final int SLOTS = 1 << SLOT_BITS;
+    static final int LEVELS = 4;
+
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int NIL = -1;
+
+    /** Maximum delay (steps) representable without clamping. */
+    static final long MAX_DELAY = (1L << (SLOT_BITS * LEVELS)) - 1;
+
+    /** Per-slot list heads: index = level * SLOTS + slot. */
+    private final int[] heads = new int[LEVELS * SLOTS];
+
+    // Node pool (struct of arrays).
+    private long[] keys;
+    private long[] deadlines;
+    private Object[] payloads;
+    private int[] next;
+    private int[] prev;
+    private int[] bucket;
+    private int freeHead = NIL;
+    private int allocated;
+
+    /** Entity key -> node handle. */
+    private final LongIntHashMap byKey = new LongIntHashMap(256);
+
+    private long now;
+    private int size;
+
+    TimingWheel(final int initialCapacity) {
+        Arrays.fill(heads, NIL);
+        final int cap = Math.max(16, initialCapacity);
+        keys = new long[cap];
+        deadlines = new long[cap];
+        payloads = new Object[cap];
+        next = new int[cap];
+        prev = new int[cap];
+        bucket = new int[cap];
+    }
+
+    /**
+     * Schedule (or reschedule) the timer for {@code key}.
+     *
+     * @param delaySteps delay in wheel steps (clamped to [1, {@link #MAX_DELAY}])
+     * @param payload    object handed back on expiry
+     */
+    void schedule(final long key, final long delaySteps, @Nonnull final Object payload) {
+        int node = byKey.get(key, NIL);
+        if (node != NIL) {
+            unlink(node);
+        } else {
+            node = allocate();
+            keys[node] = key;
+            byKey.put(key, node);
+            size++;
+        }
+        payloads[node] = payload;
+        deadlines[node] = now + Math.max(1L, Math.min(MAX_DELAY, delaySteps));
+        link(node);
+    }
+
+    /**
+     * Cancel the timer for {@code key} (no-op if none).
+     */
+    void cancel(final long key) {
+        final int node = byKey.get(key, NIL);
+        if (node == NIL) return;
+        unlink(node);
+        release(node);
+    }
+
+    /**
+     * @return true if {@code key} has a pending timer
+     */
+    boolean contains(final long key) {
+        return byKey.get(key, NIL) != NIL;
+    }
+
+    /**
+     * @return number of pending timers
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Advance the wheel by one step and hand expired payloads to {@code sink}.
+     */
+    void advance(@Nonnull final ExpirySink sink) {
+        now++;
+
+        // Cascade higher levels whose slot boundary we just crossed (from the top down).
+        for (int level = LEVELS - 1; level >= 1; level--) {
+            final long unit = 1L << (SLOT_BITS * level);
+            if ((now & (unit - 1)) == 0) {
+                cascade(level, (int) ((now >>> (SLOT_BITS * level)) & SLOT_MASK));
+            }
+        }
+
+        final int idx = (int) (now & SLOT_MASK);
+        int node = heads[idx];
+        while (node != NIL) {
+            final int following = next[node];
+            if (deadlines[node] <= now) {
+                final Object payload = payloads[node];
+                final long key = keys[node];
+                unlink(node);
+                release(node);
+                sink.expired(key, payload);
+            }
+            node = following;
+        }
+    }
+
+    private void cascade(final int level, final int slot) {
+        final int idx = level * SLOTS + slot;
+        int node = heads[idx];
+        heads[idx] = NIL;
+        while (node != NIL) {
+            final int following = next[node];
+            link(node);
+            node = following;
+        }
+    }
+
+    private void link(final int node) {
+        // Level = highest 6-bit group in which deadline and now differ; the node is cascaded down exactly when
+        // "now" reaches that group's boundary.
+        final long diff = deadlines[node] ^ now;
+        int level = 0;
+        while (level < LEVELS - 1 && (diff >>> (SLOT_BITS * (level + 1))) != 0) {
+            level++;
+        }
+        final int slot = (int) ((deadlines[node] >>> (SLOT_BITS * level)) & SLOT_MASK);
+        final int idx = level * SLOTS + slot;
+
+        bucket[node] = idx;
+        prev[node] = NIL;
+        next[node] = heads[idx];
+        if (heads[idx] != NIL) prev[heads[idx]] = node;
+        heads[idx] = node;
+    }
+
+    private void unlink(final int node) {
+        final int idx = bucket[node];
+        if (idx == NIL) return;
+        if (prev[node] != NIL) next[prev[node]] = next[node];
+        else heads[idx] = next[node];
+        if (next[node] != NIL) prev[next[node]] = prev[node];
+        bucket[node] = NIL;
+        prev[node] = NIL;
+        next[node] = NIL;
+    }
+
+    private int allocate() {
+        if (freeHead != NIL) {
+            final int node = freeHead;
+            freeHead = next[node];
+            return node;
+        }
+        if (allocated == keys.length) {
+            final int cap = keys.length << 1;
+            keys = Arrays.copyOf(keys, cap);
+            deadlines = Arrays.copyOf(deadlines, cap);
+            payloads = Arrays.copyOf(payloads, cap);
+            next = Arrays.copyOf(next, cap);
+            prev = Arrays.copyOf(prev, cap);
+            bucket = Arrays.copyOf(bucket, cap);
+        }
+        final int node = allocated++;
+        bucket[node] = NIL;
+        return node;
+    }
+
+    private void release(final int node) {
+        byKey.remove(keys[node]);
+        payloads[node] = null;
+        bucket[node] = NIL;
+        next[node] = freeHead;
+        freeHead = node;
+        size--;
+    }
+
+    /**
+     * Expiry callback.
+     */
+    interface ExpirySink {
+        void expired(long key, @Nonnull Object payload);
+    }
+}
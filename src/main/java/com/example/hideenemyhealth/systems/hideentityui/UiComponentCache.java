@@ -1,5 +1,6 @@
 package com.example.hideenemyhealth.systems.hideentityui;
 
+import com.example.hideenemyhealth.metrics.jfr.UiComponentCacheRebuildEvent;
 import com.hypixel.hytale.assetstore.map.IndexedLookupTableAssetMap;
 import com.hypixel.hytale.logger.HytaleLogger;
 import com.hypixel.hytale.protocol.EntityUIType;
@@ -57,13 +58,18 @@ public final class UiComponentCache {
     public static boolean ensureCache() {
         if (CACHE_READY) return true;
 
+        final UiComponentCacheRebuildEvent jfr = new UiComponentCacheRebuildEvent();
+        jfr.begin();
         try {
             // Ensure stat indices are initialized.
             DefaultEntityStatTypes.update();
             final int healthIndex = DefaultEntityStatTypes.getHealth();
 
             final IndexedLookupTableAssetMap<String, EntityUIComponent> assetMap = EntityUIComponent.getAssetMap();
-            if (assetMap == null) return false;
+            if (assetMap == null) {
+                jfr.finish(0, 0, 0, false);
+                return false;
+            }
 
             final int nextIndex = assetMap.getNextIndex();
             final HashSet<Integer> combat = new HashSet<>();
@@ -96,6 +102,7 @@ public final class UiComponentCache {
             COMBAT_TEXT_FLAGS = combatFlags;
             HEALTH_STAT_FLAGS = healthFlags;
             CACHE_READY = true;
+            jfr.finish(nextIndex, health.size(), combat.size(), true);
 
             LOGGER.at(Level.INFO).log(
                     "[ServerHideSettings] UI component cache ready (health=%d, combat=%d)",
@@ -105,6 +112,7 @@ public final class UiComponentCache {
 
         } catch (Throwable t) {
             LOGGER.at(Level.WARNING).withCause(t).log("[ServerHideSettings] Failed to build UI component cache");
+            jfr.finish(0, 0, 0, false);
             return false;
         }
     }
@@ -1,6 +1,6 @@
 package com.example.hideenemyhealth.systems.hideentityui;
 
-import com.example.hideenemyhealth.config.HideEnemyHealthConfig;
+import com.example.hideenemyhealth.config.CompiledPolicy;
 
 import javax.annotation.Nonnull;
 import java.util.Arrays;
@@ -24,13 +24,14 @@ final class UiComponentListFilterSupport {
      * Some UI IDs (e.g., combat text) may be introduced later in an entity's lifetime.
      * Using a baseline would unintentionally drop such IDs even when they should remain visible.
      * This keeps "hide HP" and "hide damage" independent.</p>
+     *
+     * @param hideMask {@link CompiledPolicy#HIDE_HEALTH} / {@link CompiledPolicy#HIDE_COMBAT_TEXT} bits
      */
     @Nonnull
-    static int[] computeDesiredIds(@Nonnull final int[] currentIds,
-                                   @Nonnull final HideEnemyHealthConfig.TargetSettings settings) {
+    static int[] computeDesiredIds(@Nonnull final int[] currentIds, final int hideMask) {
 
-        final boolean hideCombat = settings.hideDamageNumbers;
-        final boolean hideHealth = settings.hideHealthBar;
+        final boolean hideCombat = (hideMask & CompiledPolicy.HIDE_COMBAT_TEXT) != 0;
+        final boolean hideHealth = (hideMask & CompiledPolicy.HIDE_HEALTH) != 0;
 
         final int[] out = new int[currentIds.length];
         int count = 0;
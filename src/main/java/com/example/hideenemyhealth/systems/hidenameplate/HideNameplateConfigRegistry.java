@@ -1,37 +1,54 @@
 package com.example.hideenemyhealth.systems.hidenameplate;
 
-import com.example.hideenemyhealth.config.HideEnemyHealthConfig;
+import com.example.hideenemyhealth.config.CompiledPolicy;
+import com.example.hideenemyhealth.config.WorldPolicyIndex;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 /**
- * Holds the active {@link HideEnemyHealthConfig} reference for the nameplate-hide feature.
+ * Holds the active {@link CompiledPolicy} reference for the nameplate-hide feature.
  */
 public final class HideNameplateConfigRegistry {
 
-    private static volatile HideEnemyHealthConfig CONFIG;
+    private static volatile CompiledPolicy POLICY = CompiledPolicy.DEFAULTS;
 
-    static {
-        final HideEnemyHealthConfig cfg = new HideEnemyHealthConfig();
-        cfg.normalize();
-        CONFIG = cfg;
+    private HideNameplateConfigRegistry() {
     }
 
-    private HideNameplateConfigRegistry() {
+    /**
+     * Publish the current compiled policy.
+     */
+    public static void setPolicy(@Nonnull final CompiledPolicy policy) {
+        POLICY = policy;
+    }
+
+    /**
+     * @return currently active policy (never null)
+     */
+    @Nonnull
+    public static CompiledPolicy getPolicy() {
+        return POLICY;
     }
 
     /**
-     * Publish the current runtime config.
+     * @return active policy for the world owning {@code store} (per-world override or the global policy)
      */
-    public static void setConfig(@Nonnull final HideEnemyHealthConfig cfg) {
-        CONFIG = cfg;
+    @Nonnull
+    public static CompiledPolicy getPolicy(@Nonnull final Store<EntityStore> store) {
+        return WorldPolicyIndex.forStore(POLICY, store);
     }
 
     /**
-     * @return currently active config (never null)
+     * Per-entity variant of {@link #getPolicy(Store)}: reuses {@code cached} while it is current, so a caller that
+     * keeps the result skips the per-world lookup.
      */
     @Nonnull
-    public static HideEnemyHealthConfig getConfig() {
-        return CONFIG;
+    public static WorldPolicyIndex.Resolved resolve(@Nullable final WorldPolicyIndex.Resolved cached,
+                                                    @Nonnull final Store<EntityStore> store) {
+        final CompiledPolicy root = POLICY;
+        return (cached != null && cached.isCurrent(root)) ? cached : WorldPolicyIndex.resolve(root, store);
     }
 }
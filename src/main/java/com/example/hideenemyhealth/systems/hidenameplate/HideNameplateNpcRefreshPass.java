@@ -0,0 +1,70 @@
+package com.example.hideenemyhealth.systems.hidenameplate;
+
+import com.example.hideenemyhealth.metrics.PluginMetrics;
+import com.example.hideenemyhealth.metrics.jfr.ChunkBatchEvent;
+import com.example.hideenemyhealth.metrics.jfr.WorldRefreshEvent;
+import com.example.hideenemyhealth.systems.hideentityui.WorldStoreAccess;
+import com.example.hideenemyhealth.util.WorldThreadExecutor;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.logger.HytaleLogger;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.hypixel.hytale.server.npc.entities.NPCEntity;
+
+import javax.annotation.Nonnull;
+import java.util.logging.Level;
+
+/**
+ * Refresh pass for applying the current nameplate-hide config to already-loaded NPCs in a world.
+ *
+ * <p>Works per archetype chunk ({@link HideNpcNameplateApplier#applyForChunk}). There is no per-entity fallback:
+ * without chunk iteration, already-loaded NPCs are left as they are and new spawns are still handled by the
+ * NPC nameplate systems.</p>
+ */
+final class HideNameplateNpcRefreshPass {
+
+    private static final HytaleLogger LOGGER = HytaleLogger.forEnclosingClass();
+
+    private HideNameplateNpcRefreshPass() {
+    }
+
+    static void refreshNpcs(@Nonnull final World world, final boolean forceRestore) {
+        final Store<EntityStore> worldStore = WorldStoreAccess.tryGetWorldStore(world);
+        if (worldStore == null) return;
+
+        // Nothing hidden and nothing to hide: skip the walk over every NPC chunk.
+        final boolean hide = !forceRestore && HideNameplateConfigRegistry.getPolicy(worldStore).hideNpcNameplates;
+        if (!hide && NameplateBaselineCache.isEmpty()) return;
+
+        final boolean log = HideNameplateConfigRegistry.getPolicy().logRefreshStats;
+        final long t0 = System.nanoTime();
+        final WorldRefreshEvent jfr = new WorldRefreshEvent();
+        jfr.begin();
+        final int[] stats = new int[2]; // [0]=chunks, [1]=changed
+        try {
+            worldStore.forEachChunk(NPCEntity.getComponentType(), (archetypeChunk, commandBuffer) -> {
+                final ChunkBatchEvent batch = new ChunkBatchEvent();
+                batch.begin();
+                stats[0]++;
+                final int changed = HideNpcNameplateApplier.applyForChunk(archetypeChunk, worldStore, commandBuffer, forceRestore);
+                stats[1] += changed;
+                batch.finish(PluginMetrics.Pass.NAMEPLATE_NPCS.name(), archetypeChunk.size(), changed);
+            });
+        } catch (Throwable t) {
+            LOGGER.at(Level.WARNING).withCause(t)
+                    .log("[ServerHideSettings] Failed to refresh NPC nameplates in world: %s", WorldThreadExecutor.safeWorldName(world));
+        } finally {
+            final long nanos = System.nanoTime() - t0;
+            PluginMetrics.recordRefresh(PluginMetrics.Pass.NAMEPLATE_NPCS, WorldThreadExecutor.safeWorldName(world),
+                    stats[0], stats[1], nanos);
+            jfr.finish(PluginMetrics.Pass.NAMEPLATE_NPCS.name(), WorldThreadExecutor.safeWorldName(world), stats[0], stats[1]);
+            if (log) {
+                final long ms = nanos / 1_000_000L;
+                LOGGER.at(Level.INFO).log(
+                        "[ServerHideSettings][Nameplates][Refresh] world=%s npc chunks=%d changed=%d timeMs=%d",
+                        WorldThreadExecutor.safeWorldName(world), stats[0], stats[1], ms
+                );
+            }
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.hideenemyhealth.systems.hidenameplate;
 
-import com.example.hideenemyhealth.config.HideEnemyHealthConfig;
+import com.example.hideenemyhealth.metrics.PluginMetrics;
+import com.example.hideenemyhealth.metrics.jfr.ChunkBatchEvent;
+import com.example.hideenemyhealth.metrics.jfr.WorldRefreshEvent;
 import com.example.hideenemyhealth.systems.hideentityui.PlayerRefAccess;
 import com.example.hideenemyhealth.systems.hideentityui.WorldStoreAccess;
 import com.example.hideenemyhealth.util.WorldThreadExecutor;
@@ -26,15 +28,19 @@ final class HideNameplatePlayerRefreshPass {
     }
 
     static void refreshPlayers(@Nonnull final World world, final boolean forceRestore) {
-        final HideEnemyHealthConfig cfg = HideNameplateConfigRegistry.getConfig();
-        final boolean log = cfg.debug != null && cfg.debug.logRefreshStats;
-        final long t0 = log ? System.nanoTime() : 0L;
+        final boolean log = HideNameplateConfigRegistry.getPolicy().logRefreshStats;
+        final long t0 = System.nanoTime();
+        final WorldRefreshEvent jfr = new WorldRefreshEvent();
+        jfr.begin();
 
         final Store<EntityStore> worldStore = WorldStoreAccess.tryGetWorldStore(world);
         if (worldStore != null) {
             final int[] stats = new int[2]; // [0]=visited, [1]=changed
             try {
                 worldStore.forEachChunk(Player.getComponentType(), (archetypeChunk, commandBuffer) -> {
+                    final ChunkBatchEvent batch = new ChunkBatchEvent();
+                    batch.begin();
+                    final int changedBefore = stats[1];
                     for (int i = 0; i < archetypeChunk.size(); i++) {
                         final Ref<EntityStore> ref = archetypeChunk.getReferenceTo(i);
                         if (ref == null || !ref.isValid()) continue;
@@ -43,13 +49,18 @@ final class HideNameplatePlayerRefreshPass {
                             stats[1]++;
                         }
                     }
+                    batch.finish(PluginMetrics.Pass.NAMEPLATE_PLAYERS.name(), archetypeChunk.size(), stats[1] - changedBefore);
                 });
             } catch (Throwable t) {
                 LOGGER.at(Level.WARNING).withCause(t)
                         .log("[ServerHideSettings] Failed to refresh player nameplates in world: %s", WorldThreadExecutor.safeWorldName(world));
             } finally {
+                final long nanos = System.nanoTime() - t0;
+                PluginMetrics.recordRefresh(PluginMetrics.Pass.NAMEPLATE_PLAYERS, WorldThreadExecutor.safeWorldName(world),
+                        stats[0], stats[1], nanos);
+                jfr.finish(PluginMetrics.Pass.NAMEPLATE_PLAYERS.name(), WorldThreadExecutor.safeWorldName(world), stats[0], stats[1]);
                 if (log) {
-                    final long ms = (System.nanoTime() - t0) / 1_000_000L;
+                    final long ms = nanos / 1_000_000L;
                     LOGGER.at(Level.INFO).log(
                             "[ServerHideSettings][Nameplates][Refresh] world=%s players visited=%d changed=%d timeMs=%d",
                             WorldThreadExecutor.safeWorldName(world), stats[0], stats[1], ms
@@ -80,8 +91,12 @@ final class HideNameplatePlayerRefreshPass {
             LOGGER.at(Level.WARNING).withCause(t)
                     .log("[ServerHideSettings] Failed to refresh player nameplates in world: %s", WorldThreadExecutor.safeWorldName(world));
         } finally {
+            final long nanos = System.nanoTime() - t0;
+            PluginMetrics.recordRefresh(PluginMetrics.Pass.NAMEPLATE_PLAYERS, WorldThreadExecutor.safeWorldName(world),
+                    visited, changed, nanos);
+            jfr.finish(PluginMetrics.Pass.NAMEPLATE_PLAYERS.name(), WorldThreadExecutor.safeWorldName(world), visited, changed);
             if (log) {
-                final long ms = (System.nanoTime() - t0) / 1_000_000L;
+                final long ms = nanos / 1_000_000L;
                 LOGGER.at(Level.INFO).log(
                         "[ServerHideSettings][Nameplates][Refresh] world=%s players visited=%d changed=%d timeMs=%d",
                         WorldThreadExecutor.safeWorldName(world), visited, changed, ms
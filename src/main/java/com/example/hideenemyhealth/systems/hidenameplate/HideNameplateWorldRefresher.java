@@ -12,7 +12,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 
 /**
- * Applies nameplate hide/restore to currently loaded players across all worlds.
+ * Applies nameplate hide/restore to currently loaded players and NPCs across all worlds.
  */
 public final class HideNameplateWorldRefresher {
 
@@ -28,7 +28,7 @@ public final class HideNameplateWorldRefresher {
     }
 
     /**
-     * Apply current config (hide or restore) to all loaded players.
+     * Apply current config (hide or restore) to all loaded players and NPCs.
      */
     public static void refreshLoadedPlayers() {
         request(APPLY_MASK);
@@ -86,6 +86,7 @@ public final class HideNameplateWorldRefresher {
                 WorldThreadExecutor.runStrict(world, () -> {
                     try {
                         HideNameplatePlayerRefreshPass.refreshPlayers(world, forceRestore);
+                        HideNameplateNpcRefreshPass.refreshNpcs(world, forceRestore);
                     } catch (Throwable t) {
                         LOGGER.at(Level.WARNING).withCause(t)
                                 .log("%s Nameplate refresh pass failed for world=%s", HideEnemyHealthPlugin.LOG_PREFIX, WorldThreadExecutor.safeWorldName(world));
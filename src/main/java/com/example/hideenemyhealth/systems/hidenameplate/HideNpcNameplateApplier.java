@@ -0,0 +1,111 @@
+package com.example.hideenemyhealth.systems.hidenameplate;
+
+import com.example.hideenemyhealth.metrics.PluginMetrics;
+import com.hypixel.hytale.component.ArchetypeChunk;
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.entity.nameplate.Nameplate;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Applies the "NPCs: Hide nameplates" setting by removing/restoring {@link Nameplate} on NPC entities.
+ *
+ * <p>Callers already know the entity is an NPC (system query or NPC chunk iteration), so there are no
+ * per-entity {@code Player} probes here. Baseline entries are only created when hiding, so worlds that never
+ * hide NPC nameplates do not grow the baseline cache.</p>
+ */
+public final class HideNpcNameplateApplier {
+
+    private HideNpcNameplateApplier() {
+    }
+
+    /**
+     * Spawn path: apply current config to an NPC (the nameplate is read only if there is something to do).
+     *
+     * @return true if a component write/remove was attempted
+     */
+    public static boolean applyForNpc(@Nonnull final Ref<EntityStore> ref,
+                                      @Nonnull final Store<EntityStore> store,
+                                      @Nullable final CommandBuffer<EntityStore> buffer) {
+        if (!ref.isValid()) return false;
+
+        final boolean wantHide = HideNameplateConfigRegistry.getPolicy(store).hideNpcNameplates;
+        final NameplateBaselineCache.Entry entry =
+                NameplateBaselineCache.forApply(NameplateBaselineCache.entityKey(ref), wantHide);
+        if (entry == null) return false;
+
+        final Nameplate current;
+        try {
+            current = store.getComponent(ref, Nameplate.getComponentType());
+        } catch (Throwable ignored) {
+            return false;
+        }
+        PluginMetrics.inc(PluginMetrics.Counter.NAMEPLATE_APPLY_NPC);
+        return HidePlayerNameplateApplier.apply(ref, store, buffer, entry, current, wantHide);
+    }
+
+    /**
+     * Nameplate write path: apply current config with the component the change event already carries.
+     *
+     * @return true if a component write/remove was attempted
+     */
+    public static boolean applyForNpc(@Nonnull final Ref<EntityStore> ref,
+                                      @Nonnull final Store<EntityStore> store,
+                                      @Nullable final CommandBuffer<EntityStore> buffer,
+                                      @Nullable final Nameplate current) {
+        if (!ref.isValid()) return false;
+
+        final boolean wantHide = HideNameplateConfigRegistry.getPolicy(store).hideNpcNameplates;
+        final NameplateBaselineCache.Entry entry =
+                NameplateBaselineCache.forApply(NameplateBaselineCache.entityKey(ref), wantHide);
+        if (entry == null) return false;
+
+        PluginMetrics.inc(PluginMetrics.Counter.NAMEPLATE_APPLY_NPC);
+        return HidePlayerNameplateApplier.apply(ref, store, buffer, entry, current, wantHide);
+    }
+
+    /**
+     * Refresh path: apply config to one archetype chunk of NPCs.
+     *
+     * <p>All entities in a chunk share an archetype, so whether they carry a {@link Nameplate} is classified once
+     * per chunk: chunks without one are skipped entirely when hiding (already hidden, or never named), and
+     * nameplates are read from the chunk column instead of per-entity store lookups.</p>
+     *
+     * @param forceRestore if true, restore baselines even if config says to hide (used on shutdown)
+     * @return number of entities a write/remove was attempted for
+     */
+    static int applyForChunk(@Nonnull final ArchetypeChunk<EntityStore> chunk,
+                             @Nonnull final Store<EntityStore> store,
+                             @Nonnull final CommandBuffer<EntityStore> buffer,
+                             final boolean forceRestore) {
+        final int size = chunk.size();
+        if (size == 0) return 0;
+
+        final boolean wantHide = !forceRestore && HideNameplateConfigRegistry.getPolicy(store).hideNpcNameplates;
+        final boolean hasNameplate = chunk.getComponent(0, Nameplate.getComponentType()) != null;
+
+        if (wantHide && !hasNameplate) return 0;
+        if (!wantHide && NameplateBaselineCache.isEmpty()) return 0;
+
+        int changed = 0;
+        for (int i = 0; i < size; i++) {
+            final Ref<EntityStore> ref = chunk.getReferenceTo(i);
+            if (ref == null || !ref.isValid()) continue;
+
+            final NameplateBaselineCache.Entry entry =
+                    NameplateBaselineCache.forApply(NameplateBaselineCache.entityKey(ref), wantHide);
+            if (entry == null) continue;
+
+            final Nameplate current = hasNameplate ? chunk.getComponent(i, Nameplate.getComponentType()) : null;
+            PluginMetrics.inc(PluginMetrics.Counter.NAMEPLATE_APPLY_NPC);
+            if (HidePlayerNameplateApplier.apply(ref, store, buffer, entry, current, wantHide)) {
+                changed++;
+            }
+        }
+        return changed;
+    }
+}
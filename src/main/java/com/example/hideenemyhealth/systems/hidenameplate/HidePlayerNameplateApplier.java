@@ -1,6 +1,8 @@
 package com.example.hideenemyhealth.systems.hidenameplate;
 
-import com.example.hideenemyhealth.config.HideEnemyHealthConfig;
+import com.example.hideenemyhealth.config.CompiledPolicy;
+import com.example.hideenemyhealth.config.WorldPolicyIndex;
+import com.example.hideenemyhealth.metrics.PluginMetrics;
 import com.hypixel.hytale.component.CommandBuffer;
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
@@ -13,6 +15,12 @@ import javax.annotation.Nullable;
 
 /**
  * Applies the "Players: Hide nameplates" setting by removing/restoring {@link Nameplate} on player entities.
+ * With proximity nameplates on, players without anyone nearby ({@link ProximityNameplateTracker}) are hidden too.
+ *
+ * <p>Every player gets a baseline entry on its first apply. The entry also carries the proximity flag and the
+ * player's resolved world policy, so deciding whether to hide costs that single entry lookup.</p>
+ *
+ * <p>The hide/restore logic itself ({@link #apply}) is shared with {@link HideNpcNameplateApplier}.</p>
  */
 public final class HidePlayerNameplateApplier {
 
@@ -41,12 +49,36 @@ public final class HidePlayerNameplateApplier {
             return false;
         }
 
-        final HideEnemyHealthConfig cfg = HideNameplateConfigRegistry.getConfig();
-        final boolean wantHide = !forceRestore && cfg.enabled && cfg.getPlayers() != null && cfg.getPlayers().hideNameplate;
+        final NameplateBaselineCache.Entry entry =
+                NameplateBaselineCache.getOrCreate(NameplateBaselineCache.entityKey(ref));
+        final boolean wantHide = !forceRestore && wantHide(entry, store);
 
-        final Object type = Nameplate.getComponentType();
-        final long key = NameplateBaselineCache.entityKey(ref);
-        final NameplateBaselineCache.Entry entry = NameplateBaselineCache.getOrCreate(key);
+        final Nameplate current;
+        try {
+            current = store.getComponent(ref, Nameplate.getComponentType());
+        } catch (Throwable ignored) {
+            return false;
+        }
+
+        PluginMetrics.inc(PluginMetrics.Counter.NAMEPLATE_APPLY_PLAYER);
+        return apply(ref, store, buffer, entry, current, wantHide);
+    }
+
+    /**
+     * Spawn path for refs already known to be players (the caller's query guarantees it); the nameplate is read
+     * only if there is something to do.
+     *
+     * @return true if a component write/remove was attempted
+     */
+    public static boolean applyForPlayer(@Nonnull final Ref<EntityStore> ref,
+                                         @Nonnull final Store<EntityStore> store,
+                                         @Nullable final CommandBuffer<EntityStore> buffer) {
+        if (!ref.isValid()) return false;
+
+        final NameplateBaselineCache.Entry entry =
+                NameplateBaselineCache.getOrCreate(NameplateBaselineCache.entityKey(ref));
+        final boolean wantHide = wantHide(entry, store);
+        if (!wantHide && isIdle(entry)) return false;
 
         final Nameplate current;
         try {
@@ -54,9 +86,81 @@ public final class HidePlayerNameplateApplier {
         } catch (Throwable ignored) {
             return false;
         }
+        PluginMetrics.inc(PluginMetrics.Counter.NAMEPLATE_APPLY_PLAYER);
+        return apply(ref, store, buffer, entry, current, wantHide);
+    }
+
+    /**
+     * Nameplate write path for players: no {@link Player} probe and no component read, the change event already
+     * carries the component. The only hash lookup is the baseline entry (it also answers the policy and proximity
+     * questions); it is created on the player's first apply.
+     *
+     * @return true if a component write/remove was attempted
+     */
+    public static boolean applyForPlayer(@Nonnull final Ref<EntityStore> ref,
+                                         @Nonnull final Store<EntityStore> store,
+                                         @Nullable final CommandBuffer<EntityStore> buffer,
+                                         @Nullable final Nameplate current) {
+        if (!ref.isValid()) return false;
+
+        final NameplateBaselineCache.Entry entry =
+                NameplateBaselineCache.getOrCreate(NameplateBaselineCache.entityKey(ref));
+        final boolean wantHide = wantHide(entry, store);
+        if (!wantHide && isIdle(entry)) return false;
+
+        PluginMetrics.inc(PluginMetrics.Counter.NAMEPLATE_APPLY_PLAYER);
+        return apply(ref, store, buffer, entry, current, wantHide);
+    }
+
+    /**
+     * @return true if the player's nameplate should be hidden (setting, or nobody nearby with proximity on)
+     */
+    private static boolean wantHide(@Nonnull final NameplateBaselineCache.Entry entry,
+                                    @Nonnull final Store<EntityStore> store) {
+        final WorldPolicyIndex.Resolved cached = entry.worldPolicy;
+        final WorldPolicyIndex.Resolved resolved = HideNameplateConfigRegistry.resolve(cached, store);
+        if (resolved != cached) entry.worldPolicy = resolved;
+
+        final CompiledPolicy policy = resolved.policy;
+        return policy.hidePlayerNameplates || (policy.nameplateProximityBlocks > 0 && entry.culled);
+    }
+
+    /**
+     * @return true if nothing is hidden and there is no baseline to keep fresh (a visible apply would do nothing)
+     */
+    private static boolean isIdle(@Nonnull final NameplateBaselineCache.Entry entry) {
+        return !entry.hidden && entry.baseline == null;
+    }
+
+    /**
+     * Hide or restore a nameplate given its baseline entry and current component (shared by players and NPCs).
+     *
+     * @param current the entity's current {@link Nameplate} (null if absent / removed)
+     * @return true if a component write/remove was attempted
+     */
+    static boolean apply(@Nonnull final Ref<EntityStore> ref,
+                         @Nonnull final Store<EntityStore> store,
+                         @Nullable final CommandBuffer<EntityStore> buffer,
+                         @Nonnull final NameplateBaselineCache.Entry entry,
+                         @Nullable final Nameplate current,
+                         final boolean wantHide) {
+        final long t0 = PluginMetrics.sampleStart();
+        final boolean wrote = hideOrRestore(ref, store, buffer, entry, current, wantHide);
+        PluginMetrics.nameplateApplied(wrote, t0);
+        return wrote;
+    }
+
+    private static boolean hideOrRestore(@Nonnull final Ref<EntityStore> ref,
+                                         @Nonnull final Store<EntityStore> store,
+                                         @Nullable final CommandBuffer<EntityStore> buffer,
+                                         @Nonnull final NameplateBaselineCache.Entry entry,
+                                         @Nullable final Nameplate current,
+                                         final boolean wantHide) {
+        final Object type = Nameplate.getComponentType();
 
-        // Keep baseline updated while visible (helps if the server or other plugins rewrite nameplates).
-        if (!entry.hidden && current != null) {
+        // Keep baseline updated while visible (helps if the server or other plugins rewrite nameplates). Entries
+        // that never hid anything have no baseline to keep; hiding captures the current component anyway.
+        if (!entry.hidden && current != null && entry.baseline != null) {
             entry.baseline = NameplateCopySupport.copy(current);
         }
 
@@ -1,15 +1,19 @@
 package com.example.hideenemyhealth.systems.hidenameplate;
 
+import com.example.hideenemyhealth.config.WorldPolicyIndex;
+import com.example.hideenemyhealth.metrics.PluginMetrics;
+import com.example.hideenemyhealth.systems.hideentityui.EntityUiBaselineCache;
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.server.core.entity.nameplate.Nameplate;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Stores baseline {@link Nameplate} components for players we have modified.
+ * Stores baseline {@link Nameplate} components for players and NPCs we have modified.
  *
  * <p>Unlike the overhead UI feature, we must keep baselines even when the nameplate
  * component is removed (because restoring requires the original component).</p>
@@ -40,6 +44,12 @@ public final class NameplateBaselineCache {
 
     @Nonnull
     public static Entry getOrCreate(final long key) {
+        final Entry existing = ENTRIES.get(key);
+        if (existing != null) {
+            PluginMetrics.inc(PluginMetrics.Counter.NAMEPLATE_BASELINE_HIT);
+            return existing;
+        }
+        PluginMetrics.inc(PluginMetrics.Counter.NAMEPLATE_BASELINE_MISS);
         return ENTRIES.computeIfAbsent(key, k -> new Entry());
     }
 
@@ -48,6 +58,20 @@ public final class NameplateBaselineCache {
         return ENTRIES.get(key);
     }
 
+    /**
+     * Lookup for an apply: creates the entry only when hiding (the baseline is captured then), so entities whose
+     * nameplate was never hidden cost a single lookup and no allocation.
+     *
+     * @return baseline entry, or null if not hiding and there is nothing to restore
+     */
+    @Nullable
+    public static Entry forApply(final long key, final boolean wantHide) {
+        if (wantHide) return getOrCreate(key);
+        final Entry existing = ENTRIES.get(key);
+        if (existing != null) PluginMetrics.inc(PluginMetrics.Counter.NAMEPLATE_BASELINE_HIT);
+        return existing;
+    }
+
     public static void remove(final long key) {
         ENTRIES.remove(key);
     }
@@ -56,10 +80,64 @@ public final class NameplateBaselineCache {
         remove(entityKey(ref));
     }
 
+    /**
+     * @return number of entities with a baseline entry
+     */
+    public static int size() {
+        return ENTRIES.size();
+    }
+
+    /**
+     * @return true if no entity has a baseline entry (nothing can need a restore)
+     */
+    public static boolean isEmpty() {
+        return ENTRIES.isEmpty();
+    }
+
     public static void clearAll() {
         ENTRIES.clear();
     }
 
+    /**
+     * Sweep orphan entries for a specific store (defensive GC, see
+     * {@link EntityUiBaselineCache#sweepOrphanedForStore(int, EntityUiBaselineCache.LongKeySet, int)}).
+     *
+     * <p>Keys use the same scheme as the UI baseline cache, so one scan serves both caches. Entries carry no
+     * entity kind: callers must only sweep when both players and NPCs of the store were scanned.</p>
+     *
+     * @param storeId   store identity hash used by {@link #entityKey(Ref)}
+     * @param aliveKeys keys observed during the scan
+     * @return number of removed entries
+     */
+    public static int sweepOrphanedForStore(final int storeId,
+                                           @Nonnull final EntityUiBaselineCache.LongKeySet aliveKeys) {
+        int removed = 0;
+        for (Map.Entry<Long, Entry> e : ENTRIES.entrySet()) {
+            final long key = e.getKey();
+            if (EntityUiBaselineCache.storeIdFromKey(key) != storeId) continue;
+            if (!aliveKeys.contains(key) && ENTRIES.remove(key, e.getValue())) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Drop every entry of a store (world unload).
+     *
+     * @return number of removed entries
+     */
+    public static int removeStore(final int storeId) {
+        int removed = 0;
+        for (Map.Entry<Long, Entry> e : ENTRIES.entrySet()) {
+            if (EntityUiBaselineCache.storeIdFromKey(e.getKey()) != storeId) continue;
+            if (ENTRIES.remove(e.getKey(), e.getValue())) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
     /**
      * Baseline entry.
      */
@@ -71,6 +149,13 @@ public final class NameplateBaselineCache {
         /** Whether the plugin has currently hidden the nameplate for this entity. */
         public volatile boolean hidden;
 
+        /** Proximity nameplates: nobody was nearby at the last evaluation (set by {@link ProximityNameplateTracker}). */
+        public volatile boolean culled;
+
+        /** World policy of the entity's store, cached for the apply path. */
+        @Nullable
+        public volatile WorldPolicyIndex.Resolved worldPolicy;
+
         private Entry() {
         }
     }
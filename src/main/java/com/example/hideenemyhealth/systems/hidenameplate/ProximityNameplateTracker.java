@@ -0,0 +1,247 @@
+package com.example.hideenemyhealth.systems.hidenameplate;
+
+import com.example.hideenemyhealth.systems.hideentityui.TickBudget;
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.server.core.modules.entity.component.TransformComponent;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * Proximity nameplates: a player's nameplate is shown only while another player is close to it.
+ *
+ * <p>Each world thread keeps a spatial hash of its players, with square cells of
+ * {@code nameplateProximity.blocks} (horizontal). "Close" means another player within {@code blocks} (horizontal
+ * distance); such a player is always in the same or one of the eight neighbouring cells, so only those are
+ * searched. A player is only re-evaluated when something around it changed: a player entered or left one of those
+ * cells, or moved {@link #MOVE_STEP} blocks inside its cell while others are around. Players with nobody in the
+ * neighbouring cells cost one position read per tick. The result is stored on the player's
+ * {@link NameplateBaselineCache.Entry#culled} flag, where {@link HidePlayerNameplateApplier} (which does the
+ * actual remove / restore) reads it without a lookup here.</p>
+ *
+ * <p>Evaluation happens in the player's own tick (so the write uses that tick's command buffer); a player marked
+ * by a neighbour that already ticked is picked up on the next tick.</p>
+ */
+public final class ProximityNameplateTracker {
+
+    /** Movement inside a cell (blocks) after which distances around a player are re-checked. */
+    static final double MOVE_STEP = 0.5d;
+
+    private static final ThreadLocal<State> STATE = ThreadLocal.withInitial(State::new);
+
+    private ProximityNameplateTracker() {
+    }
+
+    /**
+     * Movement hook: called per ticking player. Cheap no-op while the feature is off.
+     */
+    public static void onTick(@Nonnull final Ref<EntityStore> ref,
+                              @Nonnull final Store<EntityStore> store,
+                              @Nonnull final CommandBuffer<EntityStore> buffer,
+                              @Nullable final TransformComponent transform) {
+        final int blocks = HideNameplateConfigRegistry.getPolicy(store).nameplateProximityBlocks;
+        final State state = STATE.get();
+        if (blocks <= 0) {
+            // Restores are done by the refresh pass that follows the config change; just drop the state.
+            if (!state.players.isEmpty()) state.clear();
+            return;
+        }
+        if (state.cellSize != blocks) {
+            state.clear();
+            state.cellSize = blocks;
+        }
+
+        if (transform == null) return;
+        final Vector3d pos = transform.getPosition();
+        if (pos == null) return;
+
+        final double x = pos.getX();
+        final double z = pos.getZ();
+        final int cx = Math.floorDiv((int) Math.floor(x), blocks);
+        final int cz = Math.floorDiv((int) Math.floor(z), blocks);
+        final long key = NameplateBaselineCache.entityKey(ref);
+
+        Entry e = state.players.get(key);
+        if (e == null) {
+            e = new Entry(cx, cz, x, z);
+            state.players.put(key, e);
+            state.bucket(e);
+            state.markAround(cx, cz);
+        } else if (e.cx != cx || e.cz != cz) {
+            state.unbucket(e);
+            state.markAround(e.cx, e.cz);
+            e.cx = cx;
+            e.cz = cz;
+            e.moveTo(x, z);
+            state.bucket(e);
+            state.markAround(cx, cz);
+        } else {
+            e.x = x;
+            e.z = z;
+            final double dx = x - e.markedX;
+            final double dz = z - e.markedZ;
+            // Moved inside the cell: distances to players around may have crossed the radius.
+            if (dx * dx + dz * dz >= MOVE_STEP * MOVE_STEP && state.hasOthersAround(e)) {
+                e.moveTo(x, z);
+                state.markAround(cx, cz);
+            }
+        }
+
+        if (!e.dirty) return;
+        // Over the tick budget: stay dirty and re-evaluate once the world is back under it.
+        if (TickBudget.isDegraded()) return;
+        e.dirty = false;
+
+        final boolean culled = !state.hasNeighbour(e, (double) blocks * blocks);
+        if (culled == e.culled && e.applied) return;
+        e.culled = culled;
+        e.applied = true;
+
+        NameplateBaselineCache.getOrCreate(key).culled = culled;
+        HidePlayerNameplateApplier.applyForPlayer(ref, store, buffer);
+    }
+
+    /**
+     * Drop tracking for a removed player; its former neighbours are re-evaluated (world thread).
+     */
+    public static void forget(@Nonnull final Ref<EntityStore> ref) {
+        final State state = STATE.get();
+        final Entry e = state.players.remove(NameplateBaselineCache.entityKey(ref));
+        if (e == null) return;
+        state.unbucket(e);
+        state.markAround(e.cx, e.cz);
+    }
+
+    private static long cellKey(final int cx, final int cz) {
+        return (((long) cx) << 32) ^ (cz & 0xFFFF_FFFFL);
+    }
+
+    /**
+     * Spatial hash of one world thread.
+     */
+    private static final class State {
+        /** Entity key -> tracked player. */
+        final HashMap<Long, Entry> players = new HashMap<>();
+
+        /** Cell key -> players in the cell. */
+        final HashMap<Long, ArrayList<Entry>> cells = new HashMap<>();
+
+        int cellSize;
+
+        /** Drop all tracking; players' culled flags go back to "not culled" until they are evaluated again. */
+        void clear() {
+            for (Long key : players.keySet()) {
+                final NameplateBaselineCache.Entry entry = NameplateBaselineCache.get(key);
+                if (entry != null) entry.culled = false;
+            }
+            players.clear();
+            cells.clear();
+            cellSize = 0;
+        }
+
+        void bucket(@Nonnull final Entry e) {
+            cells.computeIfAbsent(cellKey(e.cx, e.cz), k -> new ArrayList<>(4)).add(e);
+        }
+
+        void unbucket(@Nonnull final Entry e) {
+            final Long key = cellKey(e.cx, e.cz);
+            final ArrayList<Entry> cell = cells.get(key);
+            if (cell == null) return;
+
+            // Swap-remove (order inside a cell does not matter).
+            final int i = cell.indexOf(e);
+            if (i < 0) return;
+            final int last = cell.size() - 1;
+            cell.set(i, cell.get(last));
+            cell.remove(last);
+            if (cell.isEmpty()) cells.remove(key);
+        }
+
+        /** Mark every player in the 3x3 cells around {@code (cx, cz)} for re-evaluation. */
+        void markAround(final int cx, final int cz) {
+            for (int x = cx - 1; x <= cx + 1; x++) {
+                for (int z = cz - 1; z <= cz + 1; z++) {
+                    final ArrayList<Entry> cell = cells.get(cellKey(x, z));
+                    if (cell == null) continue;
+                    for (int i = 0, n = cell.size(); i < n; i++) {
+                        cell.get(i).dirty = true;
+                    }
+                }
+            }
+        }
+
+        /** @return true if another player is in the 3x3 cells around {@code e} (at any distance) */
+        boolean hasOthersAround(@Nonnull final Entry e) {
+            for (int x = e.cx - 1; x <= e.cx + 1; x++) {
+                for (int z = e.cz - 1; z <= e.cz + 1; z++) {
+                    final ArrayList<Entry> cell = cells.get(cellKey(x, z));
+                    if (cell == null) continue;
+                    if (cell.size() > 1 || cell.get(0) != e) return true;
+                }
+            }
+            return false;
+        }
+
+        /** @return true if another player is within the radius ({@code radiusSq} = blocks squared, horizontal) */
+        boolean hasNeighbour(@Nonnull final Entry e, final double radiusSq) {
+            for (int x = e.cx - 1; x <= e.cx + 1; x++) {
+                for (int z = e.cz - 1; z <= e.cz + 1; z++) {
+                    final ArrayList<Entry> cell = cells.get(cellKey(x, z));
+                    if (cell == null) continue;
+                    for (int i = 0, n = cell.size(); i < n; i++) {
+                        final Entry o = cell.get(i);
+                        if (o == e) continue;
+                        final double dx = o.x - e.x;
+                        final double dz = o.z - e.z;
+                        if (dx * dx + dz * dz <= radiusSq) return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Tracked player.
+     */
+    private static final class Entry {
+        int cx;
+        int cz;
+
+        /** Last known horizontal position. */
+        double x;
+        double z;
+
+        /** Position at which the cells around this player were last marked for re-evaluation. */
+        double markedX;
+        double markedZ;
+
+        /** Occupancy around the player changed since its last evaluation. */
+        boolean dirty = true;
+
+        /** Nobody nearby at the last evaluation. */
+        boolean culled;
+
+        /** The applier ran at least once for this entry (forces the first evaluation to apply). */
+        boolean applied;
+
+        Entry(final int cx, final int cz, final double x, final double z) {
+            this.cx = cx;
+            this.cz = cz;
+            moveTo(x, z);
+        }
+
+        void moveTo(final double x, final double z) {
+            this.x = x;
+            this.z = z;
+            this.markedX = x;
+            this.markedZ = z;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.hideenemyhealth.ui;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodic stats updates for open dashboard pages.
+ *
+ * <p>One task per admin (opening the page again replaces the previous task). A task stops when the page is dismissed
+ * (close button, Escape, or replaced), when an update fails, or after {@link #MAX_LIFETIME_MILLIS}, whichever comes
+ * first. The scheduler thread only triggers updates; the page hands the actual work to its world thread.</p>
+ */
+public final class DashboardStatsTicker {
+
+    /** Update interval. */
+    static final long INTERVAL_MILLIS = 2_000L;
+
+    /** Safety cap: pages dismissed without an event stop receiving updates after this long. */
+    static final long MAX_LIFETIME_MILLIS = 10L * 60_000L;
+
+    private static final ConcurrentHashMap<UUID, ScheduledFuture<?>> TASKS = new ConcurrentHashMap<>();
+
+    @Nullable
+    private static ScheduledExecutorService scheduler;
+
+    private DashboardStatsTicker() {
+    }
+
+    /**
+     * Start (or replace) the stats task of a page owner.
+     *
+     * @return the task (pass it to {@link #stop(UUID, ScheduledFuture)} so a stale page cannot stop its successor)
+     */
+    @Nonnull
+    static synchronized ScheduledFuture<?> start(@Nonnull final UUID owner, @Nonnull final Runnable tick) {
+        if (scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                final Thread t = new Thread(r, "ServerHideSettings-DashboardStats");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+
+        final long started = System.currentTimeMillis();
+        final ScheduledFuture<?>[] self = new ScheduledFuture<?>[1];
+        final ScheduledFuture<?> future = scheduler.scheduleAtFixedRate(() -> {
+            if (System.currentTimeMillis() - started > MAX_LIFETIME_MILLIS) {
+                cancel(owner, self[0]);
+                return;
+            }
+            try {
+                tick.run();
+            } catch (Throwable t) {
+                cancel(owner, self[0]);
+            }
+        }, INTERVAL_MILLIS, INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        self[0] = future;
+
+        final ScheduledFuture<?> previous = TASKS.put(owner, future);
+        if (previous != null) previous.cancel(false);
+        return future;
+    }
+
+    /**
+     * Stop a page's stats task (no-op if the owner's current task is a newer one).
+     */
+    static void stop(@Nonnull final UUID owner, @Nullable final ScheduledFuture<?> task) {
+        cancel(owner, task);
+    }
+
+    /**
+     * Stop every task and the scheduler (plugin shutdown).
+     */
+    public static synchronized void shutdown() {
+        for (ScheduledFuture<?> f : TASKS.values()) {
+            f.cancel(false);
+        }
+        TASKS.clear();
+        if (scheduler != null) {
+            try {
+                scheduler.shutdownNow();
+            } catch (Throwable ignored) {
+            }
+            scheduler = null;
+        }
+    }
+
+    private static void cancel(@Nonnull final UUID owner, @Nullable final ScheduledFuture<?> future) {
+        if (future == null) return;
+        TASKS.remove(owner, future);
+        future.cancel(false);
+    }
+}
@@ -2,8 +2,12 @@ package com.example.hideenemyhealth.ui;
 
 import com.example.hideenemyhealth.HideEnemyHealthPlugin;
 import com.example.hideenemyhealth.config.HideEnemyHealthConfig;
+import com.example.hideenemyhealth.metrics.MetricsSnapshot;
+import com.example.hideenemyhealth.metrics.PluginMetrics;
+import com.example.hideenemyhealth.metrics.StatsFormat;
 import com.example.hideenemyhealth.systems.HideEntityUiSystem;
 import com.example.hideenemyhealth.systems.HidePlayerNameplateSystem;
+import com.example.hideenemyhealth.util.WorldThreadExecutor;
 import com.example.hideenemyhealth.worldmap.PlayerMapMarkerController;
 import com.hypixel.hytale.codec.Codec;
 import com.hypixel.hytale.codec.KeyedCodec;
@@ -20,16 +24,24 @@ import com.hypixel.hytale.server.core.ui.builder.EventData;
 import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
 import com.hypixel.hytale.server.core.ui.builder.UIEventBuilder;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.hypixel.hytale.server.core.util.NotificationUtil;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.UUID;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.Consumer;
 
 /**
  * Admin dashboard UI for Server Hide Settings.
  *
  * <p>UI is driven by a .ui layout file and event bindings.
  * Any state changes are applied server-side to the config and then re-applied to currently loaded entities.</p>
+ *
+ * <p>The performance panel is filled from {@link PluginMetrics#snapshot()} (no world scans) and refreshed every
+ * few seconds while the page is open ({@link DashboardStatsTicker}).</p>
  */
 public class HideEnemyHealthDashboardUI extends InteractiveCustomUIPage<HideEnemyHealthDashboardUI.UIEventData> {
 
@@ -38,6 +50,14 @@ public class HideEnemyHealthDashboardUI extends InteractiveCustomUIPage<HideEnem
 
     private final PlayerRef playerRef;
 
+    /** World of the viewing admin (stats updates run on its thread); null if it could not be resolved. */
+    @Nullable
+    private volatile World world;
+
+    /** This page's stats task (null until started). */
+    @Nullable
+    private volatile ScheduledFuture<?> statsTask;
+
     /**
      * Create the dashboard page.
      *
@@ -70,6 +90,14 @@ public class HideEnemyHealthDashboardUI extends InteractiveCustomUIPage<HideEnem
 
         // Set initial state
         syncUI(cmd);
+        syncStats(cmd);
+
+        try {
+            world = store.getExternalData().getWorld();
+        } catch (Throwable ignored) {
+            world = null;
+        }
+        startStatsUpdates();
     }
 
     /**
@@ -100,6 +128,64 @@ public class HideEnemyHealthDashboardUI extends InteractiveCustomUIPage<HideEnem
         cmd.set("#ToggleMapPlayersButton.Text", cfg.getMap().hidePlayerMarkers ? "ON" : "OFF");
     }
 
+    /**
+     * Sync the performance panel from the current metrics snapshot.
+     */
+    private void syncStats(@Nonnull UICommandBuilder cmd) {
+        final MetricsSnapshot s = PluginMetrics.snapshot();
+        cmd.set("#StatsEntitiesText.Text", "Entities: " + StatsFormat.entities(s));
+        cmd.set("#StatsCachesText.Text", "Caches: " + StatsFormat.caches(s));
+        cmd.set("#StatsRefreshText.Text", "Last refresh: " + StatsFormat.lastRefresh(s));
+        cmd.set("#StatsGcText.Text", "Last GC: " + StatsFormat.gc(s));
+        cmd.set("#StatsLatencyText.Text", "Apply latency: " + StatsFormat.latency(s));
+    }
+
+    /**
+     * Start periodic stats updates (static panel if the viewer cannot be identified).
+     */
+    private void startStatsUpdates() {
+        final UUID owner = ownerUuid();
+        if (owner == null || world == null) return;
+
+        statsTask = DashboardStatsTicker.start(owner, () -> {
+            final World w = world;
+            if (w == null) return;
+            WorldThreadExecutor.runQuiet(w, () -> {
+                final UICommandBuilder cmd = new UICommandBuilder();
+                syncStats(cmd);
+                try {
+                    this.sendUpdate(cmd, false);
+                } catch (Throwable t) {
+                    // Page is gone: stop updating it.
+                    DashboardStatsTicker.stop(owner, statsTask);
+                }
+            });
+        });
+    }
+
+    /**
+     * Page closed by any means (Escape, replaced by another page, disconnect): stop the stats updates.
+     */
+    @Override
+    public void onDismiss(@Nonnull Ref<EntityStore> ref, @Nonnull Store<EntityStore> store) {
+        stopStatsUpdates();
+        super.onDismiss(ref, store);
+    }
+
+    private void stopStatsUpdates() {
+        final UUID owner = ownerUuid();
+        if (owner != null) DashboardStatsTicker.stop(owner, statsTask);
+    }
+
+    @Nullable
+    private UUID ownerUuid() {
+        try {
+            return playerRef.getUuid();
+        } catch (Throwable ignored) {
+            return null;
+        }
+    }
+
     /**
      * Handle a UI event sent from the client.
      *
@@ -131,9 +217,9 @@ public class HideEnemyHealthDashboardUI extends InteractiveCustomUIPage<HideEnem
         }
 
         final HideEnemyHealthPlugin plugin = HideEnemyHealthPlugin.getInstance();
-        final HideEnemyHealthConfig cfg = plugin.getConfig();
 
-        boolean changed = false;
+        // Edits are applied to a copy of the published config (copy-on-write), never to the live snapshot.
+        final Consumer<HideEnemyHealthConfig> edit;
         boolean refreshPlayers = false;
         boolean refreshNameplates = false;
         boolean refreshNpcs = false;
@@ -141,40 +227,39 @@ public class HideEnemyHealthDashboardUI extends InteractiveCustomUIPage<HideEnem
 
         switch (data.action) {
             case "toggle_players_ui" -> {
-                final boolean newVal = !(cfg.getPlayers().hideHealthBar || cfg.getPlayers().hideDamageNumbers);
-                cfg.getPlayers().hideHealthBar = newVal;
-                cfg.getPlayers().hideDamageNumbers = newVal;
-                changed = true;
+                edit = cfg -> {
+                    final boolean newVal = !(cfg.getPlayers().hideHealthBar || cfg.getPlayers().hideDamageNumbers);
+                    cfg.getPlayers().hideHealthBar = newVal;
+                    cfg.getPlayers().hideDamageNumbers = newVal;
+                };
                 refreshPlayers = true;
             }
             case "toggle_players_nameplates" -> {
-                cfg.getPlayers().hideNameplate = !cfg.getPlayers().hideNameplate;
-                changed = true;
+                edit = cfg -> cfg.getPlayers().hideNameplate = !cfg.getPlayers().hideNameplate;
                 refreshNameplates = true;
             }
             case "toggle_npcs_ui" -> {
-                final boolean newVal = !(cfg.getNpcs().hideHealthBar || cfg.getNpcs().hideDamageNumbers);
-                cfg.getNpcs().hideHealthBar = newVal;
-                cfg.getNpcs().hideDamageNumbers = newVal;
-                changed = true;
+                edit = cfg -> {
+                    final boolean newVal = !(cfg.getNpcs().hideHealthBar || cfg.getNpcs().hideDamageNumbers);
+                    cfg.getNpcs().hideHealthBar = newVal;
+                    cfg.getNpcs().hideDamageNumbers = newVal;
+                };
                 refreshNpcs = true;
             }
             case "toggle_map_players" -> {
-                cfg.getMap().hidePlayerMarkers = !cfg.getMap().hidePlayerMarkers;
-                changed = true;
+                edit = cfg -> cfg.getMap().hidePlayerMarkers = !cfg.getMap().hidePlayerMarkers;
                 refreshMap = true;
             }
             case "refresh" -> {
-                // no config change, just re-apply
-                HideEntityUiSystem.setConfig(cfg);
+                // no config change, just re-apply the already published policy
                 HideEntityUiSystem.refreshLoadedEntities();
-                HidePlayerNameplateSystem.setConfig(cfg);
                 HidePlayerNameplateSystem.refreshLoadedPlayers();
-                PlayerMapMarkerController.applyToAllLoadedWorlds(cfg);
+                PlayerMapMarkerController.applyToAllLoadedWorlds(plugin.getPolicy());
                 sendStatus("Applied.");
                 return;
             }
             case "close" -> {
+                stopStatsUpdates();
                 this.close();
                 return;
             }
@@ -184,17 +269,12 @@ public class HideEnemyHealthDashboardUI extends InteractiveCustomUIPage<HideEnem
             }
         }
 
-        if (!changed) return;
-
-        // Persist + publish updated config
-        cfg.normalize();
-        plugin.saveConfig();
-        HideEntityUiSystem.setConfig(cfg);
-        HidePlayerNameplateSystem.setConfig(cfg);
+        // Publish + persist updated config
+        plugin.updateConfig(edit);
 
         // Apply map marker changes if requested.
         if (refreshMap) {
-            PlayerMapMarkerController.applyToAllLoadedWorlds(cfg);
+            PlayerMapMarkerController.applyToAllLoadedWorlds(plugin.getPolicy());
         }
 
         if (refreshNameplates) {
@@ -0,0 +1,189 @@
+package com.example.hideenemyhealth.util;
+
+import com.hypixel.hytale.component.Component;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * Per-class compiled copiers for ECS components.
+ *
+ * <p>Copy strategies, in order of preference:
+ * <ol>
+ *   <li>the ECS {@link Component#clone()} contract</li>
+ *   <li>reflective {@code clone()} (covers shaded / classloader oddities)</li>
+ *   <li>no-arg constructor + shallow copy of non-static fields (via method handles)</li>
+ * </ol>
+ * The applicable strategies are compiled once per concrete class. Each copy starts with the strategy that worked
+ * last; if it fails for an instance, the others are tried in order of preference and the first that works becomes
+ * the new starting point. Nothing is ruled out from a single instance: a class only yields no copy for the calls on
+ * which every strategy fails.</p>
+ */
+public final class ComponentCopierFactory {
+
+    private static final ClassValue<Slot> SLOTS = new ClassValue<>() {
+        @Override
+        protected Slot computeValue(@Nonnull final Class<?> type) {
+            return new Slot(type, candidatesFor(type));
+        }
+    };
+
+    private ComponentCopierFactory() {
+    }
+
+    /**
+     * Copy a component using the compiled strategies for its concrete class.
+     *
+     * @return a distinct instance of the same class, or null if no strategy could copy this instance
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public static <T> T tryCopy(@Nonnull final T value) {
+        return (T) SLOTS.get(value.getClass()).copy(value);
+    }
+
+    /**
+     * Ordered copy strategies for one concrete class, plus the one that worked last.
+     */
+    private static final class Slot {
+
+        @Nonnull
+        private final Class<?> type;
+
+        @Nonnull
+        private final UnaryOperator<Object>[] candidates;
+
+        /** Index of the strategy tried first (benign race: any index is valid). */
+        private volatile int preferred;
+
+        Slot(@Nonnull final Class<?> type, @Nonnull final UnaryOperator<Object>[] candidates) {
+            this.type = type;
+            this.candidates = candidates;
+        }
+
+        @Nullable
+        Object copy(@Nonnull final Object value) {
+            final UnaryOperator<Object>[] all = candidates;
+            if (all.length == 0) return null;
+
+            final int first = preferred;
+            final Object copy = attempt(all[first], value);
+            if (copy != null) return copy;
+
+            for (int i = 0; i < all.length; i++) {
+                if (i == first) continue;
+                final Object fallback = attempt(all[i], value);
+                if (fallback != null) {
+                    preferred = i;
+                    return fallback;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * @return a distinct copy of the same class, or null if the strategy failed for this instance
+         */
+        @Nullable
+        private Object attempt(@Nonnull final UnaryOperator<Object> candidate, @Nonnull final Object value) {
+            try {
+                final Object copy = candidate.apply(value);
+                return copy != null && copy != value && copy.getClass() == type ? copy : null;
+            } catch (Throwable ignored) {
+                return null;
+            }
+        }
+    }
+
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    private static UnaryOperator<Object>[] candidatesFor(@Nonnull final Class<?> type) {
+        final List<UnaryOperator<Object>> out = new ArrayList<>(3);
+
+        // 1) ECS contract: components are cloneable (preferred).
+        if (Component.class.isAssignableFrom(type)) {
+            out.add(v -> ((Component<?>) v).clone());
+        }
+
+        // 2) Reflective clone().
+        try {
+            final Method m = type.getDeclaredMethod("clone");
+            m.setAccessible(true);
+            final MethodHandle clone = MethodHandles.lookup().unreflect(m).asType(
+                    MethodType.methodType(Object.class, Object.class));
+            out.add(v -> invoke(clone, v));
+        } catch (Throwable ignored) {
+        }
+
+        // 3) Last resort: no-arg ctor + shallow copy of non-static fields.
+        final UnaryOperator<Object> fieldCopy = compileFieldCopy(type);
+        if (fieldCopy != null) {
+            out.add(fieldCopy);
+        }
+
+        return out.toArray(new UnaryOperator[0]);
+    }
+
+    /**
+     * Compile a constructor + field-by-field copy into method handles (resolved once per class).
+     */
+    @Nullable
+    private static UnaryOperator<Object> compileFieldCopy(@Nonnull final Class<?> type) {
+        try {
+            final Constructor<?> ctor = type.getDeclaredConstructor();
+            ctor.setAccessible(true);
+            final MethodHandles.Lookup lookup = MethodHandles.lookup();
+            final MethodHandle newInstance = lookup.unreflectConstructor(ctor)
+                    .asType(MethodType.methodType(Object.class));
+
+            final List<MethodHandle> getters = new ArrayList<>();
+            final List<MethodHandle> setters = new ArrayList<>();
+            for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+                for (Field f : c.getDeclaredFields()) {
+                    if (Modifier.isStatic(f.getModifiers())) continue;
+                    f.setAccessible(true);
+                    getters.add(lookup.unreflectGetter(f)
+                            .asType(MethodType.methodType(Object.class, Object.class)));
+                    setters.add(lookup.unreflectSetter(f)
+                            .asType(MethodType.methodType(void.class, Object.class, Object.class)));
+                }
+            }
+
+            final MethodHandle[] get = getters.toArray(new MethodHandle[0]);
+            final MethodHandle[] set = setters.toArray(new MethodHandle[0]);
+
+            return v -> {
+                try {
+                    final Object out = newInstance.invokeExact();
+                    for (int i = 0; i < get.length; i++) {
+                        set[i].invokeExact(out, (Object) get[i].invokeExact(v));
+                    }
+                    return out;
+                } catch (Throwable t) {
+                    throw new IllegalStateException(t);
+                }
+            };
+        } catch (Throwable ignored) {
+            return null;
+        }
+    }
+
+    @Nullable
+    private static Object invoke(@Nonnull final MethodHandle handle, @Nonnull final Object v) {
+        try {
+            return (Object) handle.invokeExact(v);
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+}
@@ -0,0 +1,444 @@
+package com.example.hideenemyhealth.util;
+
+import com.example.hideenemyhealth.HideEnemyHealthPlugin;
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.ComponentType;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.logger.HytaleLogger;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.worldmap.WorldMapManager;
+import com.hypixel.hytale.server.core.universe.world.worldmap.markers.MapMarkerTracker;
+import com.hypixel.hytale.server.npc.entities.NPCEntity;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+
+/**
+ * Startup-time capability probe for the reflective Server API entry points used by this plugin.
+ *
+ * <p>All lookups run exactly once, in the static initializer (the class is first used from plugin {@code setup()}).
+ * The results are published as final fields, so hot paths read a resolved {@link Method}/{@link Field}
+ * (or null when unsupported) without per-call caches, volatiles or first-call locking. Per-entity getters are also
+ * published as exactly typed {@link MethodHandle}s, which callers keep in a static final field so the JIT can
+ * inline them.</p>
+ *
+ * <p>Probes run against the declared API types ({@link World}, {@link CommandBuffer}, {@link Store},
+ * {@link WorldMapManager}). Methods and fields resolved there are valid for any runtime subclass.</p>
+ */
+public final class ServerApiProfile {
+
+    private static final HytaleLogger LOGGER = HytaleLogger.forEnclosingClass();
+
+    private static final ServerApiProfile INSTANCE = probe();
+
+    @Nullable
+    private final Method worldExecute;
+
+    @Nullable
+    private final Method worldGetNpcRefs;
+
+    @Nullable
+    private final Method bufferRemoveComponent;
+
+    @Nullable
+    private final Method storeRemoveComponent;
+
+    @Nullable
+    private final Method mapProviderGetter;
+
+    @Nullable
+    private final Method mapProviderRemover;
+
+    @Nullable
+    private final Field mapProviderMapField;
+
+    @Nullable
+    private final Method npcGetRoleIndex;
+
+    @Nullable
+    private final MethodHandle npcRoleIndexHandle;
+
+    @Nullable
+    private final Method npcGetRoleName;
+
+    @Nullable
+    private final Method trackerSetPlayerFilter;
+
+    private ServerApiProfile(@Nullable final Method worldExecute,
+                             @Nullable final Method worldGetNpcRefs,
+                             @Nullable final Method bufferRemoveComponent,
+                             @Nullable final Method storeRemoveComponent,
+                             @Nullable final Method mapProviderGetter,
+                             @Nullable final Method mapProviderRemover,
+                             @Nullable final Field mapProviderMapField,
+                             @Nullable final Method npcGetRoleIndex,
+                             @Nullable final Method npcGetRoleName,
+                             @Nullable final Method trackerSetPlayerFilter) {
+        this.worldExecute = worldExecute;
+        this.worldGetNpcRefs = worldGetNpcRefs;
+        this.bufferRemoveComponent = bufferRemoveComponent;
+        this.storeRemoveComponent = storeRemoveComponent;
+        this.mapProviderGetter = mapProviderGetter;
+        this.mapProviderRemover = mapProviderRemover;
+        this.mapProviderMapField = mapProviderMapField;
+        this.npcGetRoleIndex = npcGetRoleIndex;
+        this.npcRoleIndexHandle = intGetterHandle(npcGetRoleIndex, NPCEntity.class);
+        this.npcGetRoleName = npcGetRoleName;
+        this.trackerSetPlayerFilter = trackerSetPlayerFilter;
+    }
+
+    /**
+     * @return the profile probed during class initialization
+     */
+    @Nonnull
+    public static ServerApiProfile get() {
+        return INSTANCE;
+    }
+
+    /** {@code World.execute(Runnable)}, or null if not available. */
+    @Nullable
+    public Method worldExecute() {
+        return worldExecute;
+    }
+
+    /** {@code World.getNpcRefs()}, or null if not available. */
+    @Nullable
+    public Method worldGetNpcRefs() {
+        return worldGetNpcRefs;
+    }
+
+    /** {@code CommandBuffer.removeComponent(Ref, ComponentType)}, or null if not available. */
+    @Nullable
+    public Method bufferRemoveComponent() {
+        return bufferRemoveComponent;
+    }
+
+    /** {@code Store.removeComponent(Ref, ComponentType)}, or null if not available. */
+    @Nullable
+    public Method storeRemoveComponent() {
+        return storeRemoveComponent;
+    }
+
+    /** {@code WorldMapManager} method returning a marker provider by key, or null. */
+    @Nullable
+    public Method mapProviderGetter() {
+        return mapProviderGetter;
+    }
+
+    /** {@code WorldMapManager} method removing a marker provider by key, or null. */
+    @Nullable
+    public Method mapProviderRemover() {
+        return mapProviderRemover;
+    }
+
+    /** Internal {@code WorldMapManager} providers map field, or null. */
+    @Nullable
+    public Field mapProviderMapField() {
+        return mapProviderMapField;
+    }
+
+    /** {@code NPCEntity.getRoleIndex()} (int), or null if not available. */
+    @Nullable
+    public Method npcGetRoleIndex() {
+        return npcGetRoleIndex;
+    }
+
+    /** {@code NPCEntity.getRoleIndex()} as a {@code (NPCEntity)int} handle, or null if not available. */
+    @Nullable
+    public MethodHandle npcRoleIndexHandle() {
+        return npcRoleIndexHandle;
+    }
+
+    /** {@code NPCEntity.getRoleName()} (String), or null if not available. */
+    @Nullable
+    public Method npcGetRoleName() {
+        return npcGetRoleName;
+    }
+
+    /** {@code MapMarkerTracker} player map filter setter ({@code set...Filter(Predicate)}), or null. */
+    @Nullable
+    public Method trackerSetPlayerFilter() {
+        return trackerSetPlayerFilter;
+    }
+
+    /**
+     * Human-readable capability report (one line per capability).
+     */
+    @Nonnull
+    public List<String> describe() {
+        final List<String> lines = new ArrayList<>(10);
+        lines.add("World.execute(Runnable): " + yesNo(worldExecute));
+        lines.add("World.getNpcRefs(): " + yesNo(worldGetNpcRefs));
+        lines.add("CommandBuffer.removeComponent: " + yesNo(bufferRemoveComponent));
+        lines.add("Store.removeComponent: " + yesNo(storeRemoveComponent));
+        lines.add("WorldMapManager provider getter: " + yesNo(mapProviderGetter));
+        lines.add("WorldMapManager provider remover: " + yesNo(mapProviderRemover));
+        lines.add("WorldMapManager providers map: " + yesNo(mapProviderMapField));
+        lines.add("NPCEntity.getRoleIndex(): " + yesNo(npcGetRoleIndex));
+        lines.add("NPCEntity.getRoleName(): " + yesNo(npcGetRoleName));
+        lines.add("MapMarkerTracker player filter: " + yesNo(trackerSetPlayerFilter));
+        return lines;
+    }
+
+    /**
+     * Log the capability report once (called from plugin setup).
+     */
+    public void logReport() {
+        for (String line : describe()) {
+            LOGGER.at(Level.INFO).log("%s [ApiProfile] %s", HideEnemyHealthPlugin.LOG_PREFIX, line);
+        }
+    }
+
+    @Nonnull
+    private static String yesNo(@Nullable final Object member) {
+        return member != null ? "yes" : "no";
+    }
+
+    // --- Probing ---
+
+    @Nonnull
+    private static ServerApiProfile probe() {
+        return new ServerApiProfile(
+                findMethod(World.class, "execute", Runnable.class),
+                findMethod(World.class, "getNpcRefs"),
+                findRemoveMethod(CommandBuffer.class),
+                findRemoveMethod(Store.class),
+                findProviderGetter(WorldMapManager.class),
+                findProviderRemover(WorldMapManager.class),
+                findProviderMapField(WorldMapManager.class),
+                findTypedMethod(NPCEntity.class, "getRoleIndex", int.class),
+                findTypedMethod(NPCEntity.class, "getRoleName", String.class),
+                findFilterSetter(MapMarkerTracker.class)
+        );
+    }
+
+    /**
+     * Find a public (including inherited) or declared method in the class hierarchy.
+     */
+    @Nullable
+    private static Method findMethod(@Nonnull final Class<?> clazz,
+                                     @Nonnull final String name,
+                                     @Nonnull final Class<?>... params) {
+        try {
+            return accessible(clazz.getMethod(name, params));
+        } catch (NoSuchMethodException ignored) {
+            for (Class<?> c = clazz; c != null; c = c.getSuperclass()) {
+                try {
+                    return accessible(c.getDeclaredMethod(name, params));
+                } catch (NoSuchMethodException ignored2) {
+                    // keep searching
+                } catch (Throwable t) {
+                    return null;
+                }
+            }
+            return null;
+        } catch (Throwable t) {
+            return null;
+        }
+    }
+
+    /**
+     * Find a no-arg method with the expected return type (a same-named method with another type is ignored).
+     */
+    @Nullable
+    private static Method findTypedMethod(@Nonnull final Class<?> clazz,
+                                          @Nonnull final String name,
+                                          @Nonnull final Class<?> returnType) {
+        final Method m = findMethod(clazz, name);
+        return m != null && m.getReturnType() == returnType ? m : null;
+    }
+
+    /**
+     * Find the best {@code removeComponent(Ref, ComponentType)} candidate on a host class.
+     *
+     * <p>The Server API has had minor signature variations between builds, so we score candidates
+     * instead of requiring an exact signature.</p>
+     */
+    @Nullable
+    private static Method findRemoveMethod(@Nonnull final Class<?> hostClass) {
+        Method best = null;
+        int bestScore = -1;
+
+        try {
+            // Declared methods across hierarchy.
+            for (Class<?> c = hostClass; c != null; c = c.getSuperclass()) {
+                for (Method m : c.getDeclaredMethods()) {
+                    final int score = scoreRemoveCandidate(m);
+                    if (score > bestScore) {
+                        best = m;
+                        bestScore = score;
+                    }
+                }
+            }
+
+            // Public methods too (covers interfaces / inherited public API).
+            for (Method m : hostClass.getMethods()) {
+                final int score = scoreRemoveCandidate(m);
+                if (score > bestScore) {
+                    best = m;
+                    bestScore = score;
+                }
+            }
+        } catch (Throwable ignored) {
+        }
+
+        return bestScore > 0 ? accessible(best) : null;
+    }
+
+    private static int scoreRemoveCandidate(@Nonnull final Method m) {
+        if (!"removeComponent".equals(m.getName())) return -1;
+        if (m.getParameterCount() != 2) return -1;
+
+        final Class<?>[] pt = m.getParameterTypes();
+
+        // Param 0 must accept Ref
+        if (!pt[0].isAssignableFrom(Ref.class)) return -1;
+
+        // Param 1 must accept a ComponentType
+        if (!pt[1].isAssignableFrom(ComponentType.class)) return -1;
+
+        int score = 1;
+        if (pt[0] == Ref.class) score += 2;
+        if (pt[1].getName().toLowerCase().contains("componenttype")) score += 2;
+        if ((m.getModifiers() & Modifier.PUBLIC) != 0) score += 1;
+        return score;
+    }
+
+    /**
+     * Find a method like {@code getMarkerProvider(String)} returning MarkerProvider.
+     */
+    @Nullable
+    private static Method findProviderGetter(@Nonnull final Class<?> cls) {
+        try {
+            for (Method m : cls.getMethods()) {
+                if (m.getParameterCount() == 1 && m.getParameterTypes()[0] == String.class
+                        && WorldMapManager.MarkerProvider.class.isAssignableFrom(m.getReturnType())) {
+                    return m;
+                }
+            }
+            for (Class<?> c = cls; c != null; c = c.getSuperclass()) {
+                for (Method m : c.getDeclaredMethods()) {
+                    if (m.getParameterCount() == 1 && m.getParameterTypes()[0] == String.class
+                            && WorldMapManager.MarkerProvider.class.isAssignableFrom(m.getReturnType())) {
+                        return accessible(m);
+                    }
+                }
+            }
+        } catch (Throwable ignored) {
+        }
+        return null;
+    }
+
+    /**
+     * Find a remover method like {@code removeMarkerProvider(String)} (if present).
+     */
+    @Nullable
+    private static Method findProviderRemover(@Nonnull final Class<?> cls) {
+        try {
+            for (Method m : cls.getMethods()) {
+                if (m.getParameterCount() == 1 && m.getParameterTypes()[0] == String.class
+                        && m.getName().toLowerCase().contains("remove")) {
+                    return m;
+                }
+            }
+            for (Class<?> c = cls; c != null; c = c.getSuperclass()) {
+                for (Method m : c.getDeclaredMethods()) {
+                    if (m.getParameterCount() == 1 && m.getParameterTypes()[0] == String.class
+                            && m.getName().toLowerCase().contains("remove")) {
+                        return accessible(m);
+                    }
+                }
+            }
+        } catch (Throwable ignored) {
+        }
+        return null;
+    }
+
+    /**
+     * Find a setter like {@code setPlayerMapFilter(Predicate)} (single {@link Predicate} parameter, "filter" in
+     * the name).
+     */
+    @Nullable
+    private static Method findFilterSetter(@Nonnull final Class<?> cls) {
+        try {
+            for (Class<?> c = cls; c != null; c = c.getSuperclass()) {
+                for (Method m : c.getDeclaredMethods()) {
+                    if (m.getParameterCount() == 1 && m.getParameterTypes()[0] == Predicate.class
+                            && m.getName().toLowerCase().contains("filter")) {
+                        return accessible(m);
+                    }
+                }
+            }
+        } catch (Throwable ignored) {
+        }
+        return null;
+    }
+
+    /**
+     * Try to locate an internal providers map field inside WorldMapManager.
+     */
+    @Nullable
+    private static Field findProviderMapField(@Nonnull final Class<?> cls) {
+        Field best = null;
+
+        try {
+            for (Class<?> c = cls; c != null; c = c.getSuperclass()) {
+                for (Field f : c.getDeclaredFields()) {
+                    if (!Map.class.isAssignableFrom(f.getType())) continue;
+
+                    final String name = f.getName().toLowerCase();
+                    final boolean looksRelevant = name.contains("provider") || name.contains("marker");
+                    if (best == null || looksRelevant) {
+                        best = f;
+                    }
+                }
+                if (best != null) break;
+            }
+        } catch (Throwable ignored) {
+        }
+
+        if (best != null) {
+            try {
+                best.setAccessible(true);
+            } catch (Throwable ignored) {
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Unreflect a no-arg int getter into a handle typed {@code (owner)int}, for {@code invokeExact}.
+     */
+    @Nullable
+    private static MethodHandle intGetterHandle(@Nullable final Method m, @Nonnull final Class<?> owner) {
+        if (m == null) return null;
+        try {
+            return MethodHandles.lookup().unreflect(m).asType(MethodType.methodType(int.class, owner));
+        } catch (Throwable ignored) {
+            return null;
+        }
+    }
+
+    @Nullable
+    private static Method accessible(@Nullable final Method m) {
+        if (m != null) {
+            try {
+                m.setAccessible(true);
+            } catch (Throwable ignored) {
+            }
+        }
+        return m;
+    }
+}
@@ -6,7 +6,7 @@ import com.hypixel.hytale.server.core.universe.world.World;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.lang.reflect.Method;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 
 /**
@@ -14,9 +14,7 @@ import java.util.logging.Level;
  */
 public final class WorldThreadExecutor {
 
-    private static final ConcurrentHashMap<Class<?>, Method> EXECUTE_METHOD_CACHE = new ConcurrentHashMap<>();
-    private static final ConcurrentHashMap<Class<?>, Boolean> EXECUTE_METHOD_MISSING = new ConcurrentHashMap<>();
-    private static final ConcurrentHashMap<Class<?>, Boolean> EXECUTE_FALLBACK_WARNED = new ConcurrentHashMap<>();
+    private static final AtomicBoolean EXECUTE_FALLBACK_WARNED = new AtomicBoolean(false);
 
     private WorldThreadExecutor() {
     }
@@ -25,7 +23,7 @@ public final class WorldThreadExecutor {
      * Run a task via {@code world.execute(Runnable)}.
      *
      * <p>If {@code execute} is not available, falls back to running synchronously. If {@code logger} is provided,
-     * the fallback is logged once per world class.</p>
+     * the fallback is logged once.</p>
      */
     public static void runStrict(@Nonnull final World world,
                                  @Nonnull final Runnable task,
@@ -34,7 +32,7 @@ public final class WorldThreadExecutor {
             return;
         }
 
-        if (EXECUTE_FALLBACK_WARNED.putIfAbsent(world.getClass(), Boolean.TRUE) == null) {
+        if (EXECUTE_FALLBACK_WARNED.compareAndSet(false, true)) {
             logger.at(Level.WARNING).log(
                     "[ServerHideSettings] World.execute(Runnable) not accessible on %s; running refresh task directly (may be unsafe)",
                     world.getClass().getName()
@@ -58,6 +56,15 @@ public final class WorldThreadExecutor {
         task.run();
     }
 
+    /**
+     * Run a task on the world thread only (no synchronous fallback).
+     *
+     * @return true if the task was handed to the world thread
+     */
+    public static boolean tryRunOnWorldThread(@Nonnull final World world, @Nonnull final Runnable task) {
+        return tryInvokeExecute(world, task, null);
+    }
+
     /**
      * Best-effort world name for logging.
      */
@@ -73,7 +80,7 @@ public final class WorldThreadExecutor {
     private static boolean tryInvokeExecute(@Nonnull final World world,
                                             @Nonnull final Runnable task,
                                             @Nullable final HytaleLogger logger) {
-        final Method execute = getCached(world.getClass(), "execute", new Class<?>[]{Runnable.class});
+        final Method execute = ServerApiProfile.get().worldExecute();
         if (execute == null) {
             return false;
         }
@@ -88,45 +95,4 @@ public final class WorldThreadExecutor {
             return false;
         }
     }
-
-    @Nullable
-    private static Method getCached(@Nonnull final Class<?> clazz,
-                                    @Nonnull final String name,
-                                    @Nonnull final Class<?>[] params) {
-        final Method cached = EXECUTE_METHOD_CACHE.get(clazz);
-        if (cached != null) return cached;
-        if (Boolean.TRUE.equals(EXECUTE_METHOD_MISSING.get(clazz))) return null;
-
-        try {
-            final Method m = clazz.getMethod(name, params);
-            try {
-                m.setAccessible(true);
-            } catch (Throwable ignored) {
-            }
-            EXECUTE_METHOD_CACHE.put(clazz, m);
-            return m;
-        } catch (NoSuchMethodException ignored) {
-            // Try declared methods in hierarchy.
-            for (Class<?> c = clazz; c != null; c = c.getSuperclass()) {
-                try {
-                    final Method m = c.getDeclaredMethod(name, params);
-                    try {
-                        m.setAccessible(true);
-                    } catch (Throwable ignored2) {
-                    }
-                    EXECUTE_METHOD_CACHE.put(clazz, m);
-                    return m;
-                } catch (NoSuchMethodException ignored2) {
-                    // keep searching
-                } catch (Throwable t) {
-                    break;
-                }
-            }
-            EXECUTE_METHOD_MISSING.putIfAbsent(clazz, Boolean.TRUE);
-            return null;
-        } catch (Throwable t) {
-            EXECUTE_METHOD_MISSING.putIfAbsent(clazz, Boolean.TRUE);
-            return null;
-        }
-    }
 }
@@ -0,0 +1,214 @@
+package com.example.hideenemyhealth.worldmap;
+
+import com.example.hideenemyhealth.config.MarkerTeams;
+import com.example.hideenemyhealth.util.ServerApiProfile;
+import com.hypixel.hytale.server.core.entity.entities.Player;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.worldmap.WorldMapManager;
+import com.hypixel.hytale.server.core.universe.world.worldmap.markers.MapMarkerTracker;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.reflect.Method;
+import java.util.HashSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Player marker provider that wraps the original {@code "playerIcons"} provider and filters its output.
+ *
+ * <p>Stages:</p>
+ * <ul>
+ *   <li><b>Teams</b> ({@link TeamMarkerFilter}): while markers are hidden, viewers still see their teammates.</li>
+ *   <li><b>Distance</b>: only players within {@code radiusChunks} of the viewer, found through the world's
+ *       {@link PlayerChunkGrid}. The delegate also gets the smaller radius.</li>
+ *   <li><b>Throttle</b>: a viewer's markers are only republished when a player near it moved more than
+ *       {@code minMoveBlocks} (or joined / left), the viewer changed chunk, or {@code maxIntervalNanos} passed.
+ *       Otherwise the update is skipped and the viewer keeps the markers it was last sent.</li>
+ * </ul>
+ *
+ * <p>Filtering works by installing a player filter on the viewer's {@link MapMarkerTracker} (true = skip the
+ * player), delegating, and clearing it again. Fails closed: if the team stage applies and the build has no
+ * tracker filter hook (or the viewer cannot be identified), nothing is emitted. The distance stage alone degrades
+ * to the reduced radius.</p>
+ */
+final class FilteredPlayerIconsProvider implements WorldMapManager.MarkerProvider {
+
+    /** Skip filter that hides every player. */
+    static final Predicate<PlayerRef> HIDE_ALL = other -> true;
+
+    /** Throttle state is dropped wholesale beyond this many viewers (players that left keep their entry). */
+    private static final int MAX_TRACKED_VIEWERS = 4096;
+
+    /** Reusable "nearby players" set (map updates of one world run on one thread; the set never escapes). */
+    private static final ThreadLocal<HashSet<UUID>> NEARBY = ThreadLocal.withInitial(() -> new HashSet<>(64));
+
+    @Nonnull
+    private final WorldMapManager.MarkerProvider original;
+
+    @Nullable
+    private final TeamMarkerFilter teams;
+
+    private final int radiusChunks;
+
+    private final double minMoveBlocks;
+
+    private final long maxIntervalNanos;
+
+    /** Viewer UUID -> last publish (throttle only). */
+    private final ConcurrentHashMap<UUID, Published> published = new ConcurrentHashMap<>();
+
+    FilteredPlayerIconsProvider(@Nonnull final WorldMapManager.MarkerProvider original,
+                                @Nullable final TeamMarkerFilter teams,
+                                final int radiusChunks,
+                                final double minMoveBlocks,
+                                final int maxIntervalMillis) {
+        this.original = original;
+        this.teams = teams;
+        this.radiusChunks = radiusChunks;
+        this.minMoveBlocks = minMoveBlocks;
+        this.maxIntervalNanos = maxIntervalMillis * 1_000_000L;
+    }
+
+    /**
+     * @return true if this provider already implements the given settings (its caches can be kept)
+     */
+    boolean isFor(@Nullable final WorldMapManager.MarkerProvider original,
+                  @Nullable final MarkerTeams teams,
+                  final int radiusChunks,
+                  final double minMoveBlocks,
+                  final int maxIntervalMillis) {
+        if (this.original != original || this.radiusChunks != radiusChunks) return false;
+        if (this.minMoveBlocks != minMoveBlocks || this.maxIntervalNanos != maxIntervalMillis * 1_000_000L) {
+            return false;
+        }
+        return this.teams == null ? teams == null : this.teams.isFor(teams);
+    }
+
+    /**
+     * @return the team stage, if any (reused when only other settings change)
+     */
+    @Nullable
+    TeamMarkerFilter teams() {
+        return teams;
+    }
+
+    @Override
+    public void update(@Nonnull final World world,
+                       @Nonnull final MapMarkerTracker tracker,
+                       final int chunkViewRadius,
+                       final int playerChunkX,
+                       final int playerChunkZ) {
+        final int radius = radiusChunks > 0 ? Math.min(chunkViewRadius, radiusChunks) : chunkViewRadius;
+        final Method setFilter = ServerApiProfile.get().trackerSetPlayerFilter();
+
+        final boolean throttled = minMoveBlocks > 0d;
+        final UUID viewer = teams != null || throttled ? viewerUuid(tracker) : null;
+
+        Predicate<PlayerRef> skip = null;
+
+        if (teams != null) {
+            if (viewer == null || setFilter == null) return;
+            skip = teams.skipFor(viewer);
+            if (skip == HIDE_ALL) return;
+        }
+
+        final boolean distanceFilter = radiusChunks > 0 && setFilter != null;
+        HashSet<UUID> nearby = null;
+        if (distanceFilter || (throttled && viewer != null)) {
+            if (distanceFilter) {
+                nearby = NEARBY.get();
+                nearby.clear();
+            }
+            final long newestMove = PlayerChunkGrid.forWorld(world)
+                    .query(world, playerChunkX, playerChunkZ, radius, minMoveBlocks, nearby);
+
+            if (throttled && viewer != null && !shouldPublish(viewer, newestMove, playerChunkX, playerChunkZ)) {
+                if (nearby != null) nearby.clear();
+                return;
+            }
+        }
+
+        if (distanceFilter) {
+            final HashSet<UUID> near = nearby;
+            final Predicate<PlayerRef> far = other -> !near.contains(uuidOf(other));
+            skip = skip == null ? far : skip.or(far);
+        }
+
+        if (skip == null) {
+            original.update(world, tracker, radius, playerChunkX, playerChunkZ);
+            return;
+        }
+
+        try {
+            setFilter.invoke(tracker, skip);
+        } catch (Throwable ignored) {
+            return;
+        }
+        try {
+            original.update(world, tracker, radius, playerChunkX, playerChunkZ);
+        } finally {
+            try {
+                setFilter.invoke(tracker, (Object) null);
+            } catch (Throwable ignored) {
+            }
+            if (nearby != null) nearby.clear();
+        }
+    }
+
+    /**
+     * Throttle decision for one viewer; records the publish when it returns true.
+     */
+    private boolean shouldPublish(@Nonnull final UUID viewer,
+                                  final long newestMove,
+                                  final int chunkX,
+                                  final int chunkZ) {
+        final long now = System.nanoTime();
+        final long chunk = (((long) chunkX) << 32) ^ (chunkZ & 0xFFFF_FFFFL);
+
+        Published p = published.get(viewer);
+        if (p == null) {
+            if (published.size() >= MAX_TRACKED_VIEWERS) published.clear();
+            p = new Published();
+            published.put(viewer, p);
+        } else if (p.moveStamp == newestMove && p.chunk == chunk && now - p.nanos < maxIntervalNanos) {
+            return false;
+        }
+
+        p.moveStamp = newestMove;
+        p.chunk = chunk;
+        p.nanos = now;
+        return true;
+    }
+
+    @Nullable
+    private static UUID viewerUuid(@Nonnull final MapMarkerTracker tracker) {
+        try {
+            final Player player = tracker.getPlayer();
+            return player != null ? player.getUuid() : null;
+        } catch (Throwable ignored) {
+            return null;
+        }
+    }
+
+    @Nullable
+    private static UUID uuidOf(@Nullable final PlayerRef ref) {
+        if (ref == null) return null;
+        try {
+            return ref.getUuid();
+        } catch (Throwable ignored) {
+            return null;
+        }
+    }
+
+    /**
+     * Last publish for a viewer (only touched by the world's map updates).
+     */
+    private static final class Published {
+        long moveStamp = -1L;
+        long chunk;
+        long nanos;
+    }
+}
@@ -0,0 +1,241 @@
+package com.example.hideenemyhealth.worldmap;
+
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.WeakHashMap;
+
+/**
+ * Per-world spatial hash of player chunk positions, used to find the players near a map viewer.
+ *
+ * <p>Players are bucketed into cells of {@code 2^CELL_SHIFT} x {@code 2^CELL_SHIFT} chunks. The grid is refreshed
+ * at most once per {@link #REFRESH_NANOS} (not once per viewer): a refresh reads every player position once and
+ * only moves players whose chunk changed, so a query costs the cells in the radius rather than the player
+ * count.</p>
+ *
+ * <p>The grid also stamps significant movement: each player remembers the position of its last move beyond the
+ * configured threshold and a monotonically increasing stamp for it. {@link #query} returns the newest stamp among
+ * the players it found, so marker throttling can tell whether anything near a viewer changed.</p>
+ *
+ * <p>Methods are synchronized; in practice each world's grid is only used by that world's map updates.</p>
+ */
+final class PlayerChunkGrid {
+
+    /** Block -> chunk shift (32-block chunks). */
+    private static final int CHUNK_SHIFT = 5;
+
+    /** Chunk -> cell shift (4x4 chunks per cell). */
+    private static final int CELL_SHIFT = 2;
+
+    /** Minimum time between refreshes (about one server tick). */
+    private static final long REFRESH_NANOS = 50_000_000L;
+
+    private static final Map<World, PlayerChunkGrid> GRIDS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /** Player -> tracked entry. */
+    private final HashMap<UUID, Entry> players = new HashMap<>();
+
+    /** Cell key -> players in the cell. */
+    private final HashMap<Long, ArrayList<Entry>> cells = new HashMap<>();
+
+    private long lastRefreshNanos;
+    private int generation;
+
+    /** Movement / membership stamp counter. */
+    private long stamp;
+
+    /** Stamp of the last player removal (a removal changes what every viewer should see). */
+    private long removedStamp;
+
+    /** Squared distance (blocks) that counts as a significant move. */
+    private double moveThresholdSq;
+
+    private PlayerChunkGrid() {
+    }
+
+    /**
+     * @return the grid for a world (created on first use)
+     */
+    @Nonnull
+    static PlayerChunkGrid forWorld(@Nonnull final World world) {
+        return GRIDS.computeIfAbsent(world, w -> new PlayerChunkGrid());
+    }
+
+    /**
+     * Collect the players within {@code radius} chunks of a chunk position (circular distance).
+     *
+     * @param minMoveBlocks movement (blocks) that counts as significant for the returned stamp
+     * @param out           receives player UUIDs (not cleared), or null to only compute the stamp
+     * @return newest movement stamp among the players found (including joins and removals)
+     */
+    synchronized long query(@Nonnull final World world,
+                            final int chunkX,
+                            final int chunkZ,
+                            final int radius,
+                            final double minMoveBlocks,
+                            @Nullable final Set<UUID> out) {
+        moveThresholdSq = minMoveBlocks * minMoveBlocks;
+        refreshIfStale(world);
+
+        long newest = removedStamp;
+
+        final long radiusSq = (long) radius * radius;
+        final int cx0 = (chunkX - radius) >> CELL_SHIFT;
+        final int cx1 = (chunkX + radius) >> CELL_SHIFT;
+        final int cz0 = (chunkZ - radius) >> CELL_SHIFT;
+        final int cz1 = (chunkZ + radius) >> CELL_SHIFT;
+
+        for (int cx = cx0; cx <= cx1; cx++) {
+            for (int cz = cz0; cz <= cz1; cz++) {
+                final ArrayList<Entry> cell = cells.get(cellKey(cx, cz));
+                if (cell == null) continue;
+                for (int i = 0, n = cell.size(); i < n; i++) {
+                    final Entry e = cell.get(i);
+                    final long dx = e.chunkX - chunkX;
+                    final long dz = e.chunkZ - chunkZ;
+                    if (dx * dx + dz * dz > radiusSq) continue;
+                    if (out != null) out.add(e.uuid);
+                    if (e.movedStamp > newest) newest = e.movedStamp;
+                }
+            }
+        }
+        return newest;
+    }
+
+    /**
+     * @return number of tracked players
+     */
+    synchronized int size() {
+        return players.size();
+    }
+
+    private void refreshIfStale(@Nonnull final World world) {
+        final long now = System.nanoTime();
+        if (now - lastRefreshNanos < REFRESH_NANOS && lastRefreshNanos != 0L) return;
+        lastRefreshNanos = now;
+
+        final int gen = ++generation;
+        int seen = 0;
+        try {
+            for (PlayerRef playerRef : world.getPlayerRefs()) {
+                if (playerRef == null) continue;
+                final UUID uuid;
+                final Vector3d pos;
+                try {
+                    uuid = playerRef.getUuid();
+                    pos = playerRef.getTransform().getPosition();
+                } catch (Throwable ignored) {
+                    continue;
+                }
+                if (uuid == null || pos == null) continue;
+
+                track(uuid, pos.getX(), pos.getZ(), gen);
+                seen++;
+            }
+        } catch (Throwable ignored) {
+            // Keep the previous state for players we did not get to.
+            return;
+        }
+
+        // Drop players that left (only scan when the counts say someone did).
+        if (seen != players.size()) {
+            final Iterator<Entry> it = players.values().iterator();
+            while (it.hasNext()) {
+                final Entry e = it.next();
+                if (e.generation != gen) {
+                    it.remove();
+                    unbucket(e);
+                    removedStamp = ++stamp;
+                }
+            }
+        }
+    }
+
+    private void track(@Nonnull final UUID uuid, final double x, final double z, final int gen) {
+        final int chunkX = ((int) Math.floor(x)) >> CHUNK_SHIFT;
+        final int chunkZ = ((int) Math.floor(z)) >> CHUNK_SHIFT;
+
+        Entry e = players.get(uuid);
+        if (e == null) {
+            e = new Entry(uuid);
+            e.chunkX = chunkX;
+            e.chunkZ = chunkZ;
+            e.movedX = x;
+            e.movedZ = z;
+            e.movedStamp = ++stamp;
+            players.put(uuid, e);
+            bucket(e);
+            e.generation = gen;
+            return;
+        }
+
+        final double mx = x - e.movedX;
+        final double mz = z - e.movedZ;
+        if (mx * mx + mz * mz > moveThresholdSq) {
+            e.movedX = x;
+            e.movedZ = z;
+            e.movedStamp = ++stamp;
+        }
+
+        if (e.chunkX != chunkX || e.chunkZ != chunkZ) {
+            final boolean cellChanged = (e.chunkX >> CELL_SHIFT) != (chunkX >> CELL_SHIFT)
+                    || (e.chunkZ >> CELL_SHIFT) != (chunkZ >> CELL_SHIFT);
+            if (cellChanged) unbucket(e);
+            e.chunkX = chunkX;
+            e.chunkZ = chunkZ;
+            if (cellChanged) bucket(e);
+        }
+        e.generation = gen;
+    }
+
+    private void bucket(@Nonnull final Entry e) {
+        cells.computeIfAbsent(cellKey(e.chunkX >> CELL_SHIFT, e.chunkZ >> CELL_SHIFT), k -> new ArrayList<>(4)).add(e);
+    }
+
+    private void unbucket(@Nonnull final Entry e) {
+        final Long key = cellKey(e.chunkX >> CELL_SHIFT, e.chunkZ >> CELL_SHIFT);
+        final ArrayList<Entry> cell = cells.get(key);
+        if (cell == null) return;
+
+        // Swap-remove (order inside a cell does not matter).
+        final int i = cell.indexOf(e);
+        if (i < 0) return;
+        final int last = cell.size() - 1;
+        cell.set(i, cell.get(last));
+        cell.remove(last);
+        if (cell.isEmpty()) cells.remove(key);
+    }
+
+    private static long cellKey(final int cx, final int cz) {
+        return (((long) cx) << 32) ^ (cz & 0xFFFF_FFFFL);
+    }
+
+    /**
+     * Tracked player.
+     */
+    private static final class Entry {
+        final UUID uuid;
+        int chunkX;
+        int chunkZ;
+        int generation;
+
+        /** Position (blocks) at the last significant move, and its stamp. */
+        double movedX;
+        double movedZ;
+        long movedStamp;
+
+        Entry(@Nonnull final UUID uuid) {
+            this.uuid = uuid;
+        }
+    }
+}
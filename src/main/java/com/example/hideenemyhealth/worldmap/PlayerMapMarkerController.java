@@ -1,7 +1,8 @@
 package com.example.hideenemyhealth.worldmap;
 
 import com.example.hideenemyhealth.HideEnemyHealthPlugin;
-import com.example.hideenemyhealth.config.HideEnemyHealthConfig;
+import com.example.hideenemyhealth.config.CompiledPolicy;
+import com.example.hideenemyhealth.config.MarkerTeams;
 import com.example.hideenemyhealth.util.WorldThreadExecutor;
 import com.hypixel.hytale.event.EventRegistry;
 import com.hypixel.hytale.server.core.universe.Universe;
@@ -48,7 +49,7 @@ public final class PlayerMapMarkerController {
     public static void register(@Nonnull EventRegistry registry) {
         registry.registerGlobal(AddWorldEvent.class, event -> {
             try {
-                applyToWorld(event.getWorld(), HideEnemyHealthPlugin.getInstance().getConfig());
+                applyToWorld(event.getWorld(), HideEnemyHealthPlugin.getInstance().getPolicy());
             } catch (Throwable ignored) {
             }
         });
@@ -57,13 +58,13 @@ public final class PlayerMapMarkerController {
     /**
      * Apply current map-marker settings to all loaded worlds.
      */
-    public static void applyToAllLoadedWorlds(@Nonnull HideEnemyHealthConfig cfg) {
+    public static void applyToAllLoadedWorlds(@Nonnull CompiledPolicy policy) {
         final Map<String, World> worlds = Universe.get().getWorlds();
         if (worlds == null || worlds.isEmpty()) return;
 
         for (World world : worlds.values()) {
             if (world == null) continue;
-            applyToWorld(world, cfg);
+            applyToWorld(world, policy);
         }
     }
 
@@ -83,20 +84,24 @@ public final class PlayerMapMarkerController {
     /**
      * Apply the configured state for a single world.
      */
-    private static void applyToWorld(@Nonnull final World world, @Nullable final HideEnemyHealthConfig cfg) {
-        // Capture booleans now to avoid races.
-        final boolean hide = cfg != null
-                && cfg.enabled
-                && cfg.getMap() != null
-                && cfg.getMap().hidePlayerMarkers;
-
-        WorldThreadExecutor.runQuiet(world, () -> applyOnWorldThread(world, hide));
+    private static void applyToWorld(@Nonnull final World world, @Nonnull final CompiledPolicy policy) {
+        // Capture the values now; the policy snapshot is immutable. Per-world overrides are resolved by name here
+        // (one lookup per world, not per entity).
+        final CompiledPolicy worldPolicy = policy.forWorld(WorldThreadExecutor.safeWorldName(world));
+        final boolean hide = worldPolicy.hidePlayerMarkers;
+        final MarkerSettings settings = new MarkerSettings(
+                hide ? worldPolicy.markerTeams : null,
+                worldPolicy.markerRadiusChunks,
+                worldPolicy.markerMinMoveBlocks,
+                worldPolicy.markerMaxIntervalMillis);
+
+        WorldThreadExecutor.runQuiet(world, () -> applyOnWorldThread(world, hide, settings));
     }
 
     /**
-     * World-thread application: capture original provider and then override/restore based on flag.
+     * World-thread application: capture original provider and then override/restore based on settings.
      */
-    private static void applyOnWorldThread(@Nonnull World world, boolean hide) {
+    private static void applyOnWorldThread(@Nonnull World world, boolean hide, @Nonnull MarkerSettings settings) {
         final WorldMapManager manager;
         try {
             manager = world.getWorldMapManager();
@@ -105,18 +110,72 @@ public final class PlayerMapMarkerController {
         }
         if (manager == null) return;
 
-        final WorldMapProviderAccessor.Accessor accessor = WorldMapProviderAccessor.resolve(manager);
+        final WorldMapProviderAccessor.Accessor accessor = WorldMapProviderAccessor.accessor();
 
         // Capture original provider once per world (even if it is null).
         captureOriginalIfNeeded(world, accessor, manager);
 
-        if (hide) {
-            accessor.setProvider(manager, PLAYER_ICONS_KEY, NOOP_PROVIDER);
+        final WorldMapManager.MarkerProvider provider = overrideProvider(world, accessor, manager, hide, settings);
+        if (provider != null) {
+            accessor.setProvider(manager, PLAYER_ICONS_KEY, provider);
         } else {
             restoreOnWorldThread(world);
         }
     }
 
+    /**
+     * Provider to install for the given settings, or null to restore the original.
+     *
+     * <ul>
+     *   <li>hidden, no teams: no-op provider;</li>
+     *   <li>teams, a marker radius or throttling: {@link FilteredPlayerIconsProvider} on top of the original;</li>
+     *   <li>visible, none of the above: original.</li>
+     * </ul>
+     *
+     * <p>An installed filtered provider with the same settings is kept, so its caches survive unrelated config
+     * changes; when only the radius / throttling changes the team stage (and its per-viewer cache) is reused.</p>
+     */
+    @Nullable
+    private static WorldMapManager.MarkerProvider overrideProvider(@Nonnull World world,
+                                                                   @Nonnull WorldMapProviderAccessor.Accessor accessor,
+                                                                   @Nonnull WorldMapManager manager,
+                                                                   boolean hide,
+                                                                   @Nonnull MarkerSettings settings) {
+        final MarkerTeams teams = settings.teams;
+        if (hide && teams == null) return NOOP_PROVIDER;
+        if (!hide && settings.radiusChunks <= 0 && settings.minMoveBlocks <= 0d) return null;
+
+        final WorldMapManager.MarkerProvider original;
+        synchronized (ORIGINAL_PROVIDERS) {
+            original = ORIGINAL_PROVIDERS.get(world);
+        }
+        // Nothing to filter: hidden stays hidden, visible has nothing to show anyway.
+        if (original == null) return hide ? NOOP_PROVIDER : null;
+
+        final WorldMapManager.MarkerProvider current = accessor.getProvider(manager, PLAYER_ICONS_KEY);
+        TeamMarkerFilter teamStage = null;
+        if (current instanceof FilteredPlayerIconsProvider filtered) {
+            if (filtered.isFor(original, teams, settings.radiusChunks,
+                    settings.minMoveBlocks, settings.maxIntervalMillis)) {
+                return filtered;
+            }
+            if (filtered.teams() != null && filtered.teams().isFor(teams)) teamStage = filtered.teams();
+        }
+        if (teamStage == null && teams != null) teamStage = new TeamMarkerFilter(teams);
+
+        return new FilteredPlayerIconsProvider(original, teamStage, settings.radiusChunks,
+                settings.minMoveBlocks, settings.maxIntervalMillis);
+    }
+
+    /**
+     * Marker filtering settings captured from a world policy (teams only while markers are hidden).
+     */
+    private record MarkerSettings(@Nullable MarkerTeams teams,
+                                  int radiusChunks,
+                                  double minMoveBlocks,
+                                  int maxIntervalMillis) {
+    }
+
     /**
      * Capture and remember the original provider for this world, exactly once.
      */
@@ -142,7 +201,7 @@ public final class PlayerMapMarkerController {
         }
         if (manager == null) return;
 
-        final WorldMapProviderAccessor.Accessor accessor = WorldMapProviderAccessor.resolve(manager);
+        final WorldMapProviderAccessor.Accessor accessor = WorldMapProviderAccessor.accessor();
 
         final WorldMapManager.MarkerProvider original;
         final boolean captured;
@@ -0,0 +1,97 @@
+package com.example.hideenemyhealth.worldmap;
+
+import com.example.hideenemyhealth.config.MarkerTeams;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.Universe;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Team stage of {@link FilteredPlayerIconsProvider}: viewers only see players sharing a team with them.
+ *
+ * <p>The filter for a viewer is built once and cached. An instance is bound to one immutable {@link MarkerTeams}
+ * table, so the cache is only dropped when team membership changes (the controller then builds a new stage).</p>
+ */
+final class TeamMarkerFilter {
+
+    /** Cached entries are dropped wholesale beyond this many players (players that left keep their entry). */
+    private static final int MAX_CACHED_PLAYERS = 4096;
+
+    @Nonnull
+    private final MarkerTeams teams;
+
+    /** Viewer UUID -> skip filter. */
+    private final ConcurrentHashMap<UUID, Predicate<PlayerRef>> viewerFilters = new ConcurrentHashMap<>();
+
+    /** Target UUID -> team bits (targets are tested once per viewer per update). */
+    private final ConcurrentHashMap<UUID, Long> targetTeams = new ConcurrentHashMap<>();
+
+    TeamMarkerFilter(@Nonnull final MarkerTeams teams) {
+        this.teams = teams;
+    }
+
+    /**
+     * @return true if this stage already serves {@code teams} (cache can be kept)
+     */
+    boolean isFor(@Nullable final MarkerTeams teams) {
+        return MarkerTeams.sameTeams(this.teams, teams);
+    }
+
+    /**
+     * @return skip filter for a viewer (true = hide the player), or {@link FilteredPlayerIconsProvider#HIDE_ALL}
+     *         for viewers without a team
+     */
+    @Nonnull
+    Predicate<PlayerRef> skipFor(@Nonnull final UUID viewer) {
+        final Predicate<PlayerRef> cached = viewerFilters.get(viewer);
+        if (cached != null) return cached;
+
+        if (viewerFilters.size() >= MAX_CACHED_PLAYERS) viewerFilters.clear();
+
+        final long viewerTeams = teams.teamsOf(viewer, usernameOf(viewer));
+        final Predicate<PlayerRef> filter = viewerTeams == 0L
+                ? FilteredPlayerIconsProvider.HIDE_ALL
+                : other -> (teamsOf(other) & viewerTeams) == 0L;
+        viewerFilters.put(viewer, filter);
+        return filter;
+    }
+
+    private long teamsOf(@Nullable final PlayerRef other) {
+        if (other == null) return 0L;
+        final UUID uuid;
+        try {
+            uuid = other.getUuid();
+        } catch (Throwable ignored) {
+            return 0L;
+        }
+        if (uuid == null) return 0L;
+
+        final Long cached = targetTeams.get(uuid);
+        if (cached != null) return cached;
+
+        if (targetTeams.size() >= MAX_CACHED_PLAYERS) targetTeams.clear();
+
+        String name = null;
+        try {
+            name = other.getUsername();
+        } catch (Throwable ignored) {
+        }
+        final long mask = teams.teamsOf(uuid, name);
+        targetTeams.put(uuid, mask);
+        return mask;
+    }
+
+    @Nullable
+    private static String usernameOf(@Nonnull final UUID uuid) {
+        try {
+            final PlayerRef ref = Universe.get().getPlayer(uuid);
+            return ref != null ? ref.getUsername() : null;
+        } catch (Throwable ignored) {
+            return null;
+        }
+    }
+}
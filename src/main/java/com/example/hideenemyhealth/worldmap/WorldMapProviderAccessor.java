@@ -1,5 +1,6 @@
 package com.example.hideenemyhealth.worldmap;
 
+import com.example.hideenemyhealth.util.ServerApiProfile;
 import com.hypixel.hytale.server.core.universe.world.worldmap.WorldMapManager;
 
 import javax.annotation.Nonnull;
@@ -7,25 +8,32 @@ import javax.annotation.Nullable;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Reflection-backed accessor for marker providers inside {@link WorldMapManager}.
  */
 final class WorldMapProviderAccessor {
 
-    private static final ConcurrentHashMap<Class<?>, Accessor> ACCESSOR_CACHE = new ConcurrentHashMap<>();
+    /** Access strategy built once from the startup {@link ServerApiProfile} probe. */
+    private static final Accessor ACCESSOR = new Accessor(
+            ServerApiProfile.get().mapProviderGetter(),
+            ServerApiProfile.get().mapProviderRemover(),
+            ServerApiProfile.get().mapProviderMapField()
+    );
 
     private WorldMapProviderAccessor() {
     }
 
+    /**
+     * @return the access strategy (shared by all worlds; methods take the manager per call)
+     */
     @Nonnull
-    static Accessor resolve(@Nonnull WorldMapManager manager) {
-        return ACCESSOR_CACHE.computeIfAbsent(manager.getClass(), Accessor::resolve);
+    static Accessor accessor() {
+        return ACCESSOR;
     }
 
     /**
-     * Per-class resolved access strategy.
+     * Resolved access strategy.
      */
     static final class Accessor {
 
@@ -44,17 +52,6 @@ final class WorldMapProviderAccessor {
             this.providerMapField = providerMapField;
         }
 
-        /**
-         * Resolve how to get/set providers for a given WorldMapManager class.
-         */
-        @Nonnull
-        private static Accessor resolve(@Nonnull Class<?> managerClass) {
-            Method getter = findProviderGetter(managerClass);
-            Method remover = findProviderRemover(managerClass);
-            Field mapField = findProviderMapField(managerClass);
-            return new Accessor(getter, remover, mapField);
-        }
-
         /**
          * Get current provider for a key (may return null).
          */
@@ -147,86 +144,5 @@ final class WorldMapProviderAccessor {
             }
             return null;
         }
-
-        /**
-         * Find a method like {@code getMarkerProvider(String)} returning MarkerProvider.
-         */
-        @Nullable
-        private static Method findProviderGetter(@Nonnull Class<?> cls) {
-            for (Method m : cls.getMethods()) {
-                if (m.getParameterCount() == 1 && m.getParameterTypes()[0] == String.class
-                        && WorldMapManager.MarkerProvider.class.isAssignableFrom(m.getReturnType())) {
-                    return m;
-                }
-            }
-            for (Class<?> c = cls; c != null; c = c.getSuperclass()) {
-                for (Method m : c.getDeclaredMethods()) {
-                    if (m.getParameterCount() == 1 && m.getParameterTypes()[0] == String.class
-                            && WorldMapManager.MarkerProvider.class.isAssignableFrom(m.getReturnType())) {
-                        try {
-                            m.setAccessible(true);
-                        } catch (Throwable ignored) {
-                        }
-                        return m;
-                    }
-                }
-            }
-            return null;
-        }
-
-        /**
-         * Find a remover method like {@code removeMarkerProvider(String)} (if present).
-         */
-        @Nullable
-        private static Method findProviderRemover(@Nonnull Class<?> cls) {
-            for (Method m : cls.getMethods()) {
-                if (m.getParameterCount() == 1 && m.getParameterTypes()[0] == String.class
-                        && m.getName().toLowerCase().contains("remove")) {
-                    return m;
-                }
-            }
-            for (Class<?> c = cls; c != null; c = c.getSuperclass()) {
-                for (Method m : c.getDeclaredMethods()) {
-                    if (m.getParameterCount() == 1 && m.getParameterTypes()[0] == String.class
-                            && m.getName().toLowerCase().contains("remove")) {
-                        try {
-                            m.setAccessible(true);
-                        } catch (Throwable ignored) {
-                        }
-                        return m;
-                    }
-                }
-            }
-            return null;
-        }
-
-        /**
-         * Try to locate an internal providers map field inside WorldMapManager.
-         */
-        @Nullable
-        private static Field findProviderMapField(@Nonnull Class<?> cls) {
-            Field best = null;
-
-            for (Class<?> c = cls; c != null; c = c.getSuperclass()) {
-                for (Field f : c.getDeclaredFields()) {
-                    if (!Map.class.isAssignableFrom(f.getType())) continue;
-
-                    final String name = f.getName().toLowerCase();
-                    final boolean looksRelevant = name.contains("provider") || name.contains("marker");
-                    if (best == null || looksRelevant) {
-                        best = f;
-                    }
-                }
-                if (best != null) break;
-            }
-
-            if (best != null) {
-                try {
-                    best.setAccessible(true);
-                } catch (Throwable ignored) {
-                }
-            }
-            return best;
-        }
     }
 }